@@ -0,0 +1,130 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.GeneAnalysisResult;
+import com.geneinsight.model.MotifHit;
+import com.geneinsight.model.OpenReadingFrame;
+import com.geneinsight.model.PackedSequence;
+import com.geneinsight.model.ReferenceMatch;
+import com.geneinsight.model.TandemRepeat;
+import com.geneinsight.model.TranslatedProtein;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BioinformaticsService 整体及各阶段的基准测试
+ * 运行: mvn -P benchmark test-compile exec:exec [-Djmh.includes=BioinformaticsBenchmark.gcContent]
+ * 结果（含 -prof gc 的分配统计）以 JSON 写入 target/jmh-result.json
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BioinformaticsBenchmark {
+
+    private static final long SEED = 20240101L;
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    private int length;
+
+    @Param({"GC_RICH", "AT_RICH", "REPEAT_HEAVY", "ORF_DENSE"})
+    private SyntheticSequences profile;
+
+    private String sequence;
+    private PackedSequence packed;
+    private List<TandemRepeat> repeats;
+    private List<OpenReadingFrame> orfs;
+
+    private BioinformaticsService service;
+    private final OrfFinder orfFinder = new OrfFinder();
+    private final TandemRepeatScanner repeatScanner = new TandemRepeatScanner();
+    private final MotifScanner motifScanner = MotifScanner.defaultLibrary();
+    private final ProteinTranslator translator = new ProteinTranslator();
+    private final ReferenceIndex referenceIndex = ReferenceIndex.defaultIndex();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sequence = profile.generate(length, SEED);
+        packed = PackedSequence.of(sequence);
+        repeats = repeatScanner.scan(packed);
+        orfs = orfFinder.find(packed);
+        // 未注入 ResultStore，每次调用都完整计算
+        service = new BioinformaticsService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public GeneAnalysisResult analyzeGeneSequence() {
+        return service.analyzeGeneSequence(sequence, "BENCH1", "Homo sapiens (人类)");
+    }
+
+    @Benchmark
+    public PackedSequence pack() {
+        return PackedSequence.of(sequence);
+    }
+
+    @Benchmark
+    public double gcContent() {
+        return SequenceStatistics.compute(packed).getGcContent();
+    }
+
+    @Benchmark
+    public Map<String, Integer> composition() {
+        return SequenceStatistics.compute(sequence).toCompositionMap();
+    }
+
+    @Benchmark
+    public List<OpenReadingFrame> predictProteins() {
+        return orfFinder.find(packed);
+    }
+
+    @Benchmark
+    public List<TranslatedProtein> translateOrfs() {
+        return translator.translate(packed, orfs);
+    }
+
+    @Benchmark
+    public List<TandemRepeat> containsRepeats() {
+        return repeatScanner.scan(packed);
+    }
+
+    @Benchmark
+    public List<MotifHit> scanMotifs() {
+        return motifScanner.scan(packed);
+    }
+
+    @Benchmark
+    public int[] kmerProfile() {
+        return Kmers.frequencies(packed, 8);
+    }
+
+    @Benchmark
+    public List<ReferenceMatch> searchReferences() {
+        return referenceIndex.search(packed, 5);
+    }
+
+    @Benchmark
+    public String diseaseAssociations() {
+        return service.analyzeDiseaseAssociations("BENCH1", repeats);
+    }
+}
@@ -0,0 +1,82 @@
+package com.geneinsight.service;
+
+import java.util.Random;
+
+/**
+ * 基准测试用的合成序列，固定随机种子保证各版本之间输入一致
+ */
+public enum SyntheticSequences {
+
+    /** GC 含量约 65% */
+    GC_RICH {
+        @Override
+        void append(StringBuilder sb, Random random) {
+            sb.append(weightedBase(random, 0.65));
+        }
+    },
+
+    /** GC 含量约 30% */
+    AT_RICH {
+        @Override
+        void append(StringBuilder sb, Random random) {
+            sb.append(weightedBase(random, 0.30));
+        }
+    },
+
+    /** 随机背景中穿插微卫星与 CAG/CGG 重复扩展 */
+    REPEAT_HEAVY {
+        private final String[] motifs = {"A", "AT", "CAG", "CGG", "GAA", "CCTG", "ATTCT", "GGGGCC"};
+
+        @Override
+        void append(StringBuilder sb, Random random) {
+            if (random.nextInt(40) == 0) {
+                String motif = motifs[random.nextInt(motifs.length)];
+                sb.append(motif.repeat(4 + random.nextInt(random.nextInt(8) == 0 ? 80 : 12)));
+            } else {
+                sb.append(weightedBase(random, 0.5));
+            }
+        }
+    },
+
+    /** 密集的 ATG...终止密码子 开放阅读框 */
+    ORF_DENSE {
+        private final String[] stops = {"TAA", "TAG", "TGA"};
+
+        @Override
+        void append(StringBuilder sb, Random random) {
+            sb.append("ATG");
+            int codons = 10 + random.nextInt(60);
+            for (int i = 0; i < codons; i++) {
+                String codon;
+                do {
+                    codon = "" + weightedBase(random, 0.5) + weightedBase(random, 0.5) + weightedBase(random, 0.5);
+                } while (codon.equals("TAA") || codon.equals("TAG") || codon.equals("TGA"));
+                sb.append(codon);
+            }
+            sb.append(stops[random.nextInt(stops.length)]);
+            if (random.nextBoolean()) {
+                sb.append(weightedBase(random, 0.5));
+            }
+        }
+    };
+
+    abstract void append(StringBuilder sb, Random random);
+
+    /**
+     * 生成指定长度的序列
+     */
+    public String generate(int length, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(length + 512);
+        while (sb.length() < length) {
+            append(sb, random);
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+
+    private static char weightedBase(Random random, double gcFraction) {
+        boolean gc = random.nextDouble() < gcFraction;
+        return gc ? (random.nextBoolean() ? 'G' : 'C') : (random.nextBoolean() ? 'A' : 'T');
+    }
+}
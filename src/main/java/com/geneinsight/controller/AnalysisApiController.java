@@ -0,0 +1,97 @@
+package com.geneinsight.controller;
+
+import com.geneinsight.model.AnalysisField;
+import com.geneinsight.model.GeneAnalysisRequest;
+import com.geneinsight.model.GeneAnalysisResult;
+import com.geneinsight.model.SequenceNormalizer;
+import com.geneinsight.service.AnalysisMetrics;
+import com.geneinsight.service.BioinformaticsService;
+import com.geneinsight.service.LLMService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/v1")
+public class AnalysisApiController {
+
+    @Autowired
+    private BioinformaticsService bioinformaticsService;
+
+    @Autowired
+    private LLMService llmService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${geneinsight.sequence.max-length:1000000}")
+    private int maxSequenceLength;
+
+    /** 允许的碱基字母表: acgt、acgtn 或 iupac */
+    @Value("${geneinsight.sequence.alphabet:acgt}")
+    private SequenceNormalizer.Alphabet alphabet = SequenceNormalizer.Alphabet.ACGT;
+
+    /**
+     * JSON 分析接口 - 直接返回 GeneAnalysisResult，ORF 以坐标表示
+     * fields 为逗号分隔的字段列表（stats, orfs, proteins, translations, repeats, motifs, similarity, function, disease, interpretation 或 all），
+     * 未选择的部分不计算；默认不含 ORF 序列 (proteins)、翻译产物 (translations) 和大模型解读 (interpretation)
+     */
+    @PostMapping(value = "/analyze", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<Object>> analyze(@RequestBody GeneAnalysisRequest request,
+                                                             @RequestParam(required = false) String fields) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Set<AnalysisField> selected;
+        try {
+            selected = AnalysisField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(badRequest(sample, e.getMessage()));
+        }
+
+        AnalysisRequestValidator.Validated input =
+                AnalysisRequestValidator.validate(request, maxSequenceLength, alphabet);
+        if (!input.isValid()) {
+            return CompletableFuture.completedFuture(badRequest(sample, input.error()));
+        }
+
+        // 大模型解读依赖的功能分析和疾病关联一并计算，返回前再裁剪
+        String lengthBucket = AnalysisMetrics.lengthBucket(input.sequence().length());
+        GeneAnalysisResult result = bioinformaticsService.analyzeGeneSequence(
+                input.sequence(),
+                input.geneName(),
+                input.species(),
+                AnalysisField.withPrerequisites(selected));
+
+        if (!selected.contains(AnalysisField.INTERPRETATION)) {
+            AnalysisMetrics.recordRequest(meterRegistry, sample, "api", "success", lengthBucket);
+            return CompletableFuture.completedFuture(ResponseEntity.ok(result.retainFields(selected)));
+        }
+        return llmService.interpretGeneAnalysisFuture(
+                result.getGeneName(),
+                result.getSpecies(),
+                result.getFunctionalAnalysis(),
+                result.getDiseaseAssociations()
+        ).thenApply(interpretation -> {
+            result.setLlmInterpretation(interpretation);
+            AnalysisMetrics.recordRequest(meterRegistry, sample, "api", "success", lengthBucket);
+            return ResponseEntity.ok(result.retainFields(selected));
+        });
+    }
+
+    private ResponseEntity<Object> badRequest(Timer.Sample sample, String message) {
+        AnalysisMetrics.recordRequest(meterRegistry, sample, "api", "invalid", "unknown");
+        return ResponseEntity.badRequest().body(Map.of("error", message));
+    }
+}
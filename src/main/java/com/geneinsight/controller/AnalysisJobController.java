@@ -0,0 +1,113 @@
+package com.geneinsight.controller;
+
+import com.geneinsight.model.AnalysisField;
+import com.geneinsight.model.AnalysisJob;
+import com.geneinsight.model.GeneAnalysisRequest;
+import com.geneinsight.model.SequenceNormalizer;
+import com.geneinsight.service.AnalysisJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 异步分析任务接口: 提交后立即返回任务编号，客户端轮询任务状态与结果
+ */
+@RestController
+@RequestMapping("/api/v1/jobs")
+public class AnalysisJobController {
+
+    /** 队列已满时建议客户端等待的秒数 */
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    @Autowired
+    private AnalysisJobService jobService;
+
+    @Value("${geneinsight.sequence.max-length:1000000}")
+    private int maxSequenceLength;
+
+    /** 允许的碱基字母表: acgt、acgtn 或 iupac */
+    @Value("${geneinsight.sequence.alphabet:acgt}")
+    private SequenceNormalizer.Alphabet alphabet = SequenceNormalizer.Alphabet.ACGT;
+
+    /**
+     * 提交分析任务，返回 202 与任务状态，Location 为轮询地址；队列已满时返回 429
+     * fields 与 /api/v1/analyze 相同，priority 为 high、normal（默认）或 low
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> submit(@RequestBody GeneAnalysisRequest request,
+                                         @RequestParam(required = false) String fields,
+                                         @RequestParam(required = false) String priority) {
+        Set<AnalysisField> selected;
+        AnalysisJob.Priority jobPriority;
+        try {
+            selected = AnalysisField.parse(fields);
+            jobPriority = AnalysisJob.Priority.parse(priority);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        AnalysisRequestValidator.Validated input =
+                AnalysisRequestValidator.validate(request, maxSequenceLength, alphabet);
+        if (!input.isValid()) {
+            return ResponseEntity.badRequest().body(Map.of("error", input.error()));
+        }
+
+        try {
+            AnalysisJob job = jobService.submit(input.sequence(), input.geneName(), input.species(),
+                    selected, jobPriority);
+            return ResponseEntity.accepted().location(URI.create("/api/v1/jobs/" + job.getId())).body(job);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 任务状态；完成后包含分析结果
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Object> status(@PathVariable String id) {
+        return jobService.find(id)
+                .<ResponseEntity<Object>>map(ResponseEntity::ok)
+                .orElseGet(() -> notFound(id));
+    }
+
+    /**
+     * 取消排队中的任务
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Object> cancel(@PathVariable String id) {
+        return jobService.cancel(id)
+                .<ResponseEntity<Object>>map(ResponseEntity::ok)
+                .orElseGet(() -> notFound(id));
+    }
+
+    /**
+     * 任务队列统计
+     */
+    @GetMapping("/stats")
+    public AnalysisJobService.Stats stats() {
+        return jobService.stats();
+    }
+
+    private static ResponseEntity<Object> notFound(String id) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "任务不存在或已过期: " + id));
+    }
+}
@@ -0,0 +1,119 @@
+package com.geneinsight.controller;
+
+import com.geneinsight.model.GeneAnalysisRequest;
+import com.geneinsight.model.PackedSequence;
+import com.geneinsight.model.SequenceNormalizer;
+
+/**
+ * 页面表单、JSON 接口与异步任务共用的请求校验
+ * 校验通过时同时给出规范化后的输入，调用方不再自行 trim / 转大写
+ */
+final class AnalysisRequestValidator {
+
+    /** 序列最短长度 */
+    static final int MIN_SEQUENCE_LENGTH = 10;
+
+    /** 基因名称长度范围 */
+    private static final int MIN_GENE_NAME_LENGTH = 2;
+    private static final int MAX_GENE_NAME_LENGTH = 50;
+
+    /** 基因名称允许的字符: 字母、数字、连字符、下划线 */
+    private static final boolean[] GENE_NAME_CHARS = new boolean[128];
+
+    static {
+        for (char ch = '0'; ch <= '9'; ch++) {
+            GENE_NAME_CHARS[ch] = true;
+        }
+        for (char ch = 'A'; ch <= 'Z'; ch++) {
+            GENE_NAME_CHARS[ch] = true;
+            GENE_NAME_CHARS[Character.toLowerCase(ch)] = true;
+        }
+        GENE_NAME_CHARS['-'] = true;
+        GENE_NAME_CHARS['_'] = true;
+    }
+
+    private AnalysisRequestValidator() {
+    }
+
+    /**
+     * 校验结果: 通过时 error 为 null，其余字段为规范化后的输入；否则 error 为错误提示
+     */
+    record Validated(String error, PackedSequence sequence, String geneName, String species) {
+
+        boolean isValid() {
+            return error == null;
+        }
+
+        static Validated invalid(String error) {
+            return new Validated(error, null, null, null);
+        }
+    }
+
+    /**
+     * 校验并规范化请求: 序列去除空白与 FASTA 标题行、转为大写并按 alphabet 校验，无效字符报告其位置
+     */
+    static Validated validate(GeneAnalysisRequest request, int maxSequenceLength,
+                              SequenceNormalizer.Alphabet alphabet) {
+        if (request.getGeneSequence() == null || request.getGeneSequence().isBlank()) {
+            return Validated.invalid("基因序列不能为空");
+        }
+
+        if (request.getGeneName() == null || request.getGeneName().isBlank()) {
+            return Validated.invalid("请选择或输入基因名称");
+        }
+
+        if (request.getSpecies() == null || request.getSpecies().isBlank()) {
+            return Validated.invalid("请选择物种");
+        }
+
+        // 检查基因名称是否有效
+        String geneName = request.getGeneName().trim();
+        if (!isValidGeneName(geneName)) {
+            return Validated.invalid("基因名称格式不正确，请使用字母、数字和连字符");
+        }
+
+        // 一次遍历完成规范化、字符校验与长度上限检查，超长时不复制其余输入
+        SequenceNormalizer.Result normalized =
+                SequenceNormalizer.normalize(request.getGeneSequence(), alphabet, maxSequenceLength);
+        if (normalized.tooLong()) {
+            return tooLong(maxSequenceLength);
+        }
+        if (!normalized.isValid()) {
+            return Validated.invalid("基因序列只能包含 " + alphabet.getDescription() + " 字符，第 "
+                    + normalized.errorPosition() + " 个碱基处为 '" + normalized.errorCharacter() + "'");
+        }
+        PackedSequence sequence = normalized.sequence();
+
+        // 验证序列长度
+        if (sequence.length() == 0) {
+            return Validated.invalid("基因序列不能为空");
+        }
+
+        if (sequence.length() < MIN_SEQUENCE_LENGTH) {
+            return Validated.invalid("基因序列太短，请输入至少" + MIN_SEQUENCE_LENGTH + "个碱基的序列");
+        }
+
+        return new Validated(null, sequence, geneName, request.getSpecies().trim());
+    }
+
+    private static Validated tooLong(int maxSequenceLength) {
+        return Validated.invalid("基因序列太长，请输入不超过" + maxSequenceLength + "个碱基的序列");
+    }
+
+    /**
+     * 验证基因名称格式: 字母、数字、连字符、下划线，长度在 2-50 之间
+     */
+    private static boolean isValidGeneName(String geneName) {
+        int length = geneName.length();
+        if (length < MIN_GENE_NAME_LENGTH || length > MAX_GENE_NAME_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char ch = geneName.charAt(i);
+            if (ch >= GENE_NAME_CHARS.length || !GENE_NAME_CHARS[ch]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,165 @@
+package com.geneinsight.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geneinsight.model.AnalysisField;
+import com.geneinsight.model.GeneAnalysisResult;
+import com.geneinsight.model.SequenceRecord;
+import com.geneinsight.service.BioinformaticsService;
+import com.geneinsight.service.LLMService;
+import com.geneinsight.service.SequenceRecordReader;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+public class BatchAnalysisController {
+
+    @Autowired
+    private BioinformaticsService bioinformaticsService;
+
+    @Autowired
+    private LLMService llmService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${geneinsight.batch.max-record-length:10000000}")
+    private int maxRecordLength;
+
+    @Value("${deepseek.batch.max-items:8}")
+    private int interpretWindow;
+
+    /** 批量输出的异步超时，0 表示不限；只作用于本接口 */
+    @Value("${geneinsight.batch.response-timeout:0}")
+    private Duration responseTimeout = Duration.ZERO;
+
+    /**
+     * 批量分析接口 - 以请求体流式上传多条 FASTA/FASTQ 记录（可 gzip 压缩）
+     * 每分析完一条记录即输出一行 JSON (NDJSON)
+     * fields 与 /api/v1/analyze 相同，未指定时输出全部分析字段；interpret=true 等同于选择 interpretation
+     */
+    @PostMapping(value = "/api/batch/analyze", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> analyzeBatch(InputStream body, HttpServletResponse response,
+                                           @RequestParam(defaultValue = "Homo sapiens (人类)") String species,
+                                           @RequestParam(defaultValue = "false") boolean interpret,
+                                           @RequestParam(required = false) String fields) {
+        Set<AnalysisField> selected;
+        try {
+            selected = EnumSet.copyOf(fields == null ? AnalysisField.ANALYSIS : AnalysisField.parse(fields));
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return streaming(response, output -> writeError(output, null, e.getMessage()));
+        }
+        if (interpret) {
+            selected.add(AnalysisField.INTERPRETATION);
+        }
+        StreamingResponseBody stream = output -> {
+            // 解读异步进行，最多 interpretWindow 条记录同时等待，使相邻记录合并到同一次批量解读中；输出保持输入顺序
+            Deque<CompletableFuture<Object>> pending = new ArrayDeque<>();
+            try (SequenceRecordReader reader = new SequenceRecordReader(body, maxRecordLength)) {
+                while (true) {
+                    SequenceRecord record;
+                    try {
+                        record = reader.next();
+                    } catch (SequenceRecordReader.InvalidRecordException e) {
+                        // 单条记录含无效字符或超长时跳过该记录，继续处理其余记录
+                        pending.add(CompletableFuture.completedFuture(errorLine(e.getRecordId(), e.getMessage())));
+                        continue;
+                    }
+                    if (record == null) {
+                        break;
+                    }
+                    pending.add(analyzeRecord(record, species, selected));
+                    writeCompleted(output, pending, interpretWindow);
+                }
+                writeCompleted(output, pending, 0);
+            } catch (IOException e) {
+                writeCompleted(output, pending, 0);
+                writeError(output, null, e.getMessage());
+            }
+        };
+        return streaming(response, stream);
+    }
+
+    /**
+     * 在异步线程上输出 NDJSON（与返回 StreamingResponseBody 相同），
+     * 但使用本接口自己的超时: 大批量输入可能持续很久，不必放宽其他异步请求的超时
+     */
+    private WebAsyncTask<Void> streaming(HttpServletResponse response, StreamingResponseBody stream) {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        long timeout = responseTimeout.isZero() || responseTimeout.isNegative() ? -1 : responseTimeout.toMillis();
+        return new WebAsyncTask<>(timeout, () -> {
+            OutputStream output = response.getOutputStream();
+            stream.writeTo(output);
+            output.flush();
+            return null;
+        });
+    }
+
+    private CompletableFuture<Object> analyzeRecord(SequenceRecord record, String species, Set<AnalysisField> fields) {
+        try {
+            GeneAnalysisResult result = bioinformaticsService.analyzeGeneSequence(
+                    record.getSequence(), record.getId(), species, AnalysisField.withPrerequisites(fields));
+            if (!fields.contains(AnalysisField.INTERPRETATION)) {
+                return CompletableFuture.completedFuture(result.retainFields(fields));
+            }
+            return llmService.interpretGeneAnalysisFuture(
+                    result.getGeneName(),
+                    result.getSpecies(),
+                    result.getFunctionalAnalysis(),
+                    result.getDiseaseAssociations()
+            ).thenApply(interpretation -> {
+                result.setLlmInterpretation(interpretation);
+                return result.retainFields(fields);
+            });
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(errorLine(record.getId(), e.getMessage()));
+        }
+    }
+
+    /**
+     * 按顺序输出已完成的记录；等待中的记录超过 maxPending 条时阻塞等待最早的一条
+     */
+    private void writeCompleted(OutputStream output, Deque<CompletableFuture<Object>> pending, int maxPending)
+            throws IOException {
+        while (!pending.isEmpty() && (pending.size() > maxPending || pending.peekFirst().isDone())) {
+            writeLine(output, pending.pollFirst().join());
+        }
+    }
+
+    private void writeError(OutputStream output, String id, String message) throws IOException {
+        writeLine(output, errorLine(id, message));
+    }
+
+    private Map<String, String> errorLine(String id, String message) {
+        Map<String, String> error = new LinkedHashMap<>();
+        error.put("id", id);
+        error.put("error", message);
+        return error;
+    }
+
+    private void writeLine(OutputStream output, Object value) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(value));
+        output.write('\n');
+        output.flush();
+    }
+}
@@ -2,25 +2,58 @@ package com.geneinsight.controller;
 
 import com.geneinsight.model.GeneAnalysisRequest;
 import com.geneinsight.model.GeneAnalysisResult;
+import com.geneinsight.model.PackedSequence;
+import com.geneinsight.model.SequenceNormalizer;
+import com.geneinsight.service.AnalysisMetrics;
 import com.geneinsight.service.BioinformaticsService;
 import com.geneinsight.service.LLMService;
+import com.geneinsight.service.RecentResults;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 public class GeneAnalysisController {
 
+    private static final Logger log = LoggerFactory.getLogger(GeneAnalysisController.class);
+
     @Autowired
     private BioinformaticsService bioinformaticsService;
 
     @Autowired
     private LLMService llmService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RecentResults recentResults;
+
+    @Value("${geneinsight.sequence.max-length:1000000}")
+    private int maxSequenceLength;
+
+    /** 允许的碱基字母表: acgt、acgtn 或 iupac */
+    @Value("${geneinsight.sequence.alphabet:acgt}")
+    private SequenceNormalizer.Alphabet alphabet = SequenceNormalizer.Alphabet.ACGT;
+
+    @Value("${deepseek.api.stream:true}")
+    private boolean streamInterpretation;
+
     /**
      * 显示首页 - 基因分析表单
      */
@@ -38,11 +71,13 @@ public class GeneAnalysisController {
 
     /**
      * 处理基因分析请求
+     * 生物信息学分析在请求线程完成，AI解释异步进行，等待期间释放请求线程
      */
     @PostMapping("/analyze")
-    public String analyzeGene(@ModelAttribute GeneAnalysisRequest request,
-                              @RequestParam(required = false) String customGene,
-                              Model model) {
+    public CompletableFuture<String> analyzeGene(@ModelAttribute GeneAnalysisRequest request,
+                                                 @RequestParam(required = false) String customGene,
+                                                 Model model) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             // 处理自定义基因名称
             if (customGene != null && !customGene.trim().isEmpty()) {
@@ -50,146 +85,96 @@ public class GeneAnalysisController {
             }
 
             // 验证输入
-            String validationError = validateInput(request);
-            if (validationError != null) {
-                model.addAttribute("error", validationError);
-                return home(model);
+            AnalysisRequestValidator.Validated input =
+                    AnalysisRequestValidator.validate(request, maxSequenceLength, alphabet);
+            if (!input.isValid()) {
+                model.addAttribute("error", input.error());
+                AnalysisMetrics.recordRequest(meterRegistry, sample, "page", "invalid", "unknown");
+                return CompletableFuture.completedFuture(home(model));
             }
 
-            // 清理输入数据
-            String geneSequence = request.getGeneSequence().trim().toUpperCase();
-            String geneName = request.getGeneName().trim();
-            String species = request.getSpecies().trim();
-
-            // 验证基因序列只包含有效字符
-            if (!isValidDNASequence(geneSequence)) {
-                model.addAttribute("error", "基因序列只能包含 A, T, G, C 字符");
-                return home(model);
-            }
+            // 规范化后的输入（序列已去除空白、转为大写并 2-bit 压缩）
+            PackedSequence geneSequence = input.sequence();
+            String geneName = input.geneName();
+            String species = input.species();
+            String lengthBucket = AnalysisMetrics.lengthBucket(geneSequence.length());
 
-            // 验证序列长度
-            if (geneSequence.length() < 10) {
-                model.addAttribute("error", "基因序列太短，请输入至少10个碱基的序列");
-                return home(model);
-            }
+            log.debug("开始基因分析 gene={} species={} length={}", geneName, species, geneSequence.length());
 
-            if (geneSequence.length() > 10000) {
-                model.addAttribute("error", "基因序列太长，请输入不超过10000个碱基的序列");
-                return home(model);
+            // 执行生物信息学分析
+            GeneAnalysisResult result = bioinformaticsService.analyzeGeneSequence(geneSequence, geneName, species);
+            // 页面只渲染各列表的第一页，其余页按需从 /results/{id}/{section} 加载
+            String resultId = recentResults.put(
+                    bioinformaticsService.resultKey(geneSequence, geneName, species), result, geneSequence);
+            ResultSection.addFirstPages(model, resultId, result, geneSequence, bioinformaticsService);
+
+            log.debug("生物信息学分析完成 gene={} gcContent={} orfs={}",
+                    geneName, result.getGcContent(), result.getOpenReadingFrames().size());
+
+            // 流式模式：先返回生物信息学结果，AI解读由页面通过 SSE 逐步加载
+            if (streamInterpretation) {
+                model.addAttribute("result", result);
+                model.addAttribute("apiAvailable", llmService.isApiAvailable());
+                model.addAttribute("streamInterpretation", true);
+                model.addAttribute("predefinedGenes", GeneAnalysisRequest.PREDEFINED_GENES);
+                model.addAttribute("predefinedSpecies", GeneAnalysisRequest.PREDEFINED_SPECIES);
+
+                AnalysisMetrics.recordRequest(meterRegistry, sample, "page", "success", lengthBucket);
+                log.info("基因分析完成 gene={} length={} interpretation=stream", geneName, geneSequence.length());
+                return CompletableFuture.completedFuture("result");
             }
 
-            System.out.println("🔬 开始基因分析...");
-            System.out.println("📝 基因名称: " + geneName);
-            System.out.println("🐾 物种: " + species);
-            System.out.println("📏 序列长度: " + geneSequence.length());
-
-            // 执行生物信息学分析
-            GeneAnalysisResult result = bioinformaticsService.analyzeGeneSequence(
-                    geneSequence,
-                    geneName,
-                    species
-            );
-
-            System.out.println("✅ 生物信息学分析完成");
-            System.out.println("🧬 GC含量: " + result.getGcContent() + "%");
-            System.out.println("🔢 预测蛋白质数量: " + result.getPotentialProteins().size());
-
-            // 使用大语言模型进行解释
-            System.out.println("🤖 开始AI解释...");
-            String llmInterpretation = llmService.interpretGeneAnalysis(
+            // 使用大语言模型进行解释（异步）
+            return llmService.interpretGeneAnalysisFuture(
                     result.getGeneName(),
                     result.getSpecies(),
                     result.getFunctionalAnalysis(),
                     result.getDiseaseAssociations()
-            );
+            ).thenApply(llmInterpretation -> {
+                result.setLlmInterpretation(llmInterpretation);
 
-            result.setLlmInterpretation(llmInterpretation);
+                // 添加结果到模型
+                model.addAttribute("result", result);
+                model.addAttribute("apiAvailable", llmService.isApiAvailable());
 
-            // 添加结果到模型
-            model.addAttribute("result", result);
-            model.addAttribute("apiAvailable", llmService.isApiAvailable());
+                // 重新添加预定义数据，确保返回页面时也能显示
+                model.addAttribute("predefinedGenes", GeneAnalysisRequest.PREDEFINED_GENES);
+                model.addAttribute("predefinedSpecies", GeneAnalysisRequest.PREDEFINED_SPECIES);
 
-            // 重新添加预定义数据，确保返回页面时也能显示
-            model.addAttribute("predefinedGenes", GeneAnalysisRequest.PREDEFINED_GENES);
-            model.addAttribute("predefinedSpecies", GeneAnalysisRequest.PREDEFINED_SPECIES);
-
-            System.out.println("🎉 基因分析完成: " + geneName);
-            System.out.println("📊 序列长度: " + geneSequence.length());
-            System.out.println("💬 AI解释长度: " + llmInterpretation.length());
-            System.out.println("=" .repeat(50));
+                AnalysisMetrics.recordRequest(meterRegistry, sample, "page", "success", lengthBucket);
+                log.info("基因分析完成 gene={} length={} interpretationLength={}",
+                        geneName, geneSequence.length(), llmInterpretation.length());
+                return "result";
+            });
 
         } catch (Exception e) {
-            System.err.println("❌ 分析过程中出现错误: " + e.getMessage());
-            e.printStackTrace();
+            log.error("分析过程中出现错误 gene={}", request.getGeneName(), e);
+            AnalysisMetrics.recordRequest(meterRegistry, sample, "page", "error", "unknown");
             model.addAttribute("error", "分析过程中出现错误: " + e.getMessage());
 
             // 错误时也要重新添加预定义数据
             model.addAttribute("predefinedGenes", GeneAnalysisRequest.PREDEFINED_GENES);
             model.addAttribute("predefinedSpecies", GeneAnalysisRequest.PREDEFINED_SPECIES);
 
-            return home(model);
-        }
-
-        return "result";
-    }
-
-    /**
-     * 验证输入数据
-     */
-    private String validateInput(GeneAnalysisRequest request) {
-        if (request.getGeneSequence() == null || request.getGeneSequence().trim().isEmpty()) {
-            return "基因序列不能为空";
-        }
-
-        if (request.getGeneName() == null || request.getGeneName().trim().isEmpty()) {
-            return "请选择或输入基因名称";
-        }
-
-        if (request.getSpecies() == null || request.getSpecies().trim().isEmpty()) {
-            return "请选择物种";
-        }
-
-        // 检查基因名称是否有效
-        String geneName = request.getGeneName().trim();
-        if (!isValidGeneName(geneName)) {
-            return "基因名称格式不正确，请使用字母、数字和连字符";
-        }
-
-        return null; // 验证通过
-    }
-
-    /**
-     * 验证DNA序列是否只包含有效字符
-     */
-    private boolean isValidDNASequence(String sequence) {
-        if (sequence == null || sequence.isEmpty()) {
-            return false;
+            return CompletableFuture.completedFuture(home(model));
         }
-
-        // 只允许包含 A, T, G, C 字符（不区分大小写）
-        return sequence.toUpperCase().matches("[ATGC]+");
-    }
-
-    /**
-     * 验证基因名称格式
-     */
-    private boolean isValidGeneName(String geneName) {
-        if (geneName == null || geneName.trim().isEmpty()) {
-            return false;
-        }
-
-        // 允许字母、数字、连字符、下划线，长度在2-50之间
-        return geneName.matches("^[a-zA-Z0-9\\-_]{2,50}$");
     }
 
     /**
      * 示例数据接口 - 用于前端获取示例序列
      */
     @GetMapping("/api/example-sequence")
-    public String getExampleSequence(@RequestParam String gene, Model model) {
-        // 这里可以返回示例序列数据
-        // 实际实现可以根据需要返回JSON数据
-        return "redirect:/";
+    @ResponseBody
+    public ResponseEntity<Map<String, String>> getExampleSequence(@RequestParam String gene) {
+        String sequence = GeneAnalysisRequest.EXAMPLE_SEQUENCES.get(gene.trim().toUpperCase());
+        if (sequence == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Map<String, String> example = new LinkedHashMap<>();
+        example.put("geneName", gene.trim().toUpperCase());
+        example.put("species", GeneAnalysisRequest.PREDEFINED_SPECIES.get(0));
+        example.put("geneSequence", sequence);
+        return ResponseEntity.ok(example);
     }
 
     /**
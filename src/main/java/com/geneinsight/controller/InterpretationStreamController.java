@@ -0,0 +1,41 @@
+package com.geneinsight.controller;
+
+import com.geneinsight.model.GeneAnalysisResult;
+import com.geneinsight.service.LLMService;
+import com.geneinsight.service.RecentResults;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+@RestController
+public class InterpretationStreamController {
+
+    @Autowired
+    private LLMService llmService;
+
+    @Autowired
+    private RecentResults recentResults;
+
+    /**
+     * AI解读的 SSE 流 - 每个 message 事件是一段增量文本，结束时发送 done 事件
+     * 只接受结果页的结果编号，提示词由服务端保存的分析结果构建，客户端无法提交任意文本；结果不存在或已过期时返回 404
+     */
+    @GetMapping(value = "/api/llm/interpretation/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamInterpretation(@RequestParam String id) {
+        GeneAnalysisResult result = recentResults.find(id).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.NOT_FOUND, "分析结果不存在或已过期，请重新分析"));
+        return llmService.streamGeneAnalysis(
+                        result.getGeneName(),
+                        result.getSpecies(),
+                        result.getFunctionalAnalysis(),
+                        result.getDiseaseAssociations())
+                .map(chunk -> ServerSentEvent.builder(chunk).build())
+                .concatWith(Flux.just(ServerSentEvent.<String>builder().event("done").data("").build()));
+    }
+}
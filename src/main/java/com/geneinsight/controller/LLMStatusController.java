@@ -0,0 +1,40 @@
+package com.geneinsight.controller;
+
+import com.geneinsight.service.BatchingInterpreter;
+import com.geneinsight.service.DeepSeekClient;
+import com.geneinsight.service.InterpretationCache;
+import com.geneinsight.service.LLMService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class LLMStatusController {
+
+    @Autowired
+    private LLMService llmService;
+
+    /**
+     * 解读缓存统计（命中率、容量等）
+     */
+    @GetMapping("/api/llm/cache-stats")
+    public InterpretationCache.Stats cacheStats() {
+        return llmService.getCacheStats();
+    }
+
+    /**
+     * 批量解读统计（上游调用次数、平均批大小、回退条目数）
+     */
+    @GetMapping("/api/llm/batch-stats")
+    public BatchingInterpreter.Stats batchStats() {
+        return llmService.getBatchStats();
+    }
+
+    /**
+     * DeepSeek 客户端统计（熔断状态、进行中的调用、拒绝与对冲次数）
+     */
+    @GetMapping("/api/llm/client-stats")
+    public DeepSeekClient.Stats clientStats() {
+        return llmService.getClientStats();
+    }
+}
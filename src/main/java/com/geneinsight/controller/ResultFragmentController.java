@@ -0,0 +1,92 @@
+package com.geneinsight.controller;
+
+import com.geneinsight.model.GeneAnalysisResult;
+import com.geneinsight.model.PackedSequence;
+import com.geneinsight.service.BioinformaticsService;
+import com.geneinsight.service.RecentResults;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * 结果页分段的按需加载: 返回某一段的指定页（HTML 片段）或单条完整序列
+ */
+@Controller
+public class ResultFragmentController {
+
+    @Autowired
+    private RecentResults recentResults;
+
+    @Autowired
+    private BioinformaticsService bioinformaticsService;
+
+    /**
+     * 分段的第 page 页（从 0 开始），结果已过期或分段不存在时返回 404
+     */
+    @GetMapping("/results/{id}/{section}")
+    public String fragment(@PathVariable String id, @PathVariable String section,
+                           @RequestParam(defaultValue = "0") int page, Model model) {
+        ResultSection resultSection = section(section);
+        if (page < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "页码不能为负数");
+        }
+        GeneAnalysisResult result = result(id);
+        PackedSequence sequence = resultSection == ResultSection.TRANSLATIONS ? sequence(id) : null;
+        model.addAttribute("resultId", id);
+        model.addAttribute("page", resultSection.page(result, page, sequence, bioinformaticsService));
+        model.addAttribute("sequencePreview", ResultSection.SEQUENCE_PREVIEW);
+        return "fragments/sections :: " + resultSection.getKey();
+    }
+
+    /**
+     * ORF 核酸序列或翻译产物的完整序列（纯文本）
+     */
+    @GetMapping(value = "/results/{id}/{section}/{index}/sequence", produces = MediaType.TEXT_PLAIN_VALUE)
+    @ResponseBody
+    public String sequence(@PathVariable String id, @PathVariable String section, @PathVariable int index) {
+        ResultSection resultSection = section(section);
+        if (resultSection != ResultSection.PROTEINS && resultSection != ResultSection.TRANSLATIONS) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "该分段没有序列: " + section);
+        }
+        GeneAnalysisResult result = result(id);
+        List<?> items = resultSection.items(result);
+        if (items == null || index < 0 || index >= items.size()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "序列不存在: " + index);
+        }
+        if (resultSection == ResultSection.TRANSLATIONS) {
+            return bioinformaticsService.translateLongestOrfs(sequence(id), result.getOpenReadingFrames(), index, 1)
+                    .get(0).getSequence();
+        }
+        return items.get(index).toString();
+    }
+
+    private static ResultSection section(String key) {
+        ResultSection section = ResultSection.byKey(key);
+        if (section == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "未知的结果分段: " + key);
+        }
+        return section;
+    }
+
+    /**
+     * 翻译所需的输入序列；只保留在内存中，从持久化存储读回的结果无法再翻译
+     */
+    private PackedSequence sequence(String id) {
+        return recentResults.findSequence(id).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.NOT_FOUND, "分析结果已过期，请重新分析"));
+    }
+
+    private GeneAnalysisResult result(String id) {
+        return recentResults.find(id).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.NOT_FOUND, "分析结果不存在或已过期，请重新分析"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.geneinsight.controller;
+
+import com.geneinsight.model.GeneAnalysisResult;
+import com.geneinsight.model.PackedSequence;
+import com.geneinsight.model.ResultPage;
+import com.geneinsight.service.BioinformaticsService;
+import org.springframework.ui.Model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 结果页中按页加载的分段: 页面只渲染每段的第一页，其余页由 /results/{id}/{section} 以 HTML 片段返回
+ * 片段定义在 templates/fragments/sections.html，首屏渲染与按需加载使用同一片段。
+ * 翻译产物按 ORF 分页，每次只翻译当前页的 ORF。
+ */
+enum ResultSection {
+    ORFS("orfs", 20, GeneAnalysisResult::getOpenReadingFrames),
+    PROTEINS("proteins", 5, GeneAnalysisResult::getPotentialProteins),
+    TRANSLATIONS("translations", 5, GeneAnalysisResult::getOpenReadingFrames),
+    REPEATS("repeats", 10, GeneAnalysisResult::getTandemRepeats),
+    MOTIFS("motifs", 20, GeneAnalysisResult::getMotifHits);
+
+    /** 片段中内联显示的序列长度上限，完整序列通过 /results/{id}/{section}/{index}/sequence 获取 */
+    static final int SEQUENCE_PREVIEW = 1_000;
+
+    private final String key;
+    private final int pageSize;
+    private final Function<GeneAnalysisResult, List<?>> items;
+
+    ResultSection(String key, int pageSize, Function<GeneAnalysisResult, List<?>> items) {
+        this.key = key;
+        this.pageSize = pageSize;
+        this.items = items;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    List<?> items(GeneAnalysisResult result) {
+        return items.apply(result);
+    }
+
+    /**
+     * 分段的第 page 页；翻译产物由 sequence 翻译当前页的 ORF 得到
+     */
+    ResultPage<?> page(GeneAnalysisResult result, int page, PackedSequence sequence,
+                       BioinformaticsService bioinformaticsService) {
+        ResultPage<?> slice = ResultPage.of(items(result), page, pageSize);
+        if (this != TRANSLATIONS || slice.getItems().isEmpty()) {
+            return slice;
+        }
+        return slice.withItems(bioinformaticsService.translateLongestOrfs(
+                sequence, result.getOpenReadingFrames(), slice.getOffset(), pageSize));
+    }
+
+    /**
+     * 按 URL 中的名称查找，未知时为 null
+     */
+    static ResultSection byKey(String key) {
+        for (ResultSection section : values()) {
+            if (section.key.equals(key)) {
+                return section;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 结果页所需的各分段第一页
+     */
+    static void addFirstPages(Model model, String resultId, GeneAnalysisResult result, PackedSequence sequence,
+                              BioinformaticsService bioinformaticsService) {
+        Map<String, ResultPage<?>> pages = new LinkedHashMap<>();
+        for (ResultSection section : values()) {
+            pages.put(section.key, section.page(result, 0, sequence, bioinformaticsService));
+        }
+        model.addAttribute("resultId", resultId);
+        model.addAttribute("pages", pages);
+        model.addAttribute("sequencePreview", SEQUENCE_PREVIEW);
+    }
+}
@@ -0,0 +1,21 @@
+package com.geneinsight.controller;
+
+import com.geneinsight.service.ResultStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class ResultStoreController {
+
+    @Autowired
+    private ResultStore resultStore;
+
+    /**
+     * 结果存储统计
+     */
+    @GetMapping("/api/store/stats")
+    public ResultStore.Stats stats() {
+        return resultStore.stats();
+    }
+}
@@ -0,0 +1,103 @@
+package com.geneinsight.model;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 分析结果中可按需选择的字段，未选择的部分不会被计算
+ * 每个字段声明其前置字段，例如功能分析基于碱基统计与模体扫描、疾病关联基于串联重复与参考相似度。
+ */
+public enum AnalysisField {
+    /** 碱基计数、GC 含量及组成 */
+    STATS("stats"),
+    /** 开放阅读框坐标 */
+    ORFS("orfs"),
+    /** 最长 ORF 的完整序列 */
+    PROTEINS("proteins", ORFS),
+    /** ORF 的氨基酸序列、分子量、等电点、GRAVY 与密码子偏好 */
+    TRANSLATIONS("translations", ORFS),
+    /** 串联重复区域 */
+    REPEATS("repeats"),
+    /** 调控元件、限制性酶切位点与 CpG 岛 */
+    MOTIFS("motifs"),
+    /** 与参考序列的 k-mer 相似度 */
+    SIMILARITY("similarity"),
+    /** 功能分析 */
+    FUNCTION("function", STATS, MOTIFS),
+    /** 疾病关联 */
+    DISEASE("disease", REPEATS, SIMILARITY),
+    /** 大模型解读 */
+    INTERPRETATION("interpretation", FUNCTION, DISEASE);
+
+    /**
+     * 结果页、批量分析与结果存储一次算出的字段（不含大模型解读）；
+     * 翻译产物随 ORF 数量线性增长，只在显式请求时计算，结果页按页翻译
+     */
+    public static final Set<AnalysisField> ANALYSIS =
+            EnumSet.of(STATS, ORFS, PROTEINS, REPEATS, MOTIFS, SIMILARITY, FUNCTION, DISEASE);
+
+    /** 未指定 fields 参数时返回的字段: 序列较长时 ORF 序列、翻译产物和大模型解读开销最大，需显式请求 */
+    public static final Set<AnalysisField> DEFAULTS = EnumSet.of(STATS, ORFS, REPEATS, MOTIFS, SIMILARITY, FUNCTION, DISEASE);
+
+    private final String key;
+    private final AnalysisField[] prerequisites;
+
+    AnalysisField(String key, AnalysisField... prerequisites) {
+        this.key = key;
+        this.prerequisites = prerequisites;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 所选字段及其全部前置字段
+     */
+    public static Set<AnalysisField> withPrerequisites(Set<AnalysisField> fields) {
+        Set<AnalysisField> required = EnumSet.noneOf(AnalysisField.class);
+        for (AnalysisField field : fields) {
+            field.addTo(required);
+        }
+        return required;
+    }
+
+    private void addTo(Set<AnalysisField> required) {
+        if (required.add(this)) {
+            for (AnalysisField prerequisite : prerequisites) {
+                prerequisite.addTo(required);
+            }
+        }
+    }
+
+    /**
+     * 解析逗号分隔的字段列表，例如 "stats,orfs,interpretation"；"all" 表示全部字段
+     */
+    public static Set<AnalysisField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.copyOf(DEFAULTS);
+        }
+        Set<AnalysisField> selected = EnumSet.noneOf(AnalysisField.class);
+        for (String item : fields.split(",")) {
+            String name = item.trim().toLowerCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (name.equals("all")) {
+                return EnumSet.allOf(AnalysisField.class);
+            }
+            selected.add(fromKey(name));
+        }
+        return selected;
+    }
+
+    private static AnalysisField fromKey(String key) {
+        for (AnalysisField field : values()) {
+            if (field.key.equals(key)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("未知的字段: " + key);
+    }
+}
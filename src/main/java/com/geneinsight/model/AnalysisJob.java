@@ -0,0 +1,151 @@
+package com.geneinsight.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * 异步分析任务的状态快照，任务完成后 result 为裁剪到所选字段的分析结果
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnalysisJob {
+
+    /**
+     * 任务状态: 排队 → 生物信息学分析 → 大模型解读（仅在请求了 interpretation 时）→ 完成/失败；排队中的任务可以取消
+     */
+    public enum Status {
+        QUEUED, RUNNING, INTERPRETING, SUCCEEDED, FAILED, CANCELLED;
+
+        public boolean isDone() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    /**
+     * 调度优先级，同一优先级内先提交先执行
+     */
+    public enum Priority {
+        HIGH, NORMAL, LOW;
+
+        /**
+         * 解析 high/normal/low，为空时为 NORMAL
+         */
+        public static Priority parse(String priority) {
+            if (priority == null || priority.isBlank()) {
+                return NORMAL;
+            }
+            try {
+                return valueOf(priority.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("未知的优先级: " + priority);
+            }
+        }
+    }
+
+    private String id;
+    private Status status;
+    private Priority priority;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant completedAt;
+    private String error;
+    private GeneAnalysisResult result;
+
+    // 默认构造函数
+    public AnalysisJob() {}
+
+    // 带参数构造函数
+    public AnalysisJob(String id, Status status, Priority priority, Instant submittedAt, Instant startedAt,
+                       Instant completedAt, String error, GeneAnalysisResult result) {
+        this.id = id;
+        this.status = status;
+        this.priority = priority;
+        this.submittedAt = submittedAt;
+        this.startedAt = startedAt;
+        this.completedAt = completedAt;
+        this.error = error;
+        this.result = result;
+    }
+
+    // Getter 和 Setter 方法
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Instant submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    /**
+     * 失败原因，仅在 FAILED 时存在
+     */
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public GeneAnalysisResult getResult() {
+        return result;
+    }
+
+    public void setResult(GeneAnalysisResult result) {
+        this.result = result;
+    }
+
+    @Override
+    public String toString() {
+        return "AnalysisJob{" +
+                "id='" + id + '\'' +
+                ", status=" + status +
+                ", priority=" + priority +
+                ", submittedAt=" + submittedAt +
+                ", startedAt=" + startedAt +
+                ", completedAt=" + completedAt +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
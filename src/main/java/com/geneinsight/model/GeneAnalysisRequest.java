@@ -2,6 +2,7 @@ package com.geneinsight.model;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 public class GeneAnalysisRequest {
     private String geneSequence;
@@ -29,6 +30,13 @@ public class GeneAnalysisRequest {
             "其他物种"
     );
 
+    // 示例序列（基因名称 -> 序列片段）
+    public static final Map<String, String> EXAMPLE_SEQUENCES = Map.of(
+            "BRCA1", "ATGGATTTATCTGCTCTTCGCGTTGAAGAAGTACAAAATGTCATTAATGCTATGCAGAAAATCTTAGAGTGTCCCATCTGTCTGGAGTTGATCAAGGAACCTGTCTCCACAAAGTGTGACCACATATTTTGCAAATTTTGCATGCTGAAACTTCTCAACCAGAAGAAAGGGCCTTCACAGTGTCCTTTATGTAAGAATGATATAACCAAAAGGAGCCTACAAGAAAGTACGAGATTTAGTCAAACTTGATGAAGCTAAAAATTATCTCCAGAAACAAG",
+            "TP53", "ATGGAGGAGCCGCAGTCAGATCCTAGCGTCGAGCCCCCTCTGAGTCAGGAAACATTTTCAGACCTATGGAAACTACTTCCTGAAAACAACGTTCTGTCCCCCTTGCCGTCCCAAGCAATGGATGATTTGATGCTGTCCCCGGACGATATTGAACAATGGTTCACTGAAGACCCAGGTCCAGATGAAGCTCCCAGAATGCCAGAGGCTGCTCCCCCCGTGGCCCCTGCACCAGCAGCTCCTACACCGGCGGCCCCTGCACCAGCCCCCTCCTGGCCCCTGTCATCTTCT",
+            "EGFR", "ATGCGACCCTCCGGGACGGCCGGGGGAGCAGCGCTGCTGGGGGCGGGGGGGCTGGCGGCCGCGGCCGGGGCGGGGGCGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGGGGCGGG"
+    );
+
     // 构造函数
     public GeneAnalysisRequest() {}
 
@@ -1,15 +1,28 @@
 package com.geneinsight.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * 基因分析结果，未计算的字段为 null 且不出现在 JSON 中
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class GeneAnalysisResult {
     private String geneName;
     private String species;
     private int sequenceLength;
     private double gcContent;
     private Map<String, Integer> nucleotideComposition;
+    private SequenceStats sequenceStats;
     private List<String> potentialProteins;
+    private List<TranslatedProtein> translatedProteins;
+    private List<OpenReadingFrame> openReadingFrames;
+    private List<TandemRepeat> tandemRepeats;
+    private List<MotifHit> motifHits;
+    private List<ReferenceMatch> referenceMatches;
     private String functionalAnalysis;
     private String diseaseAssociations;
     private String llmInterpretation;
@@ -74,6 +87,14 @@ public class GeneAnalysisResult {
         this.nucleotideComposition = nucleotideComposition;
     }
 
+    public SequenceStats getSequenceStats() {
+        return sequenceStats;
+    }
+
+    public void setSequenceStats(SequenceStats sequenceStats) {
+        this.sequenceStats = sequenceStats;
+    }
+
     public List<String> getPotentialProteins() {
         return potentialProteins;
     }
@@ -82,6 +103,52 @@ public class GeneAnalysisResult {
         this.potentialProteins = potentialProteins;
     }
 
+    /**
+     * 全部 ORF 的翻译产物，按长度降序
+     */
+    public List<TranslatedProtein> getTranslatedProteins() {
+        return translatedProteins;
+    }
+
+    public void setTranslatedProteins(List<TranslatedProtein> translatedProteins) {
+        this.translatedProteins = translatedProteins;
+    }
+
+    public List<OpenReadingFrame> getOpenReadingFrames() {
+        return openReadingFrames;
+    }
+
+    public void setOpenReadingFrames(List<OpenReadingFrame> openReadingFrames) {
+        this.openReadingFrames = openReadingFrames;
+    }
+
+    public List<TandemRepeat> getTandemRepeats() {
+        return tandemRepeats;
+    }
+
+    public void setTandemRepeats(List<TandemRepeat> tandemRepeats) {
+        this.tandemRepeats = tandemRepeats;
+    }
+
+    public List<MotifHit> getMotifHits() {
+        return motifHits;
+    }
+
+    public void setMotifHits(List<MotifHit> motifHits) {
+        this.motifHits = motifHits;
+    }
+
+    /**
+     * 最相似的参考基因，按估计一致性降序
+     */
+    public List<ReferenceMatch> getReferenceMatches() {
+        return referenceMatches;
+    }
+
+    public void setReferenceMatches(List<ReferenceMatch> referenceMatches) {
+        this.referenceMatches = referenceMatches;
+    }
+
     public String getFunctionalAnalysis() {
         return functionalAnalysis;
     }
@@ -106,6 +173,60 @@ public class GeneAnalysisResult {
         this.llmInterpretation = llmInterpretation;
     }
 
+    /**
+     * 浅拷贝: 各字段的列表和对象与原结果共享，只读使用；
+     * 拷贝上的 retainFields 和 setLlmInterpretation 不影响原结果
+     */
+    public GeneAnalysisResult copy() {
+        GeneAnalysisResult copy = new GeneAnalysisResult(geneName, species, sequenceLength, gcContent,
+                nucleotideComposition, potentialProteins, functionalAnalysis, diseaseAssociations, llmInterpretation);
+        copy.sequenceStats = sequenceStats;
+        copy.translatedProteins = translatedProteins;
+        copy.openReadingFrames = openReadingFrames;
+        copy.tandemRepeats = tandemRepeats;
+        copy.motifHits = motifHits;
+        copy.referenceMatches = referenceMatches;
+        return copy;
+    }
+
+    /**
+     * 清空未选择的字段，返回自身
+     */
+    public GeneAnalysisResult retainFields(Set<AnalysisField> fields) {
+        if (!fields.contains(AnalysisField.STATS)) {
+            sequenceStats = null;
+            nucleotideComposition = null;
+        }
+        if (!fields.contains(AnalysisField.ORFS)) {
+            openReadingFrames = null;
+        }
+        if (!fields.contains(AnalysisField.PROTEINS)) {
+            potentialProteins = null;
+        }
+        if (!fields.contains(AnalysisField.TRANSLATIONS)) {
+            translatedProteins = null;
+        }
+        if (!fields.contains(AnalysisField.REPEATS)) {
+            tandemRepeats = null;
+        }
+        if (!fields.contains(AnalysisField.MOTIFS)) {
+            motifHits = null;
+        }
+        if (!fields.contains(AnalysisField.SIMILARITY)) {
+            referenceMatches = null;
+        }
+        if (!fields.contains(AnalysisField.FUNCTION)) {
+            functionalAnalysis = null;
+        }
+        if (!fields.contains(AnalysisField.DISEASE)) {
+            diseaseAssociations = null;
+        }
+        if (!fields.contains(AnalysisField.INTERPRETATION)) {
+            llmInterpretation = null;
+        }
+        return this;
+    }
+
     @Override
     public String toString() {
         return "GeneAnalysisResult{" +
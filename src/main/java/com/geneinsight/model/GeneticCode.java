@@ -0,0 +1,91 @@
+package com.geneinsight.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 遗传密码表（NCBI 翻译表编号）
+ * 密码子按 2-bit 碱基编码组成 6-bit 索引: (第一位 << 4) | (第二位 << 2) | 第三位，查表即得氨基酸。
+ */
+public enum GeneticCode {
+    /** 标准遗传密码 */
+    STANDARD(1, "FFLLSSSSYY**CC*WLLLLPPPPHHQQRRRRIIIMTTTTNNKKSSRRVVVVAAAADDEEGGGG"),
+    /** 脊椎动物线粒体: AGA/AGG 为终止，ATA 为 Met，TGA 为 Trp */
+    VERTEBRATE_MITOCHONDRIAL(2, "FFLLSSSSYY**CCWWLLLLPPPPHHQQRRRRIIMMTTTTNNKKSS**VVVVAAAADDEEGGGG"),
+    /** 酵母线粒体: CTN 为 Thr，ATA 为 Met，TGA 为 Trp */
+    YEAST_MITOCHONDRIAL(3, "FFLLSSSSYY**CCWWTTTTPPPPHHQQRRRRIIMMTTTTNNKKSSRRVVVVAAAADDEEGGGG"),
+    /** 无脊椎动物线粒体: AGA/AGG 为 Ser，ATA 为 Met，TGA 为 Trp */
+    INVERTEBRATE_MITOCHONDRIAL(5, "FFLLSSSSYY**CCWWLLLLPPPPHHQQRRRRIIMMTTTTNNKKSSSSVVVVAAAADDEEGGGG"),
+    /** 细菌、古菌与质体，氨基酸对应与标准密码相同 */
+    BACTERIAL(11, "FFLLSSSSYY**CC*WLLLLPPPPHHQQRRRRIIIMTTTTNNKKSSRRVVVVAAAADDEEGGGG");
+
+    /** 终止密码子在翻译结果中的表示 */
+    public static final char STOP = '*';
+
+    private final int id;
+    private final char[] aminoAcids = new char[64];
+
+    GeneticCode(int id, String ncbiTable) {
+        this.id = id;
+        for (int i = 0; i < 64; i++) {
+            int codon = (ncbiBase(i >> 4) << 4) | (ncbiBase((i >> 2) & 3) << 2) | ncbiBase(i & 3);
+            aminoAcids[codon] = ncbiTable.charAt(i);
+        }
+    }
+
+    /**
+     * NCBI 表中密码子各位按 T、C、A、G 排列，转为 2-bit 编码
+     */
+    private static int ncbiBase(int position) {
+        return switch (position) {
+            case 0 -> Nucleotides.T;
+            case 1 -> Nucleotides.C;
+            case 2 -> Nucleotides.A;
+            default -> Nucleotides.G;
+        };
+    }
+
+    /**
+     * NCBI 翻译表编号
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * 6-bit 密码子索引对应的氨基酸单字母代码，终止密码子为 {@link #STOP}
+     */
+    public char translate(int codon) {
+        return aminoAcids[codon];
+    }
+
+    public boolean isStop(int codon) {
+        return aminoAcids[codon] == STOP;
+    }
+
+    /**
+     * 该密码表的全部终止密码子
+     */
+    public List<String> stopCodons() {
+        List<String> stops = new ArrayList<>();
+        for (int codon = 0; codon < 64; codon++) {
+            if (isStop(codon)) {
+                stops.add("" + Nucleotides.base(codon >> 4) + Nucleotides.base((codon >> 2) & 3)
+                        + Nucleotides.base(codon & 3));
+            }
+        }
+        return stops;
+    }
+
+    /**
+     * 按 NCBI 翻译表编号查找
+     */
+    public static GeneticCode byId(int id) {
+        for (GeneticCode code : values()) {
+            if (code.id == id) {
+                return code;
+            }
+        }
+        throw new IllegalArgumentException("不支持的遗传密码表: " + id);
+    }
+}
@@ -0,0 +1,96 @@
+package com.geneinsight.model;
+
+/**
+ * 模体命中位置，坐标区间为 [start, end)，均为正链坐标
+ * strand 为 "-" 表示命中的是模体的反向互补序列（模体位于负链上）。
+ */
+public class MotifHit {
+    private String name;
+    private String category;
+    private int start;
+    private int end;
+    private String strand;
+
+    // 默认构造函数
+    public MotifHit() {}
+
+    // 带参数构造函数
+    public MotifHit(String name, String category, int start, int end, String strand) {
+        this.name = name;
+        this.category = category;
+        this.start = start;
+        this.end = end;
+        this.strand = strand;
+    }
+
+    public int getLength() {
+        return end - start;
+    }
+
+    // Getter 和 Setter 方法
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 模体类别: promoter、translation、terminator、restriction、cpg-island
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public void setStart(int start) {
+        this.start = start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    public void setEnd(int end) {
+        this.end = end;
+    }
+
+    public String getStrand() {
+        return strand;
+    }
+
+    public void setStrand(String strand) {
+        this.strand = strand;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MotifHit that)) return false;
+        return start == that.start && end == that.end && name.equals(that.name) && strand.equals(that.strand);
+    }
+
+    @Override
+    public int hashCode() {
+        return (start * 31 + end) * 31 + name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "MotifHit{" +
+                "name='" + name + '\'' +
+                ", category='" + category + '\'' +
+                ", start=" + start +
+                ", end=" + end +
+                ", strand='" + strand + '\'' +
+                '}';
+    }
+}
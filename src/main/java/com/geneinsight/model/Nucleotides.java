@@ -0,0 +1,66 @@
+package com.geneinsight.model;
+
+/**
+ * 核苷酸编码表
+ * 统一使用 2-bit 编码: A=0, C=1, G=2, T=3，大小写不敏感
+ */
+public final class Nucleotides {
+
+    public static final byte A = 0;
+    public static final byte C = 1;
+    public static final byte G = 2;
+    public static final byte T = 3;
+    /** 未知碱基 N */
+    public static final byte N = 4;
+    /** 其他 IUPAC 简并碱基 (R, Y, S, W, K, M, B, D, H, V) */
+    public static final byte AMBIGUOUS = 5;
+    /** 非核苷酸字符 */
+    public static final byte INVALID = -1;
+
+    private static final byte[] CODES = new byte[256];
+    private static final char[] BASES = {'A', 'C', 'G', 'T'};
+
+    static {
+        java.util.Arrays.fill(CODES, INVALID);
+        mapCase('A', A);
+        mapCase('C', C);
+        mapCase('G', G);
+        mapCase('T', T);
+        mapCase('N', N);
+        for (char ch : "RYSWKMBDHV".toCharArray()) {
+            mapCase(ch, AMBIGUOUS);
+        }
+    }
+
+    private static void mapCase(char ch, byte code) {
+        CODES[ch] = code;
+        CODES[Character.toLowerCase(ch)] = code;
+    }
+
+    private Nucleotides() {}
+
+    /**
+     * 字符转编码，超出 Latin-1 范围的字符视为无效
+     */
+    public static byte code(char ch) {
+        return ch < 256 ? CODES[ch] : INVALID;
+    }
+
+    public static byte code(byte b) {
+        return CODES[b & 0xFF];
+    }
+
+    /**
+     * 2-bit 编码转大写碱基字符
+     */
+    public static char base(int code) {
+        return BASES[code];
+    }
+
+    /**
+     * 2-bit 编码的互补碱基 (A<->T, C<->G)
+     */
+    public static int complement(int code) {
+        return 3 - code;
+    }
+}
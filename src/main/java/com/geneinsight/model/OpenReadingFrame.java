@@ -0,0 +1,105 @@
+package com.geneinsight.model;
+
+/**
+ * 开放阅读框，只保存坐标不保存序列
+ * start/end 均为正链坐标，区间为 [start, end)，包含终止密码子
+ */
+public class OpenReadingFrame {
+    private int start;
+    private int end;
+    private char strand;
+    private int frame;
+
+    // 默认构造函数
+    public OpenReadingFrame() {}
+
+    // 带参数构造函数
+    public OpenReadingFrame(int start, int end, char strand, int frame) {
+        this.start = start;
+        this.end = end;
+        this.strand = strand;
+        this.frame = frame;
+    }
+
+    public int getLength() {
+        return end - start;
+    }
+
+    public boolean isReverse() {
+        return strand == '-';
+    }
+
+    /**
+     * 按阅读方向取出ORF序列，负链ORF返回反向互补序列；sequence 为规范化后的大写序列
+     */
+    public String extractFrom(CharSequence sequence) {
+        StringBuilder orf = new StringBuilder(end - start);
+        if (isReverse()) {
+            for (int i = end - 1; i >= start; i--) {
+                int code = Nucleotides.code(sequence.charAt(i));
+                orf.append(code >= 0 && code < 4 ? Nucleotides.base(Nucleotides.complement(code)) : 'N');
+            }
+        } else {
+            orf.append(sequence, start, end);
+        }
+        return orf.toString();
+    }
+
+    // Getter 和 Setter 方法
+    public int getStart() {
+        return start;
+    }
+
+    public void setStart(int start) {
+        this.start = start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    public void setEnd(int end) {
+        this.end = end;
+    }
+
+    public char getStrand() {
+        return strand;
+    }
+
+    public void setStrand(char strand) {
+        this.strand = strand;
+    }
+
+    /**
+     * 相对于所在链 5' 端的读码框 (0-2)
+     */
+    public int getFrame() {
+        return frame;
+    }
+
+    public void setFrame(int frame) {
+        this.frame = frame;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof OpenReadingFrame that)) return false;
+        return start == that.start && end == that.end && strand == that.strand && frame == that.frame;
+    }
+
+    @Override
+    public int hashCode() {
+        return ((start * 31 + end) * 31 + strand) * 31 + frame;
+    }
+
+    @Override
+    public String toString() {
+        return "OpenReadingFrame{" +
+                "start=" + start +
+                ", end=" + end +
+                ", strand=" + strand +
+                ", frame=" + frame +
+                '}';
+    }
+}
@@ -0,0 +1,268 @@
+package com.geneinsight.model;
+
+import java.util.Arrays;
+
+/**
+ * 2-bit 压缩的核苷酸序列
+ * A/C/G/T 每个碱基占 2 bit，存放在 long[] 中（每个 long 32 个碱基）；
+ * N 及其他 IUPAC 简并碱基以游程列表的形式单独记录。
+ * 子序列和反向互补均为共享底层数组的视图，不复制数据。
+ */
+public final class PackedSequence implements CharSequence {
+
+    private static final long LOW_BITS = 0x5555555555555555L;
+    private static final char[] IUPAC_COMPLEMENT = new char[128];
+
+    static {
+        String from = "ACGTNRYSWKMBDHV";
+        String to = "TGCANYRSWMKVHDB";
+        for (int i = 0; i < from.length(); i++) {
+            IUPAC_COMPLEMENT[from.charAt(i)] = to.charAt(i);
+        }
+    }
+
+    private final long[] words;
+    /** 非 ACGT 碱基游程: [runStarts[i], runEnds[i]) 均为 runChars[i] */
+    private final int[] runStarts;
+    private final int[] runEnds;
+    private final char[] runChars;
+
+    private final int offset;
+    private final int length;
+    private final boolean reverseComplement;
+
+    private PackedSequence(long[] words, int[] runStarts, int[] runEnds, char[] runChars,
+                           int offset, int length, boolean reverseComplement) {
+        this.words = words;
+        this.runStarts = runStarts;
+        this.runEnds = runEnds;
+        this.runChars = runChars;
+        this.offset = offset;
+        this.length = length;
+        this.reverseComplement = reverseComplement;
+    }
+
+    /**
+     * 压缩序列，大小写不敏感；遇到非核苷酸字符抛出 IllegalArgumentException
+     */
+    public static PackedSequence of(CharSequence sequence) {
+        if (sequence instanceof PackedSequence packed) {
+            return packed;
+        }
+        int length = sequence.length();
+        long[] words = new long[(length + 31) >>> 5];
+        int[] runStarts = new int[0];
+        int[] runEnds = new int[0];
+        char[] runChars = new char[0];
+        int runs = 0;
+
+        for (int i = 0; i < length; i++) {
+            char ch = sequence.charAt(i);
+            byte code = Nucleotides.code(ch);
+            if (code == Nucleotides.INVALID) {
+                throw new IllegalArgumentException("位置 " + (i + 1) + " 存在无效字符: " + ch);
+            }
+            if (code < 4) {
+                words[i >>> 5] |= (long) code << ((i & 31) << 1);
+                continue;
+            }
+            char upper = Character.toUpperCase(ch);
+            if (runs > 0 && runEnds[runs - 1] == i && runChars[runs - 1] == upper) {
+                runEnds[runs - 1] = i + 1;
+                continue;
+            }
+            if (runs == runStarts.length) {
+                int capacity = Math.max(4, runs * 2);
+                runStarts = Arrays.copyOf(runStarts, capacity);
+                runEnds = Arrays.copyOf(runEnds, capacity);
+                runChars = Arrays.copyOf(runChars, capacity);
+            }
+            runStarts[runs] = i;
+            runEnds[runs] = i + 1;
+            runChars[runs] = upper;
+            runs++;
+        }
+
+        return new PackedSequence(words,
+                Arrays.copyOf(runStarts, runs), Arrays.copyOf(runEnds, runs), Arrays.copyOf(runChars, runs),
+                0, length, false);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        int position = absolute(index);
+        int run = findRun(position);
+        if (run >= 0) {
+            char ch = runChars[run];
+            return reverseComplement ? IUPAC_COMPLEMENT[ch] : ch;
+        }
+        int code = packedCode(position);
+        return Nucleotides.base(reverseComplement ? Nucleotides.complement(code) : code);
+    }
+
+    /**
+     * 碱基编码: 0-3 为 A/C/G/T，其余为 {@link Nucleotides#N} 或 {@link Nucleotides#AMBIGUOUS}
+     */
+    public int code(int index) {
+        int position = absolute(index);
+        int run = findRun(position);
+        if (run >= 0) {
+            return Nucleotides.code(runChars[run]);
+        }
+        int code = packedCode(position);
+        return reverseComplement ? Nucleotides.complement(code) : code;
+    }
+
+    /**
+     * 从 index 开始的 k-mer 的 2-bit 编码（首碱基在高位），包含非 ACGT 碱基时返回 -1
+     */
+    public long kmer(int index, int k) {
+        if (k < 1 || k > 32 || index < 0 || index + k > length) {
+            throw new IndexOutOfBoundsException("k-mer 越界: index=" + index + ", k=" + k);
+        }
+        long kmer = 0;
+        for (int i = index; i < index + k; i++) {
+            int code = code(i);
+            if (code > 3) {
+                return -1;
+            }
+            kmer = (kmer << 2) | code;
+        }
+        return kmer;
+    }
+
+    /**
+     * 子序列视图，共享底层数据
+     */
+    @Override
+    public PackedSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("子序列越界: [" + start + ", " + end + ")");
+        }
+        int newOffset = reverseComplement ? offset + length - end : offset + start;
+        return new PackedSequence(words, runStarts, runEnds, runChars, newOffset, end - start, reverseComplement);
+    }
+
+    /**
+     * 反向互补视图，共享底层数据
+     */
+    public PackedSequence reverseComplement() {
+        return new PackedSequence(words, runStarts, runEnds, runChars, offset, length, !reverseComplement);
+    }
+
+    public boolean isReverseComplement() {
+        return reverseComplement;
+    }
+
+    /**
+     * 按 64-bit 字批量统计碱基组成，非 ACGT 碱基由游程列表修正
+     */
+    public SequenceStats stats() {
+        int a = 0, c = 0, g = 0, t = 0, n = 0, ambiguous = 0, cpg = 0;
+        if (length > 0) {
+            int from = offset;
+            int to = offset + length;
+            int firstWord = from >>> 5;
+            int lastWord = (to - 1) >>> 5;
+            long previousC = 0;
+
+            for (int w = firstWord; w <= lastWord; w++) {
+                long word = words[w];
+                int first = w == firstWord ? from & 31 : 0;
+                int last = w == lastWord ? (to - 1) & 31 : 31;
+                long range = -1L << (first << 1);
+                if (last < 31) {
+                    range &= (1L << ((last + 1) << 1)) - 1;
+                }
+                range &= LOW_BITS;
+
+                long lo = word & LOW_BITS;
+                long hi = (word >>> 1) & LOW_BITS;
+                long aBits = ~hi & ~lo & range;
+                long cBits = ~hi & lo & range;
+                long gBits = hi & ~lo & range;
+                long tBits = hi & lo & range;
+
+                a += Long.bitCount(aBits);
+                c += Long.bitCount(cBits);
+                g += Long.bitCount(gBits);
+                t += Long.bitCount(tBits);
+                cpg += Long.bitCount(cBits & (gBits >>> 2)) + (int) (previousC & gBits & 1);
+                previousC = cBits >>> 62;
+            }
+
+            // 非 ACGT 位置在压缩数组中占位为 A
+            for (int run = firstRunOverlapping(from); run < runStarts.length && runStarts[run] < to; run++) {
+                int overlap = Math.min(runEnds[run], to) - Math.max(runStarts[run], from);
+                a -= overlap;
+                if (runChars[run] == 'N') {
+                    n += overlap;
+                } else {
+                    ambiguous += overlap;
+                }
+            }
+        }
+
+        if (reverseComplement) {
+            // 反向互补交换 A/T 与 C/G，CG 的反向互补仍为 CG
+            return new SequenceStats(length, t, g, c, a, n, ambiguous, cpg);
+        }
+        return new SequenceStats(length, a, c, g, t, n, ambiguous, cpg);
+    }
+
+    /**
+     * 压缩后占用的近似堆内存（字节）
+     */
+    public long packedSizeInBytes() {
+        return 16L + words.length * 8L + runStarts.length * 10L;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(charAt(i));
+        }
+        return sb.toString();
+    }
+
+    private int absolute(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("索引越界: " + index);
+        }
+        return reverseComplement ? offset + length - 1 - index : offset + index;
+    }
+
+    private int packedCode(int position) {
+        return (int) (words[position >>> 5] >>> ((position & 31) << 1)) & 3;
+    }
+
+    private int findRun(int position) {
+        if (runStarts.length == 0) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(runStarts, position);
+        if (index >= 0) {
+            return index;
+        }
+        int insertion = -index - 1;
+        return insertion > 0 && runEnds[insertion - 1] > position ? insertion - 1 : -1;
+    }
+
+    /**
+     * 第一个与 position 及其之后区域重叠的游程下标
+     */
+    private int firstRunOverlapping(int position) {
+        int index = Arrays.binarySearch(runStarts, position);
+        if (index >= 0) {
+            return index;
+        }
+        int insertion = -index - 1;
+        return insertion > 0 && runEnds[insertion - 1] > position ? insertion - 1 : insertion;
+    }
+}
@@ -0,0 +1,98 @@
+package com.geneinsight.model;
+
+/**
+ * 与参考序列的相似度估计
+ * containment 为较小一方的 k-mer 草图被另一方包含的比例，identity 由其按 containment^(1/k) 换算。
+ */
+public class ReferenceMatch {
+    private String name;
+    private int length;
+    private int sharedKmers;
+    private double containment;
+    private double identity;
+
+    // 默认构造函数
+    public ReferenceMatch() {}
+
+    // 带参数构造函数
+    public ReferenceMatch(String name, int length, int sharedKmers, double containment, double identity) {
+        this.name = name;
+        this.length = length;
+        this.sharedKmers = sharedKmers;
+        this.containment = containment;
+        this.identity = identity;
+    }
+
+    // Getter 和 Setter 方法
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 参考序列长度 (bp)
+     */
+    public int getLength() {
+        return length;
+    }
+
+    public void setLength(int length) {
+        this.length = length;
+    }
+
+    /**
+     * 共有的草图 k-mer 数
+     */
+    public int getSharedKmers() {
+        return sharedKmers;
+    }
+
+    public void setSharedKmers(int sharedKmers) {
+        this.sharedKmers = sharedKmers;
+    }
+
+    public double getContainment() {
+        return containment;
+    }
+
+    public void setContainment(double containment) {
+        this.containment = containment;
+    }
+
+    /**
+     * 估计的序列一致性 (0-1)
+     */
+    public double getIdentity() {
+        return identity;
+    }
+
+    public void setIdentity(double identity) {
+        this.identity = identity;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ReferenceMatch that)) return false;
+        return length == that.length && sharedKmers == that.sharedKmers && name.equals(that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return (name.hashCode() * 31 + length) * 31 + sharedKmers;
+    }
+
+    @Override
+    public String toString() {
+        return "ReferenceMatch{" +
+                "name='" + name + '\'' +
+                ", length=" + length +
+                ", sharedKmers=" + sharedKmers +
+                ", containment=" + containment +
+                ", identity=" + identity +
+                '}';
+    }
+}
@@ -0,0 +1,80 @@
+package com.geneinsight.model;
+
+import java.util.List;
+
+/**
+ * 结果列表中的一页，用于结果页分段加载
+ */
+public class ResultPage<T> {
+    private final List<T> items;
+    private final int page;
+    private final int pageSize;
+    private final int total;
+
+    public ResultPage(List<T> items, int page, int pageSize, int total) {
+        this.items = items;
+        this.page = page;
+        this.pageSize = pageSize;
+        this.total = total;
+    }
+
+    /**
+     * 取出 all 的第 page 页（从 0 开始），all 为 null 时为空页
+     */
+    public static <T> ResultPage<T> of(List<T> all, int page, int pageSize) {
+        if (all == null) {
+            return new ResultPage<>(List.of(), 0, pageSize, 0);
+        }
+        int from = (int) Math.min((long) page * pageSize, all.size());
+        int to = Math.min(from + pageSize, all.size());
+        return new ResultPage<>(all.subList(from, to), page, pageSize, all.size());
+    }
+
+    /**
+     * 页码与总数不变、内容替换为 items 的页，例如把 ORF 页换成其翻译产物
+     */
+    public <R> ResultPage<R> withItems(List<R> items) {
+        return new ResultPage<>(items, page, pageSize, total);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * 本页第一项在整个列表中的下标
+     */
+    public int getOffset() {
+        return page * pageSize;
+    }
+
+    public boolean isHasNext() {
+        return getOffset() + items.size() < total;
+    }
+
+    public int getNextPage() {
+        return page + 1;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultPage{" +
+                "page=" + page +
+                ", pageSize=" + pageSize +
+                ", items=" + items.size() +
+                ", total=" + total +
+                '}';
+    }
+}
@@ -0,0 +1,139 @@
+package com.geneinsight.model;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 输入序列的规范化与校验
+ * 一次遍历完成: 跳过开头的 FASTA 标题行、去除空白与换行、转为大写、按允许的字母表校验，
+ * 全部通过查表完成（不使用正则，不产生中间字符串）。结果直接压缩为 {@link PackedSequence}，
+ * 之后的分析阶段只会看到规范的大写序列。
+ */
+public final class SequenceNormalizer {
+
+    /**
+     * 允许的碱基字母表，后者包含前者
+     */
+    public enum Alphabet {
+        /** 只允许 A, T, G, C */
+        ACGT("A, T, G, C"),
+        /** 另外允许未知碱基 N */
+        ACGTN("A, T, G, C, N"),
+        /** 允许全部 IUPAC 简并碱基 */
+        IUPAC("A, T, G, C 及 IUPAC 简并碱基 (N, R, Y, S, W, K, M, B, D, H, V)");
+
+        private final String description;
+
+        Alphabet(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        /**
+         * 解析 acgt/acgtn/iupac，大小写不敏感
+         */
+        public static Alphabet parse(String alphabet) {
+            try {
+                return valueOf(alphabet.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("未知的序列字母表: " + alphabet);
+            }
+        }
+    }
+
+    /** 空白字符（含 FASTA 换行） */
+    private static final byte SKIP = -2;
+    private static final byte INVALID = -1;
+
+    /** 字符 → 所需的最小字母表序号，SKIP 为空白，INVALID 为非核苷酸字符 */
+    private static final byte[] LEVELS = new byte[256];
+    /** 字符 → 规范的大写碱基 */
+    private static final char[] CANONICAL = new char[256];
+
+    static {
+        Arrays.fill(LEVELS, INVALID);
+        for (char ch : " \t\n\r\f\u000B".toCharArray()) {
+            LEVELS[ch] = SKIP;
+        }
+        map("ACGT", Alphabet.ACGT);
+        map("N", Alphabet.ACGTN);
+        map("RYSWKMBDHV", Alphabet.IUPAC);
+    }
+
+    private static void map(String bases, Alphabet alphabet) {
+        for (char ch : bases.toCharArray()) {
+            for (char variant : new char[] {ch, Character.toLowerCase(ch)}) {
+                LEVELS[variant] = (byte) alphabet.ordinal();
+                CANONICAL[variant] = ch;
+            }
+        }
+    }
+
+    private SequenceNormalizer() {
+    }
+
+    /**
+     * 规范化结果: 通过时 sequence 非空；碱基数超过上限时 tooLong 为 true；
+     * 否则 errorPosition 为第一个无效字符在碱基中的位置（从 1 开始）
+     */
+    public record Result(PackedSequence sequence, int errorPosition, char errorCharacter, boolean tooLong) {
+
+        public boolean isValid() {
+            return sequence != null;
+        }
+    }
+
+    /**
+     * 规范化并校验输入；开头以 '>' 或 ';' 起始的行视为 FASTA 标题或注释并跳过
+     */
+    public static Result normalize(CharSequence input, Alphabet alphabet) {
+        return normalize(input, alphabet, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 规范化并校验输入，碱基数超过 maxLength 时立即停止，不再复制和压缩其余输入
+     */
+    public static Result normalize(CharSequence input, Alphabet alphabet, int maxLength) {
+        int length = input.length();
+        int i = skipHeaderLines(input);
+        int maxLevel = alphabet.ordinal();
+        char[] bases = new char[Math.min(length - i, maxLength)];
+        int count = 0;
+
+        for (; i < length; i++) {
+            char ch = input.charAt(i);
+            int level = ch < 256 ? LEVELS[ch] : INVALID;
+            if (level == SKIP) {
+                continue;
+            }
+            if (level == INVALID || level > maxLevel) {
+                return new Result(null, count + 1, ch, false);
+            }
+            if (count == bases.length) {
+                return new Result(null, 0, '\0', true);
+            }
+            bases[count++] = CANONICAL[ch];
+        }
+        return new Result(PackedSequence.of(CharBuffer.wrap(bases, 0, count)), 0, '\0', false);
+    }
+
+    private static int skipHeaderLines(CharSequence input) {
+        int length = input.length();
+        int i = 0;
+        while (true) {
+            while (i < length && LEVELS[Math.min(input.charAt(i), 255)] == SKIP) {
+                i++;
+            }
+            if (i == length || (input.charAt(i) != '>' && input.charAt(i) != ';')) {
+                return i;
+            }
+            while (i < length && input.charAt(i) != '\n') {
+                i++;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.geneinsight.model;
+
+/**
+ * FASTA/FASTQ 中的一条序列记录
+ */
+public class SequenceRecord {
+    private final String id;
+    private final String description;
+    private final PackedSequence sequence;
+
+    public SequenceRecord(String id, String description, PackedSequence sequence) {
+        this.id = id;
+        this.description = description;
+        this.sequence = sequence;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public PackedSequence getSequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,187 @@
+package com.geneinsight.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 序列单次扫描得到的碱基统计
+ */
+public class SequenceStats {
+    private int length;
+    private int countA;
+    private int countC;
+    private int countG;
+    private int countT;
+    private int countN;
+    private int ambiguousCount;
+    /** 非核苷酸字符数（只出现在未经校验的输入中），计入长度但不计入任何碱基 */
+    private int invalidCount;
+    private int cpgCount;
+
+    // 默认构造函数
+    public SequenceStats() {}
+
+    // 带参数构造函数
+    public SequenceStats(int length, int countA, int countC, int countG, int countT,
+                         int countN, int ambiguousCount, int cpgCount) {
+        this.length = length;
+        this.countA = countA;
+        this.countC = countC;
+        this.countG = countG;
+        this.countT = countT;
+        this.countN = countN;
+        this.ambiguousCount = ambiguousCount;
+        this.cpgCount = cpgCount;
+    }
+
+    /**
+     * 累加相邻区间的统计结果
+     */
+    public SequenceStats merge(SequenceStats other) {
+        length += other.length;
+        countA += other.countA;
+        countC += other.countC;
+        countG += other.countG;
+        countT += other.countT;
+        countN += other.countN;
+        ambiguousCount += other.ambiguousCount;
+        invalidCount += other.invalidCount;
+        cpgCount += other.cpgCount;
+        return this;
+    }
+
+    /**
+     * GC含量 (%)，以序列总长度为分母
+     */
+    public double getGcContent() {
+        return length == 0 ? 0.0 : (double) (countG + countC) / length * 100;
+    }
+
+    /**
+     * AT含量 (%)
+     */
+    public double getAtContent() {
+        return length == 0 ? 0.0 : (double) (countA + countT) / length * 100;
+    }
+
+    /**
+     * GC偏斜 (G-C)/(G+C)
+     */
+    public double getGcSkew() {
+        int gc = countG + countC;
+        return gc == 0 ? 0.0 : (double) (countG - countC) / gc;
+    }
+
+    /**
+     * CpG 观察/期望比值
+     */
+    public double getCpgObservedExpected() {
+        return countC == 0 || countG == 0 ? 0.0 : (double) cpgCount * length / ((double) countC * countG);
+    }
+
+    /**
+     * 核苷酸组成，保持 A/T/G/C 的展示顺序
+     */
+    public Map<String, Integer> toCompositionMap() {
+        Map<String, Integer> composition = new LinkedHashMap<>();
+        if (length == 0) {
+            return composition;
+        }
+        composition.put("A", countA);
+        composition.put("T", countT);
+        composition.put("G", countG);
+        composition.put("C", countC);
+        if (countN > 0) {
+            composition.put("N", countN);
+        }
+        return composition;
+    }
+
+    // Getter 和 Setter 方法
+    public int getLength() {
+        return length;
+    }
+
+    public void setLength(int length) {
+        this.length = length;
+    }
+
+    public int getCountA() {
+        return countA;
+    }
+
+    public void setCountA(int countA) {
+        this.countA = countA;
+    }
+
+    public int getCountC() {
+        return countC;
+    }
+
+    public void setCountC(int countC) {
+        this.countC = countC;
+    }
+
+    public int getCountG() {
+        return countG;
+    }
+
+    public void setCountG(int countG) {
+        this.countG = countG;
+    }
+
+    public int getCountT() {
+        return countT;
+    }
+
+    public void setCountT(int countT) {
+        this.countT = countT;
+    }
+
+    public int getCountN() {
+        return countN;
+    }
+
+    public void setCountN(int countN) {
+        this.countN = countN;
+    }
+
+    public int getAmbiguousCount() {
+        return ambiguousCount;
+    }
+
+    public void setAmbiguousCount(int ambiguousCount) {
+        this.ambiguousCount = ambiguousCount;
+    }
+
+    public int getInvalidCount() {
+        return invalidCount;
+    }
+
+    public void setInvalidCount(int invalidCount) {
+        this.invalidCount = invalidCount;
+    }
+
+    public int getCpgCount() {
+        return cpgCount;
+    }
+
+    public void setCpgCount(int cpgCount) {
+        this.cpgCount = cpgCount;
+    }
+
+    @Override
+    public String toString() {
+        return "SequenceStats{" +
+                "length=" + length +
+                ", A=" + countA +
+                ", C=" + countC +
+                ", G=" + countG +
+                ", T=" + countT +
+                ", N=" + countN +
+                ", ambiguous=" + ambiguousCount +
+                ", invalid=" + invalidCount +
+                ", CpG=" + cpgCount +
+                '}';
+    }
+}
@@ -0,0 +1,91 @@
+package com.geneinsight.model;
+
+/**
+ * 串联重复区域，坐标区间为 [start, end)
+ */
+public class TandemRepeat {
+    private int start;
+    private int end;
+    private int period;
+    private String motif;
+
+    // 默认构造函数
+    public TandemRepeat() {}
+
+    // 带参数构造函数
+    public TandemRepeat(int start, int end, int period, String motif) {
+        this.start = start;
+        this.end = end;
+        this.period = period;
+        this.motif = motif;
+    }
+
+    public int getLength() {
+        return end - start;
+    }
+
+    /**
+     * 完整拷贝数
+     */
+    public int getCopies() {
+        return period == 0 ? 0 : (end - start) / period;
+    }
+
+    // Getter 和 Setter 方法
+    public int getStart() {
+        return start;
+    }
+
+    public void setStart(int start) {
+        this.start = start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    public void setEnd(int end) {
+        this.end = end;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(int period) {
+        this.period = period;
+    }
+
+    /**
+     * 区域起点处的重复单元
+     */
+    public String getMotif() {
+        return motif;
+    }
+
+    public void setMotif(String motif) {
+        this.motif = motif;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TandemRepeat that)) return false;
+        return start == that.start && end == that.end && period == that.period && motif.equals(that.motif);
+    }
+
+    @Override
+    public int hashCode() {
+        return (start * 31 + end) * 31 + period;
+    }
+
+    @Override
+    public String toString() {
+        return "TandemRepeat{" +
+                "start=" + start +
+                ", end=" + end +
+                ", period=" + period +
+                ", motif='" + motif + '\'' +
+                '}';
+    }
+}
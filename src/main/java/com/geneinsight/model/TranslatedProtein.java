@@ -0,0 +1,145 @@
+package com.geneinsight.model;
+
+/**
+ * ORF 的翻译产物及其理化性质
+ * start/end/strand 与对应的 {@link OpenReadingFrame} 相同，序列不含终止密码子。
+ */
+public class TranslatedProtein {
+    private int start;
+    private int end;
+    private char strand;
+    private String sequence;
+    private double molecularWeight;
+    private double isoelectricPoint;
+    private double gravy;
+    private Double effectiveNumberOfCodons;
+
+    // 默认构造函数
+    public TranslatedProtein() {}
+
+    // 带参数构造函数
+    public TranslatedProtein(int start, int end, char strand, String sequence, double molecularWeight,
+                             double isoelectricPoint, double gravy, Double effectiveNumberOfCodons) {
+        this.start = start;
+        this.end = end;
+        this.strand = strand;
+        this.sequence = sequence;
+        this.molecularWeight = molecularWeight;
+        this.isoelectricPoint = isoelectricPoint;
+        this.gravy = gravy;
+        this.effectiveNumberOfCodons = effectiveNumberOfCodons;
+    }
+
+    /**
+     * 氨基酸残基数
+     */
+    public int getLength() {
+        return sequence == null ? 0 : sequence.length();
+    }
+
+    // Getter 和 Setter 方法
+    public int getStart() {
+        return start;
+    }
+
+    public void setStart(int start) {
+        this.start = start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    public void setEnd(int end) {
+        this.end = end;
+    }
+
+    public char getStrand() {
+        return strand;
+    }
+
+    public void setStrand(char strand) {
+        this.strand = strand;
+    }
+
+    /**
+     * 氨基酸单字母序列，含无法确定的碱基的密码子记为 X
+     */
+    public String getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(String sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * 平均分子量 (Da)
+     */
+    public double getMolecularWeight() {
+        return molecularWeight;
+    }
+
+    public void setMolecularWeight(double molecularWeight) {
+        this.molecularWeight = molecularWeight;
+    }
+
+    /**
+     * 等电点
+     */
+    public double getIsoelectricPoint() {
+        return isoelectricPoint;
+    }
+
+    public void setIsoelectricPoint(double isoelectricPoint) {
+        this.isoelectricPoint = isoelectricPoint;
+    }
+
+    /**
+     * 平均亲水性指数 (Kyte-Doolittle GRAVY)，正值为疏水
+     */
+    public double getGravy() {
+        return gravy;
+    }
+
+    public void setGravy(double gravy) {
+        this.gravy = gravy;
+    }
+
+    /**
+     * 有效密码子数 ENC (Wright 1990)，20 表示极端偏好、61 表示无偏好；ORF 过短无法估计时为 null
+     */
+    public Double getEffectiveNumberOfCodons() {
+        return effectiveNumberOfCodons;
+    }
+
+    public void setEffectiveNumberOfCodons(Double effectiveNumberOfCodons) {
+        this.effectiveNumberOfCodons = effectiveNumberOfCodons;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TranslatedProtein that)) return false;
+        return start == that.start && end == that.end && strand == that.strand && sequence.equals(that.sequence);
+    }
+
+    @Override
+    public int hashCode() {
+        return ((start * 31 + end) * 31 + strand) * 31 + sequence.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "TranslatedProtein{" +
+                "start=" + start +
+                ", end=" + end +
+                ", strand=" + strand +
+                ", length=" + getLength() +
+                ", molecularWeight=" + molecularWeight +
+                ", isoelectricPoint=" + isoelectricPoint +
+                ", gravy=" + gravy +
+                ", effectiveNumberOfCodons=" + effectiveNumberOfCodons +
+                '}';
+    }
+}
@@ -0,0 +1,338 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.AnalysisField;
+import com.geneinsight.model.AnalysisJob;
+import com.geneinsight.model.GeneAnalysisResult;
+import com.geneinsight.model.PackedSequence;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 异步分析任务队列
+ * 提交后立即返回任务编号；生物信息学分析在固定大小的工作线程池上按优先级执行，
+ * 等待中的任务数达到上限时拒绝提交（由接口转换为 429）。大模型解读作为第二步异步发起，
+ * 不占用分析线程。完成的任务在保留期内可查询，之后被清理；保留的任务总数达到上限时
+ * 提交新任务会先淘汰最早完成的任务，全部未完成时同样拒绝提交。
+ */
+@Service
+public class AnalysisJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisJobService.class);
+
+    @Autowired
+    private BioinformaticsService bioinformaticsService;
+
+    @Autowired(required = false)
+    private LLMService llmService;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    /** 分析工作线程数，0 表示与 CPU 核数相同 */
+    @Value("${geneinsight.jobs.workers:0}")
+    private int workers;
+
+    /** 等待执行的任务数上限 */
+    @Value("${geneinsight.jobs.queue-capacity:256}")
+    private int queueCapacity = 256;
+
+    /** 完成的任务保留时长 */
+    @Value("${geneinsight.jobs.retention:30m}")
+    private Duration retention = Duration.ofMinutes(30);
+
+    /** 保留的任务总数上限（含排队、执行中和已完成的任务） */
+    @Value("${geneinsight.jobs.max-retained:4096}")
+    private int maxRetained = 4096;
+
+    private final ConcurrentHashMap<String, Job> jobs = new ConcurrentHashMap<>();
+    /** 已完成的任务，按完成顺序排列，用于过期清理与超量淘汰 */
+    private final ConcurrentLinkedQueue<Job> finished = new ConcurrentLinkedQueue<>();
+    /** 保护准入检查与淘汰，使保留的任务数不超过上限 */
+    private final ReentrantLock admission = new ReentrantLock();
+    private final AtomicLong submissions = new AtomicLong();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private Clock clock = Clock.systemUTC();
+    private ThreadPoolExecutor executor;
+    private ScheduledExecutorService reaper;
+
+    @PostConstruct
+    public void start() {
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "analysis-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "analysis-job-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1_000, Math.min(retention.toMillis() / 2, 60_000));
+        reaper.scheduleWithFixedDelay(() -> purgeExpired(clock.instant()), period, period, TimeUnit.MILLISECONDS);
+        registerMeters();
+        log.info("分析任务队列已启动 workers={} queueCapacity={} retention={} maxRetained={}",
+                threads, queueCapacity, retention, maxRetained);
+    }
+
+    private void registerMeters() {
+        Gauge.builder("geneinsight.jobs.queued", queued, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("geneinsight.jobs.running", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        Gauge.builder("geneinsight.jobs.retained", jobs, ConcurrentHashMap::size).register(meterRegistry);
+        FunctionCounter.builder("geneinsight.jobs.rejected", rejected, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("geneinsight.jobs.evicted", evicted, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * 提交分析任务
+     *
+     * @param fields 返回的字段，前置字段由任务自行补全
+     * @throws RejectedExecutionException 等待中的任务已达上限，或保留的任务已达上限且没有可淘汰的已完成任务
+     */
+    public AnalysisJob submit(PackedSequence sequence, String geneName, String species, Set<AnalysisField> fields,
+                              AnalysisJob.Priority priority) {
+        Job job;
+        admission.lock();
+        try {
+            if (queued.get() >= queueCapacity) {
+                rejected.incrementAndGet();
+                throw new RejectedExecutionException("分析任务队列已满，请稍后重试");
+            }
+            if (!evictFinished(maxRetained - 1)) {
+                rejected.incrementAndGet();
+                throw new RejectedExecutionException("未完成的分析任务过多，请稍后重试");
+            }
+            job = new Job(UUID.randomUUID().toString(), priority, submissions.incrementAndGet(), clock.instant(),
+                    sequence, geneName, species, fields);
+            queued.incrementAndGet();
+            jobs.put(job.id, job);
+        } finally {
+            admission.unlock();
+        }
+        executor.execute(job);
+        log.debug("分析任务已提交 id={} priority={} length={}", job.id, priority, sequence.length());
+        return job.snapshot();
+    }
+
+    /**
+     * 查询任务，不存在或已超过保留期时为空
+     */
+    public Optional<AnalysisJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(Job::snapshot);
+    }
+
+    /**
+     * 取消排队中的任务；已开始执行的任务不受影响，返回其当前状态
+     */
+    public Optional<AnalysisJob> cancel(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (job.status.compareAndSet(AnalysisJob.Status.QUEUED, AnalysisJob.Status.CANCELLED)) {
+            executor.remove(job);
+            queued.decrementAndGet();
+            job.completedAt = clock.instant();
+            finished.add(job);
+            recordOutcome(AnalysisJob.Status.CANCELLED);
+        }
+        return Optional.of(job.snapshot());
+    }
+
+    public Stats stats() {
+        return new Stats(queued.get(), executor.getActiveCount(), jobs.size(), rejected.get());
+    }
+
+    /**
+     * 清理完成时间早于保留期的任务
+     */
+    void purgeExpired(Instant now) {
+        Instant cutoff = now.minus(retention);
+        admission.lock();
+        try {
+            Job oldest;
+            while ((oldest = finished.peek()) != null && oldest.completedAt.isBefore(cutoff)) {
+                finished.poll();
+                jobs.remove(oldest.id, oldest);
+            }
+        } finally {
+            admission.unlock();
+        }
+    }
+
+    /**
+     * 按完成顺序淘汰已完成的任务，直到保留的任务数不超过 limit；未完成的任务过多时返回 false
+     */
+    private boolean evictFinished(int limit) {
+        while (jobs.size() > limit) {
+            Job oldest = finished.poll();
+            if (oldest == null) {
+                return false;
+            }
+            if (jobs.remove(oldest.id, oldest)) {
+                evicted.incrementAndGet();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 第一步: 在分析线程上执行生物信息学分析
+     */
+    private void analyze(Job job) {
+        if (!job.status.compareAndSet(AnalysisJob.Status.QUEUED, AnalysisJob.Status.RUNNING)) {
+            return;
+        }
+        queued.decrementAndGet();
+        job.startedAt = clock.instant();
+        Timer.builder("geneinsight.jobs.wait").register(meterRegistry)
+                .record(Duration.between(job.submittedAt, job.startedAt));
+
+        GeneAnalysisResult result;
+        try {
+            result = bioinformaticsService.analyzeGeneSequence(job.sequence, job.geneName, job.species,
+                    AnalysisField.withPrerequisites(job.fields));
+        } catch (RuntimeException e) {
+            log.warn("分析任务失败 id={} error={}", job.id, e.toString());
+            complete(job, AnalysisJob.Status.FAILED, null, "分析过程中出现错误: " + e.getMessage());
+            return;
+        }
+
+        if (!job.fields.contains(AnalysisField.INTERPRETATION) || llmService == null) {
+            complete(job, AnalysisJob.Status.SUCCEEDED, result.retainFields(job.fields), null);
+            return;
+        }
+
+        // 第二步: 大模型解读异步进行，分析线程立即去处理下一个任务
+        job.status.set(AnalysisJob.Status.INTERPRETING);
+        llmService.interpretGeneAnalysisFuture(result.getGeneName(), result.getSpecies(),
+                result.getFunctionalAnalysis(), result.getDiseaseAssociations()
+        ).whenComplete((interpretation, error) -> {
+            if (error != null) {
+                log.warn("分析任务解读失败 id={} error={}", job.id, error.toString());
+                complete(job, AnalysisJob.Status.FAILED, null, "大模型解读失败: " + error.getMessage());
+            } else {
+                result.setLlmInterpretation(interpretation);
+                complete(job, AnalysisJob.Status.SUCCEEDED, result.retainFields(job.fields), null);
+            }
+        });
+    }
+
+    private void complete(Job job, AnalysisJob.Status status, GeneAnalysisResult result, String error) {
+        job.result = result;
+        job.error = error;
+        job.completedAt = clock.instant();
+        job.status.set(status);
+        // 结果已保存，释放输入序列
+        job.sequence = null;
+        finished.add(job);
+        recordOutcome(status);
+        log.debug("分析任务结束 id={} status={} durationMs={}", job.id, status,
+                Duration.between(job.submittedAt, job.completedAt).toMillis());
+    }
+
+    private void recordOutcome(AnalysisJob.Status status) {
+        Counter.builder("geneinsight.jobs.completed")
+                .tag("status", status.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reaper != null) {
+            reaper.shutdownNow();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 任务队列统计
+     */
+    public record Stats(int queued, int running, int retained, long rejected) {}
+
+    /**
+     * 队列中的任务，按优先级、提交顺序出队
+     */
+    private final class Job implements Runnable, Comparable<Job> {
+        final String id;
+        final AnalysisJob.Priority priority;
+        final long order;
+        final Instant submittedAt;
+        final String geneName;
+        final String species;
+        final Set<AnalysisField> fields;
+        final AtomicReference<AnalysisJob.Status> status = new AtomicReference<>(AnalysisJob.Status.QUEUED);
+        volatile PackedSequence sequence;
+        volatile Instant startedAt;
+        volatile Instant completedAt;
+        volatile String error;
+        volatile GeneAnalysisResult result;
+
+        Job(String id, AnalysisJob.Priority priority, long order, Instant submittedAt, PackedSequence sequence,
+            String geneName, String species, Set<AnalysisField> fields) {
+            this.id = id;
+            this.priority = priority;
+            this.order = order;
+            this.submittedAt = submittedAt;
+            this.sequence = sequence;
+            this.geneName = geneName;
+            this.species = species;
+            this.fields = fields;
+        }
+
+        @Override
+        public void run() {
+            analyze(this);
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(order, other.order);
+        }
+
+        AnalysisJob snapshot() {
+            AnalysisJob.Status current = status.get();
+            return new AnalysisJob(id, current, priority, submittedAt, startedAt, completedAt, error,
+                    current == AnalysisJob.Status.SUCCEEDED ? result : null);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.geneinsight.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 指标名称与标签约定
+ * 耗时按序列长度分桶打标签，标签取值有限，避免按原始长度产生大量时间序列。
+ */
+public final class AnalysisMetrics {
+
+    /** 单个分析阶段耗时，标签 stage、length */
+    public static final String STAGE = "geneinsight.analysis.stage";
+    /** 一次完整分析耗时，标签 source（store/computed/coalesced）、fields（all/partial）、length */
+    public static final String ANALYSIS = "geneinsight.analysis";
+    /** 分析的序列长度分布 */
+    public static final String SEQUENCE_LENGTH = "geneinsight.sequence.length";
+    /** 一次请求从接收到返回结果的耗时，标签 endpoint、outcome、length */
+    public static final String REQUEST = "geneinsight.request";
+    /** 单次 DeepSeek 调用耗时，标签 mode（complete/stream）、outcome、exception */
+    public static final String LLM_REQUEST = "geneinsight.llm.request";
+    /** 每次调用消耗的 token 数，标签 type（prompt/completion） */
+    public static final String LLM_TOKENS = "geneinsight.llm.tokens";
+    /** 回退到模拟响应的次数，标签 reason、exception */
+    public static final String LLM_FALLBACK = "geneinsight.llm.fallback";
+
+    private static final long[] LENGTH_BOUNDARIES = {1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+    private static final String[] LENGTH_BUCKETS = {"lt1k", "1k-10k", "10k-100k", "100k-1m", "1m-10m", "ge10m"};
+    private static final double[] LENGTH_SLOS = Arrays.stream(LENGTH_BOUNDARIES).asDoubleStream().toArray();
+
+    private AnalysisMetrics() {
+    }
+
+    /**
+     * 序列长度所在的桶
+     */
+    public static String lengthBucket(long length) {
+        int i = 0;
+        while (i < LENGTH_BOUNDARIES.length && length >= LENGTH_BOUNDARIES[i]) {
+            i++;
+        }
+        return LENGTH_BUCKETS[i];
+    }
+
+    /**
+     * 记录序列长度，直方图边界与长度分桶一致
+     */
+    public static void recordSequenceLength(MeterRegistry registry, long length) {
+        DistributionSummary.builder(SEQUENCE_LENGTH)
+                .baseUnit("bases")
+                .serviceLevelObjectives(LENGTH_SLOS)
+                .register(registry)
+                .record(length);
+    }
+
+    /**
+     * 分析阶段的计时器
+     */
+    public static Timer stageTimer(MeterRegistry registry, String stage, String lengthBucket) {
+        return Timer.builder(STAGE)
+                .tag("stage", stage)
+                .tag("length", lengthBucket)
+                .register(registry);
+    }
+
+    /**
+     * 计时执行一个分析阶段
+     */
+    public static <T> T timeStage(MeterRegistry registry, String stage, String lengthBucket, Supplier<T> body) {
+        return stageTimer(registry, stage, lengthBucket).record(body);
+    }
+
+    /**
+     * 记录请求耗时
+     */
+    public static void recordRequest(MeterRegistry registry, Timer.Sample sample, String endpoint, String outcome,
+                                     String lengthBucket) {
+        sample.stop(Timer.builder(REQUEST)
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .tag("length", lengthBucket)
+                .register(registry));
+    }
+
+    /**
+     * 用作 exception 标签的异常类名，去掉异步执行的包装
+     */
+    public static String exceptionTag(Throwable error) {
+        if (error == null) {
+            return "none";
+        }
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getClass().getSimpleName();
+    }
+}
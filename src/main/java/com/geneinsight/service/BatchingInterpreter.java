@@ -0,0 +1,218 @@
+package com.geneinsight.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+/**
+ * 批量解读
+ * 在短时间窗口内收集待解读的基因（达到 maxItems 时立即发送），用一次结构化提示词请求全部解读，
+ * 再按编号拆分回各个基因。窗口内只有一个基因时按原有的单基因提示词发送。
+ * 响应中缺失或无法解析的条目单独失败，由调用方各自回退。返回的解读标明是否来自批量请求，
+ * 调用方据此使用不同的缓存键。
+ */
+public class BatchingInterpreter {
+
+    /**
+     * 待解读的基因及其单独请求时使用的提示词
+     */
+    record Item(String prompt, String geneName, String species, String functionalAnalysis, String diseaseAssociations) {
+    }
+
+    /**
+     * 单个基因的解读，batched 表示来自多个基因合并的批量请求
+     */
+    record Answer(String content, boolean batched) {
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final int maxItems;
+    private final Duration window;
+    private final int maxTokensPerItem;
+    private final int maxTokensPerBatch;
+    /** (提示词, max_tokens) -> 模型回复 */
+    private final BiFunction<String, Integer, Mono<String>> completion;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<Pending> pending = new ArrayList<>();
+    private Disposable scheduledFlush;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder items = new LongAdder();
+    private final LongAdder failedItems = new LongAdder();
+
+    BatchingInterpreter(int maxItems, Duration window, int maxTokensPerItem, int maxTokensPerBatch,
+                        BiFunction<String, Integer, Mono<String>> completion) {
+        this.maxItems = Math.max(1, maxItems);
+        this.window = window;
+        this.maxTokensPerItem = maxTokensPerItem;
+        this.maxTokensPerBatch = Math.max(maxTokensPerItem, maxTokensPerBatch);
+        this.completion = completion;
+    }
+
+    /**
+     * 加入当前批次，返回该基因的解读
+     */
+    Mono<Answer> submit(Item item) {
+        Sinks.One<Answer> sink = Sinks.one();
+        List<Pending> ready = null;
+        lock.lock();
+        try {
+            pending.add(new Pending(item, sink));
+            if (pending.size() >= maxItems) {
+                ready = drain();
+            } else if (pending.size() == 1) {
+                scheduledFlush = Schedulers.parallel().schedule(this::flushWindow, window.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (ready != null) {
+            send(ready);
+        }
+        return sink.asMono();
+    }
+
+    private void flushWindow() {
+        List<Pending> ready;
+        lock.lock();
+        try {
+            ready = pending.isEmpty() ? null : drain();
+        } finally {
+            lock.unlock();
+        }
+        if (ready != null) {
+            send(ready);
+        }
+    }
+
+    private List<Pending> drain() {
+        List<Pending> ready = pending;
+        pending = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.dispose();
+            scheduledFlush = null;
+        }
+        return ready;
+    }
+
+    private void send(List<Pending> batch) {
+        batches.increment();
+        items.add(batch.size());
+
+        if (batch.size() == 1) {
+            Pending only = batch.get(0);
+            completion.apply(only.item.prompt(), maxTokensPerItem).subscribe(
+                    content -> only.sink.tryEmitValue(new Answer(content, false)),
+                    e -> fail(only, e),
+                    () -> only.sink.tryEmitEmpty());
+            return;
+        }
+
+        List<Item> batchItems = batch.stream().map(Pending::item).toList();
+        int maxTokens = Math.min(maxTokensPerItem * batch.size(), maxTokensPerBatch);
+        completion.apply(buildBatchPrompt(batchItems), maxTokens)
+                .defaultIfEmpty("")
+                .subscribe(
+                        content -> dispatch(batch, parseBatchResponse(content)),
+                        e -> batch.forEach(p -> fail(p, e)));
+    }
+
+    private void dispatch(List<Pending> batch, Map<Integer, String> interpretations) {
+        for (int i = 0; i < batch.size(); i++) {
+            Pending p = batch.get(i);
+            String interpretation = interpretations.get(i + 1);
+            if (interpretation == null || interpretation.isBlank()) {
+                fail(p, new IllegalStateException("批量解读响应中缺少 " + p.item.geneName() + " 的结果"));
+            } else {
+                p.sink.tryEmitValue(new Answer(interpretation, true));
+            }
+        }
+    }
+
+    private void fail(Pending p, Throwable e) {
+        failedItems.increment();
+        p.sink.tryEmitError(e);
+    }
+
+    /**
+     * 多个基因的结构化提示词，要求以 JSON 数组按编号返回
+     */
+    static String buildBatchPrompt(List<Item> batch) {
+        StringBuilder prompt = new StringBuilder(
+                "你是一个专业的生物信息学专家。请分别用通俗易懂的语言解释以下 " + batch.size() + " 个基因的分析结果。\n\n");
+        for (int i = 0; i < batch.size(); i++) {
+            Item item = batch.get(i);
+            prompt.append("### 基因 ").append(i + 1).append('\n')
+                    .append("- **基因名称**: ").append(item.geneName()).append('\n')
+                    .append("- **物种**: ").append(item.species()).append('\n')
+                    .append("- **功能分析**: ").append(item.functionalAnalysis()).append('\n')
+                    .append("- **疾病关联**: ").append(item.diseaseAssociations()).append("\n\n");
+        }
+        prompt.append("## 每个基因请解释以下内容：\n")
+                .append("1. 这个基因可能的主要功能是什么？\n")
+                .append("2. 它在生物体中扮演什么重要角色？\n")
+                .append("3. 相关的疾病关联意味着什么？\n")
+                .append("4. 这个基因的研究有什么重要意义？\n\n")
+                .append("请用中文回答，语言要专业但易懂，适合生物学背景的学生理解。\n")
+                .append("只输出一个 JSON 数组，不要输出其他内容，格式为: ")
+                .append("[{\"id\": 基因编号, \"interpretation\": \"该基因的 Markdown 解读\"}]");
+        return prompt.toString();
+    }
+
+    /**
+     * 解析批量响应，容忍代码块包裹和前后多余文字；无法解析时返回空表
+     */
+    static Map<Integer, String> parseBatchResponse(String content) {
+        Map<Integer, String> interpretations = new HashMap<>();
+        int from = content.indexOf('[');
+        int to = content.lastIndexOf(']');
+        if (from < 0 || to <= from) {
+            return interpretations;
+        }
+        try {
+            JsonNode array = OBJECT_MAPPER.readTree(content.substring(from, to + 1));
+            for (JsonNode node : array) {
+                JsonNode id = node.get("id");
+                JsonNode interpretation = node.get("interpretation");
+                if (id != null && id.canConvertToInt() && interpretation != null && interpretation.isTextual()) {
+                    interpretations.putIfAbsent(id.asInt(), interpretation.asText());
+                }
+            }
+        } catch (Exception e) {
+            // 格式错误时全部条目各自回退
+        }
+        return interpretations;
+    }
+
+    Stats stats() {
+        return new Stats(batches.sum(), items.sum(), failedItems.sum());
+    }
+
+    private record Pending(Item item, Sinks.One<Answer> sink) {
+    }
+
+    /**
+     * 批量统计: 上游调用次数、解读条目数、失败（回退）条目数
+     */
+    public record Stats(long batches, long items, long failedItems) {
+
+        public double getAverageBatchSize() {
+            return batches == 0 ? 0.0 : (double) items / batches;
+        }
+    }
+}
@@ -1,170 +1,649 @@
 package com.geneinsight.service;
 
+import com.geneinsight.model.AnalysisField;
+import com.geneinsight.model.GeneAnalysisRequest;
 import com.geneinsight.model.GeneAnalysisResult;
+import com.geneinsight.model.GeneticCode;
+import com.geneinsight.model.MotifHit;
+import com.geneinsight.model.OpenReadingFrame;
+import com.geneinsight.model.PackedSequence;
+import com.geneinsight.model.ReferenceMatch;
+import com.geneinsight.model.SequenceRecord;
+import com.geneinsight.model.SequenceStats;
+import com.geneinsight.model.TandemRepeat;
+import com.geneinsight.model.TranslatedProtein;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class BioinformaticsService {
 
+    /** 页面展示的ORF序列数量上限 */
+    private static final int MAX_DISPLAYED_ORFS = 5;
+
+    /** 报告的最相似参考序列数量上限 */
+    private static final int MAX_REFERENCE_MATCHES = 5;
+
+    /** 认为序列与参考基因相同的估计一致性下限 */
+    private static final double REFERENCE_IDENTITY_THRESHOLD = 0.95;
+
+    private int parallelThreshold = 524_288;
+    private int chunkSize = 131_072;
+
+    @Autowired(required = false)
+    private ResultStore resultStore;
+
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    private OrfFinder orfFinder = new OrfFinder();
+    private ProteinTranslator translator = new ProteinTranslator();
+    private TandemRepeatScanner repeatScanner = new TandemRepeatScanner();
+    private int repeatMinLength = 12;
+    private String repeatThresholds = "";
+    /** 模体库与疾病关联库由配置注入；未注入时（例如在 Spring 之外构造）使用类路径上的默认库 */
+    private MotifScanner motifScanner;
+
+    private GeneDiseaseIndex diseaseIndex;
+    private ReferenceIndex referenceIndex = ReferenceIndex.defaultIndex();
+
+    @Value("${geneinsight.references.k:21}")
+    private int referenceK = ReferenceIndex.DEFAULT_K;
+
+    @Value("${geneinsight.references.scale:4}")
+    private int referenceScale = ReferenceIndex.DEFAULT_SCALE;
+
+    /** 额外的参考序列 FASTA（支持 classpath: 与 file: 前缀），为空时只使用内置示例序列 */
+    @Value("${geneinsight.references.fasta:}")
+    private String referenceFasta = "";
+
+    /** 影响分析结果的配置项，资源文件记录其内容摘要 */
+    private final Map<String, String> configuration = new TreeMap<>();
+    /** 配置指纹，参与结果存储键的计算；配置变化后存储中按旧配置算出的结果不再命中 */
+    private String configFingerprint = "";
+
+    /** 进行中的分析，键为输入摘要与所选字段 */
+    private final SingleFlight<String, GeneAnalysisResult> inFlight = new SingleFlight<>();
+
+    private final ForkJoinPool analysisPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
     /**
      * 分析基因序列
      */
     public GeneAnalysisResult analyzeGeneSequence(String sequence, String geneName, String species) {
-        GeneAnalysisResult result = new GeneAnalysisResult();
-        result.setGeneName(geneName);
-        result.setSpecies(species);
-
-        // 基本序列分析
-        result.setSequenceLength(sequence.length());
-        result.setGcContent(calculateGCContent(sequence));
-        result.setNucleotideComposition(calculateNucleotideComposition(sequence));
-
-        // 蛋白质预测
-        result.setPotentialProteins(predictProteins(sequence));
+        return analyzeGeneSequence(PackedSequence.of(sequence), geneName, species);
+    }
 
-        // 功能分析
-        result.setFunctionalAnalysis(performFunctionalAnalysis(sequence));
+    /**
+     * 分析 2-bit 压缩的基因序列；相同输入的结果从持久化存储中直接读取，
+     * 与进行中的相同分析并发到达的请求等待并共享那次计算的结果
+     */
+    public GeneAnalysisResult analyzeGeneSequence(PackedSequence sequence, String geneName, String species) {
+        byte[] key = resultKey(sequence, geneName, species);
+        return coalesce(key, "all", sequence, () -> analyzeAll(sequence, geneName, species, key));
+    }
 
-        // 疾病关联分析
-        result.setDiseaseAssociations(analyzeDiseaseAssociations(geneName, sequence));
+    /**
+     * 只计算 fields 中选择的部分，未选择的字段为 null；
+     * 存储中已有完整结果时直接裁剪，部分结果不写入存储。翻译产物不进入存储，请求时在结果之上单独翻译
+     */
+    public GeneAnalysisResult analyzeGeneSequence(PackedSequence sequence, String geneName, String species,
+                                                  Set<AnalysisField> fields) {
+        if (fields.containsAll(AnalysisField.ANALYSIS)) {
+            GeneAnalysisResult result = analyzeGeneSequence(sequence, geneName, species);
+            if (fields.contains(AnalysisField.TRANSLATIONS)) {
+                List<OpenReadingFrame> orfs = result.getOpenReadingFrames();
+                result.setTranslatedProteins(translateLongestOrfs(sequence, orfs, 0, orfs.size()));
+            }
+            return result;
+        }
+        byte[] key = resultKey(sequence, geneName, species);
+        String selection = fields.stream().sorted().map(AnalysisField::getKey).collect(Collectors.joining(","));
+        return coalesce(key, selection, sequence, () -> analyzePartial(sequence, geneName, species, fields, key));
+    }
 
-        return result;
+    /**
+     * 结果存储键: 输入与当前分析配置指纹的摘要
+     */
+    public byte[] resultKey(PackedSequence sequence, String geneName, String species) {
+        return ResultStore.digest(sequence, geneName, species, configFingerprint);
     }
 
     /**
-     * 计算GC含量
+     * 按输入摘要和所选字段合并并发的相同分析；每个调用者拿到各自的浅拷贝，
+     * 调用方随后的裁剪和写入解读互不影响
      */
-    private double calculateGCContent(String sequence) {
-        if (sequence == null || sequence.isEmpty()) {
-            return 0.0;
+    private GeneAnalysisResult coalesce(byte[] key, String selection, PackedSequence sequence,
+                                        Supplier<GeneAnalysisResult> analysis) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        SingleFlight.Outcome<GeneAnalysisResult> outcome = inFlight.execute(
+                HexFormat.of().formatHex(key) + '/' + selection, analysis);
+        if (outcome.shared()) {
+            recordAnalysis(sample, sequence, "coalesced", "all".equals(selection) ? "all" : "partial");
         }
+        return outcome.value().copy();
+    }
 
-        long gcCount = sequence.toUpperCase().chars()
-                .filter(ch -> ch == 'G' || ch == 'C')
-                .count();
+    private GeneAnalysisResult analyzeAll(PackedSequence sequence, String geneName, String species, byte[] key) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String lengthBucket = AnalysisMetrics.lengthBucket(sequence.length());
+        if (resultStore == null || !resultStore.isEnabled()) {
+            GeneAnalysisResult result = computeAnalysis(sequence, geneName, species);
+            recordAnalysis(sample, sequence, "computed", "all");
+            return result;
+        }
 
-        return (double) gcCount / sequence.length() * 100;
+        Optional<GeneAnalysisResult> stored = AnalysisMetrics.timeStage(meterRegistry, "store-lookup", lengthBucket,
+                () -> resultStore.find(ResultStore.Namespace.ANALYSIS, key, GeneAnalysisResult.class));
+        if (stored.isPresent()) {
+            recordAnalysis(sample, sequence, "store", "all");
+            return stored.get();
+        }
+        GeneAnalysisResult result = computeAnalysis(sequence, geneName, species);
+        AnalysisMetrics.stageTimer(meterRegistry, "store-write", lengthBucket)
+                .record(() -> resultStore.store(ResultStore.Namespace.ANALYSIS, key, result));
+        recordAnalysis(sample, sequence, "computed", "all");
+        return result;
     }
 
-    /**
-     * 计算核苷酸组成
-     */
-    private Map<String, Integer> calculateNucleotideComposition(String sequence) {
-        Map<String, Integer> composition = new HashMap<>();
-        if (sequence == null || sequence.isEmpty()) {
-            return composition;
+    private GeneAnalysisResult analyzePartial(PackedSequence sequence, String geneName, String species,
+                                              Set<AnalysisField> fields, byte[] key) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (resultStore != null && resultStore.isEnabled()) {
+            Optional<GeneAnalysisResult> stored = AnalysisMetrics.timeStage(meterRegistry, "store-lookup",
+                    AnalysisMetrics.lengthBucket(sequence.length()),
+                    () -> resultStore.find(ResultStore.Namespace.ANALYSIS, key, GeneAnalysisResult.class));
+            if (stored.isPresent()) {
+                List<OpenReadingFrame> orfs = stored.get().getOpenReadingFrames();
+                GeneAnalysisResult result = stored.get().retainFields(fields);
+                if (fields.contains(AnalysisField.TRANSLATIONS)) {
+                    result.setTranslatedProteins(translateLongestOrfs(sequence, orfs, 0, orfs.size()));
+                }
+                recordAnalysis(sample, sequence, "store", "partial");
+                return result;
+            }
         }
+        GeneAnalysisResult result = computeAnalysis(sequence, geneName, species, fields);
+        recordAnalysis(sample, sequence, "computed", "partial");
+        return result;
+    }
 
-        String upperSequence = sequence.toUpperCase();
-        composition.put("A", countOccurrences(upperSequence, 'A'));
-        composition.put("T", countOccurrences(upperSequence, 'T'));
-        composition.put("G", countOccurrences(upperSequence, 'G'));
-        composition.put("C", countOccurrences(upperSequence, 'C'));
+    private void recordAnalysis(Timer.Sample sample, PackedSequence sequence, String source, String fields) {
+        sample.stop(Timer.builder(AnalysisMetrics.ANALYSIS)
+                .tag("source", source)
+                .tag("fields", fields)
+                .tag("length", AnalysisMetrics.lengthBucket(sequence.length()))
+                .register(meterRegistry));
+        AnalysisMetrics.recordSequenceLength(meterRegistry, sequence.length());
+    }
 
-        return composition;
+    private GeneAnalysisResult computeAnalysis(PackedSequence sequence, String geneName, String species) {
+        return computeAnalysis(sequence, geneName, species, AnalysisField.ANALYSIS);
     }
 
-    private int countOccurrences(String str, char ch) {
-        return (int) str.chars().filter(c -> c == ch).count();
+    private GeneAnalysisResult computeAnalysis(PackedSequence sequence, String geneName, String species,
+                                               Set<AnalysisField> fields) {
+        return new StagedAnalysis(sequence, geneName, AnalysisField.withPrerequisites(fields)).build(species, fields);
     }
 
     /**
-     * 预测可能的蛋白质序列
+     * 单次分析的阶段图: 每个阶段惰性求值且只计算一次，只有被请求的字段及其前置阶段会执行
+     * 扫描 → 碱基统计 → 功能分析 ← 模体扫描；扫描 → ORF → ORF 序列 / 翻译产物；扫描 → 串联重复 → 疾病关联 ← 参考相似度
      */
-    private List<String> predictProteins(String sequence) {
-        List<String> proteins = new ArrayList<>();
-        if (sequence == null || sequence.length() < 3) {
-            return proteins;
+    private final class StagedAnalysis {
+        private final String geneName;
+        private final String lengthBucket;
+        private final Memoized<SequenceScan> scan;
+        private final Memoized<SequenceStats> stats;
+        private final Memoized<List<OpenReadingFrame>> orfs;
+        private final Memoized<List<String>> proteins;
+        private final Memoized<List<TranslatedProtein>> translations;
+        private final Memoized<List<TandemRepeat>> repeats;
+        private final Memoized<List<MotifHit>> motifs;
+        private final Memoized<List<ReferenceMatch>> similarity;
+        private final Memoized<String> functionalAnalysis;
+        private final Memoized<String> diseaseAssociations;
+
+        StagedAnalysis(PackedSequence sequence, String geneName, Set<AnalysisField> required) {
+            this.geneName = geneName;
+            this.lengthBucket = AnalysisMetrics.lengthBucket(sequence.length());
+
+            // 序列扫描：超长序列分块并行，其余单线程；一次遍历同时完成所需的 ORF / 重复扫描
+            boolean scanOrfs = required.contains(AnalysisField.ORFS);
+            boolean scanRepeats = required.contains(AnalysisField.REPEATS);
+            scan = timed("scan", () -> sequence.length() > parallelThreshold
+                    ? new ChunkedSequenceAnalyzer(orfFinder, repeatScanner, analysisPool, chunkSize)
+                            .analyze(sequence, scanOrfs, scanRepeats)
+                    : scanSequentially(sequence, scanOrfs, scanRepeats));
+
+            stats = new Memoized<>(() -> scan.get().stats());
+            orfs = new Memoized<>(() -> scan.get().orfs());
+            proteins = timed("proteins", () -> extractLongestOrfs(sequence, orfs.get(), MAX_DISPLAYED_ORFS), orfs);
+            ProteinTranslator proteinTranslator = translator;
+            translations = timed("translations", () -> proteinTranslator.translate(sequence, longestFirst(orfs.get())), orfs);
+            repeats = new Memoized<>(() -> scan.get().repeats());
+            // 模体扫描独立于主扫描，自动机在启动时构建，每次只需一次线性遍历
+            MotifScanner scanner = motifScanner();
+            motifs = timed("motifs", () -> scanner.scan(sequence));
+            // 参考相似度同样独立于主扫描，只查询启动时构建的草图索引
+            ReferenceIndex references = referenceIndex;
+            similarity = timed("similarity", () -> references.search(sequence, MAX_REFERENCE_MATCHES));
+            functionalAnalysis = timed("function", () -> performFunctionalAnalysis(stats.get(), motifs.get()),
+                    stats, motifs);
+            diseaseAssociations = timed("disease",
+                    () -> analyzeDiseaseAssociations(geneName, repeats.get(), similarity.get()), repeats, similarity);
         }
 
-        // 简单的开放阅读框预测
-        String upperSequence = sequence.toUpperCase();
+        /**
+         * 计时的阶段；前置阶段在计时开始前求值，只记录本阶段自身的耗时
+         */
+        private <T> Memoized<T> timed(String stage, Supplier<T> body, Supplier<?>... prerequisites) {
+            return new Memoized<>(() -> {
+                for (Supplier<?> prerequisite : prerequisites) {
+                    prerequisite.get();
+                }
+                return AnalysisMetrics.timeStage(meterRegistry, stage, lengthBucket, body);
+            });
+        }
 
-        // 寻找起始密码子ATG
-        Pattern startCodon = Pattern.compile("ATG");
-        Matcher matcher = startCodon.matcher(upperSequence);
+        GeneAnalysisResult build(String species, Set<AnalysisField> fields) {
+            GeneAnalysisResult result = new GeneAnalysisResult();
+            result.setGeneName(geneName);
+            result.setSpecies(species);
+
+            // 基本序列分析
+            SequenceStats sequenceStats = stats.get();
+            result.setSequenceLength(sequenceStats.getLength());
+            result.setGcContent(sequenceStats.getGcContent());
+            if (fields.contains(AnalysisField.STATS)) {
+                result.setSequenceStats(sequenceStats);
+                result.setNucleotideComposition(sequenceStats.toCompositionMap());
+            }
 
-        while (matcher.find()) {
-            int start = matcher.start();
-            // 从起始密码子开始，寻找终止密码子
-            for (int i = start + 3; i <= upperSequence.length() - 3; i += 3) {
-                String codon = upperSequence.substring(i, i + 3);
-                if (isStopCodon(codon)) {
-                    String orf = upperSequence.substring(start, i + 3);
-                    if (orf.length() >= 30) { // 最小蛋白质长度
-                        proteins.add(orf);
-                    }
-                    break;
-                }
+            // 蛋白质预测
+            if (fields.contains(AnalysisField.ORFS)) {
+                result.setOpenReadingFrames(orfs.get());
             }
+            if (fields.contains(AnalysisField.PROTEINS)) {
+                result.setPotentialProteins(proteins.get());
+            }
+            if (fields.contains(AnalysisField.TRANSLATIONS)) {
+                result.setTranslatedProteins(translations.get());
+            }
+
+            // 串联重复
+            if (fields.contains(AnalysisField.REPEATS)) {
+                result.setTandemRepeats(repeats.get());
+            }
+
+            // 调控元件与酶切位点
+            if (fields.contains(AnalysisField.MOTIFS)) {
+                result.setMotifHits(motifs.get());
+            }
+
+            // 相似参考基因
+            if (fields.contains(AnalysisField.SIMILARITY)) {
+                result.setReferenceMatches(similarity.get());
+            }
+
+            // 功能分析
+            if (fields.contains(AnalysisField.FUNCTION)) {
+                result.setFunctionalAnalysis(functionalAnalysis.get());
+            }
+
+            // 疾病关联分析
+            if (fields.contains(AnalysisField.DISEASE)) {
+                result.setDiseaseAssociations(diseaseAssociations.get());
+            }
+
+            return result;
         }
+    }
 
-        return proteins.subList(0, Math.min(proteins.size(), 5)); // 返回最多5个预测
+    /**
+     * 按长度降序排列 ORF 后翻译其中 [offset, offset + limit) 的部分，结果页每次只翻译当前页
+     */
+    public List<TranslatedProtein> translateLongestOrfs(CharSequence sequence, List<OpenReadingFrame> orfs,
+                                                        int offset, int limit) {
+        List<OpenReadingFrame> sorted = longestFirst(orfs);
+        int from = Math.min(offset, sorted.size());
+        int to = (int) Math.min((long) from + limit, sorted.size());
+        List<OpenReadingFrame> selected = sorted.subList(from, to);
+        ProteinTranslator proteinTranslator = translator;
+        return AnalysisMetrics.timeStage(meterRegistry, "translations", AnalysisMetrics.lengthBucket(sequence.length()),
+                () -> proteinTranslator.translate(sequence, selected));
+    }
+
+    /**
+     * 单线程扫描
+     */
+    SequenceScan scanSequentially(CharSequence sequence, boolean scanOrfs, boolean scanRepeats) {
+        return new SequenceScan(
+                SequenceStatistics.compute(sequence),
+                scanOrfs ? predictProteins(sequence) : List.of(),
+                scanRepeats ? repeatScanner.scan(sequence) : List.of());
+    }
+
+    /**
+     * 预测开放阅读框（六框扫描）
+     */
+    private List<OpenReadingFrame> predictProteins(CharSequence sequence) {
+        return orfFinder.find(sequence);
+    }
+
+    /**
+     * 取最长的若干个ORF序列用于页面展示
+     */
+    private List<String> extractLongestOrfs(CharSequence sequence, List<OpenReadingFrame> orfs, int limit) {
+        return longestFirst(orfs).stream()
+                .limit(limit)
+                .map(orf -> orf.extractFrom(sequence))
+                .toList();
     }
 
-    private boolean isStopCodon(String codon) {
-        return codon.equals("TAA") || codon.equals("TAG") || codon.equals("TGA");
+    private static List<OpenReadingFrame> longestFirst(List<OpenReadingFrame> orfs) {
+        List<OpenReadingFrame> sorted = new ArrayList<>(orfs);
+        sorted.sort(Comparator.comparingInt(OpenReadingFrame::getLength).reversed()
+                .thenComparing(OrfFinder.POSITION_ORDER));
+        return sorted;
     }
 
     /**
      * 执行功能分析
      */
-    private String performFunctionalAnalysis(String sequence) {
+    private String performFunctionalAnalysis(SequenceStats stats, List<MotifHit> motifHits) {
         StringBuilder analysis = new StringBuilder();
 
-        if (sequence.length() > 1000) {
+        if (stats.getLength() > 1000) {
             analysis.append("这是一个较长的基因序列，可能编码一个复杂的蛋白质。");
         } else {
             analysis.append("这是一个相对较短的基因序列。");
         }
 
-        double gcContent = calculateGCContent(sequence);
+        double gcContent = stats.getGcContent();
         if (gcContent > 60) {
             analysis.append(" GC含量较高，表明该基因可能位于基因组的GC富集区域。");
         } else if (gcContent < 40) {
             analysis.append(" GC含量较低，可能影响基因的表达调控。");
         }
 
-        // 添加更多功能分析逻辑...
-        analysis.append(" 序列分析显示可能的编码区域和调控元件。");
+        analysis.append(describeMotifs(motifHits));
 
         return analysis.toString();
     }
 
+    /**
+     * 按模体库顺序汇总各类元件的命中数
+     */
+    private String describeMotifs(List<MotifHit> motifHits) {
+        Map<String, Integer> regulatory = new LinkedHashMap<>();
+        Map<String, Integer> restriction = new LinkedHashMap<>();
+        int islands = 0;
+        int longestIsland = 0;
+        for (MotifScanner.Motif motif : motifScanner().getMotifs()) {
+            (motif.category().equals("restriction") ? restriction : regulatory).putIfAbsent(motif.name(), 0);
+        }
+        for (MotifHit hit : motifHits) {
+            if (hit.getCategory().equals(MotifScanner.CPG_ISLAND_CATEGORY)) {
+                islands++;
+                longestIsland = Math.max(longestIsland, hit.getLength());
+            } else {
+                (hit.getCategory().equals("restriction") ? restriction : regulatory).merge(hit.getName(), 1, Integer::sum);
+            }
+        }
+        regulatory.values().removeIf(count -> count == 0);
+        restriction.values().removeIf(count -> count == 0);
+
+        if (regulatory.isEmpty() && restriction.isEmpty() && islands == 0) {
+            return " 未检测到常见的调控元件或限制性酶切位点。";
+        }
+        StringBuilder description = new StringBuilder();
+        if (!regulatory.isEmpty()) {
+            description.append(" 检测到调控元件: ").append(formatCounts(regulatory)).append("。");
+        }
+        if (islands > 0) {
+            description.append(" 含 ").append(islands).append(" 个 CpG 岛（最长 ").append(longestIsland)
+                    .append(" bp），提示可能的启动子区域。");
+        }
+        if (!restriction.isEmpty()) {
+            description.append(" 限制性酶切位点: ").append(formatCounts(restriction)).append("。");
+        }
+        return description.toString();
+    }
+
+    private static String formatCounts(Map<String, Integer> counts) {
+        StringJoiner joiner = new StringJoiner("、");
+        counts.forEach((name, count) -> joiner.add(name + " ×" + count));
+        return joiner.toString();
+    }
+
     /**
      * 分析疾病关联
      */
-    private String analyzeDiseaseAssociations(String geneName, String sequence) {
-        // 简化的疾病关联分析
-        // 在实际应用中，这里会查询生物医学数据库
+    String analyzeDiseaseAssociations(String geneName, List<TandemRepeat> repeats) {
+        return analyzeDiseaseAssociations(geneName, repeats, List.of());
+    }
 
+    /**
+     * 分析疾病关联，并用序列最相似的参考基因核对输入的基因名称
+     */
+    String analyzeDiseaseAssociations(String geneName, List<TandemRepeat> repeats, List<ReferenceMatch> matches) {
         StringBuilder associations = new StringBuilder();
 
-        // 基于基因名称的简单推断
-        if (geneName.toLowerCase().contains("brca")) {
-            associations.append("该基因与乳腺癌和卵巢癌风险相关。");
-        } else if (geneName.toLowerCase().contains("cf")) {
-            associations.append("该基因与囊性纤维化相关。");
-        } else if (geneName.toLowerCase().contains("huntingtin")) {
-            associations.append("该基因与亨廷顿病相关。");
+        // 按基因符号或别名查询本地关联库
+        GeneDiseaseIndex.Gene gene = diseaseIndex().lookup(geneName);
+        if (gene == null) {
+            associations.append("本地关联库中未收录该基因，需要进一步研究来确定该基因的疾病关联。");
         } else {
-            associations.append("需要进一步研究来确定该基因的疾病关联。");
+            if (!gene.symbol().equalsIgnoreCase(GeneDiseaseIndex.normalize(geneName))) {
+                associations.append(geneName.strip()).append(" 即 ").append(gene.symbol()).append("。");
+            }
+            appendAssociations(associations, gene, GeneDiseaseIndex.Evidence.GERMLINE, "该基因的胚系致病变异与", "相关。");
+            appendAssociations(associations, gene, GeneDiseaseIndex.Evidence.SOMATIC, "该基因的体细胞突变见于", "。");
+            appendAssociations(associations, gene, GeneDiseaseIndex.Evidence.RISK, "该基因的风险等位基因与", "的易感性增加相关。");
         }
 
         // 基于序列特征的推断
-        if (containsRepeats(sequence, "CAG", 40)) {
-            associations.append(" 检测到CAG重复扩展，可能与神经退行性疾病相关。");
+        if (!matches.isEmpty() && matches.get(0).getIdentity() >= REFERENCE_IDENTITY_THRESHOLD) {
+            ReferenceMatch best = matches.get(0);
+            GeneDiseaseIndex.Gene reference = diseaseIndex().lookup(best.getName());
+            String referenceSymbol = reference != null ? reference.symbol() : GeneDiseaseIndex.normalize(best.getName());
+            String identity = String.format("%.1f%%", best.getIdentity() * 100);
+            if (gene != null && gene.symbol().equals(referenceSymbol)) {
+                associations.append(" 序列与参考基因 ").append(best.getName()).append(" 一致（估计一致性 ")
+                        .append(identity).append("），基因名称与序列相符。");
+            } else {
+                associations.append(" 序列与参考基因 ").append(best.getName()).append(" 高度相似（估计一致性 ")
+                        .append(identity).append("），与输入的基因名称不符，请核对。");
+            }
         }
 
+        // 基于重复扩展的推断
+        repeatScanner.findExpansions(repeats).forEach((disorder, repeat) ->
+                associations.append(" 检测到").append(disorder.motif()).append("重复扩展（位置 ")
+                        .append(repeat.getStart() + 1).append("，").append(repeat.getCopies())
+                        .append(" 个拷贝，阈值 ").append(disorder.threshold()).append("），可能与")
+                        .append(disorder.disease()).append("（").append(disorder.gene()).append("）相关。"));
+
         return associations.toString();
     }
 
-    private boolean containsRepeats(String sequence, String repeat, int threshold) {
-        String pattern = "(" + repeat + "){" + threshold + ",}";
-        return Pattern.compile(pattern).matcher(sequence).find();
+    private static void appendAssociations(StringBuilder associations, GeneDiseaseIndex.Gene gene,
+                                           GeneDiseaseIndex.Evidence evidence, String prefix, String suffix) {
+        String diseases = gene.associations().stream()
+                .filter(association -> association.evidence() == evidence)
+                .map(GeneDiseaseIndex.Association::disease)
+                .collect(Collectors.joining("、"));
+        if (!diseases.isEmpty()) {
+            associations.append(prefix).append(diseases).append(suffix);
+        }
+    }
+
+    /**
+     * 超过该长度的序列分块并行扫描
+     */
+    @Value("${geneinsight.analysis.parallel-threshold:524288}")
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @Value("${geneinsight.analysis.chunk-size:131072}")
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 配置重复扫描的最小长度与各重复单元的致病阈值
+     */
+    @Value("${geneinsight.repeats.min-length:12}")
+    public void setRepeatMinLength(int minLength) {
+        this.repeatMinLength = minLength;
+        this.repeatScanner = TandemRepeatScanner.withThresholds(repeatMinLength, repeatThresholds);
+        configure("repeats.min-length", String.valueOf(minLength));
+    }
+
+    @Value("${geneinsight.repeats.thresholds:}")
+    public void setRepeatThresholds(String thresholds) {
+        this.repeatThresholds = thresholds;
+        this.repeatScanner = TandemRepeatScanner.withThresholds(repeatMinLength, repeatThresholds);
+        configure("repeats.thresholds", thresholds);
+    }
+
+    /**
+     * 从配置的模体库构建自动机，启动时构建一次，之后所有请求共享
+     */
+    @Value("${geneinsight.motifs.library:classpath:motifs.tsv}")
+    public void setMotifLibrary(Resource library) throws IOException {
+        byte[] data = readAll(library);
+        this.motifScanner = MotifScanner.load(new ByteArrayInputStream(data));
+        configure("motifs.library", contentDigest(data));
+    }
+
+    /**
+     * 选择 NCBI 遗传密码表，同时决定 ORF 的终止密码子与翻译
+     */
+    @Value("${geneinsight.translation.table:1}")
+    public void setTranslationTable(int table) {
+        GeneticCode geneticCode = GeneticCode.byId(table);
+        this.orfFinder = new OrfFinder(30, OrfFinder.STANDARD_START_CODONS, OrfFinder.NestedPolicy.OUTERMOST, true,
+                geneticCode);
+        this.translator = new ProteinTranslator(geneticCode);
+        configure("translation.table", String.valueOf(table));
+    }
+
+    /**
+     * 按配置重建参考草图索引: 内置示例序列加上可选的 FASTA 参考集，启动时构建一次，之后只读
+     */
+    @PostConstruct
+    public void buildReferenceIndex() throws IOException {
+        configure("references.k", String.valueOf(referenceK));
+        configure("references.scale", String.valueOf(referenceScale));
+        configure("references.fasta", referenceFasta.isBlank() ? ""
+                : contentDigest(new DefaultResourceLoader().getResource(referenceFasta.strip())));
+        boolean defaults = referenceK == ReferenceIndex.DEFAULT_K && referenceScale == ReferenceIndex.DEFAULT_SCALE;
+        if (defaults && referenceFasta.isBlank()) {
+            return;
+        }
+        Map<String, CharSequence> references = new TreeMap<>(GeneAnalysisRequest.EXAMPLE_SEQUENCES);
+        if (!referenceFasta.isBlank()) {
+            Resource fasta = new DefaultResourceLoader().getResource(referenceFasta.strip());
+            try (SequenceRecordReader reader = new SequenceRecordReader(fasta.getInputStream(), Integer.MAX_VALUE)) {
+                SequenceRecord record;
+                while ((record = reader.next()) != null) {
+                    references.put(record.getId(), record.getSequence());
+                }
+            }
+        }
+        this.referenceIndex = new ReferenceIndex(referenceK, referenceScale, references);
+    }
+
+    /**
+     * 加载基因-疾病关联库，只读取一次，解析与内容摘要共用同一份数据
+     */
+    @Value("${geneinsight.diseases.index:classpath:gene-diseases.tsv}")
+    public void setDiseaseIndex(Resource index) throws IOException {
+        byte[] data = readAll(index);
+        this.diseaseIndex = GeneDiseaseIndex.parse(data);
+        configure("diseases.index", contentDigest(data));
+    }
+
+    private MotifScanner motifScanner() {
+        MotifScanner scanner = motifScanner;
+        return scanner != null ? scanner : MotifScanner.defaultLibrary();
+    }
+
+    private GeneDiseaseIndex diseaseIndex() {
+        GeneDiseaseIndex index = diseaseIndex;
+        return index != null ? index : GeneDiseaseIndex.defaultIndex();
+    }
+
+    /**
+     * 记录一项配置并重算指纹；配置只在启动时注入，之后指纹不再变化
+     */
+    private void configure(String name, String value) {
+        configuration.put(name, value);
+        CharSequence[] parts = configuration.entrySet().stream()
+                .flatMap(entry -> Stream.of(entry.getKey(), entry.getValue()))
+                .toArray(CharSequence[]::new);
+        this.configFingerprint = HexFormat.of().formatHex(ResultStore.digest(parts));
+    }
+
+    /**
+     * 资源文件内容的 SHA-256，文件内容变化（而不仅是路径变化）同样使旧结果失效
+     */
+    private static String contentDigest(Resource resource) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream input = new DigestInputStream(resource.getInputStream(), digest)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String contentDigest(byte[] data) {
+        return HexFormat.of().formatHex(sha256().digest(data));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    private static byte[] readAll(Resource resource) throws IOException {
+        try (InputStream input = resource.getInputStream()) {
+            return input.readAllBytes();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        analysisPool.shutdown();
     }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.SequenceStats;
+import com.geneinsight.model.TandemRepeat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 长序列分块并行扫描
+ * 序列按 chunkSize 切分后在 ForkJoinPool 上扫描，再按原顺序两两合并:
+ * 碱基计数直接相加；ORF 通过各读码轨道首尾的起始/终止位点拼接；
+ * 串联重复只报告起点位于本块内的区域，区域本身可延伸进入后续分块。
+ * 未请求的 ORF / 重复扫描直接跳过，对应结果为空列表。
+ */
+class ChunkedSequenceAnalyzer {
+
+    private final OrfFinder orfFinder;
+    private final TandemRepeatScanner repeatScanner;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    ChunkedSequenceAnalyzer(OrfFinder orfFinder, TandemRepeatScanner repeatScanner, ForkJoinPool pool, int chunkSize) {
+        this.orfFinder = orfFinder;
+        this.repeatScanner = repeatScanner;
+        this.pool = pool;
+        this.chunkSize = Math.max(chunkSize, 1024);
+    }
+
+    SequenceScan analyze(CharSequence sequence) {
+        return analyze(sequence, true, true);
+    }
+
+    SequenceScan analyze(CharSequence sequence, boolean scanOrfs, boolean scanRepeats) {
+        ChunkResult result = pool.invoke(new ChunkTask(sequence, 0, sequence.length(), scanOrfs, scanRepeats));
+        result.repeats.sort(TandemRepeatScanner.POSITION_ORDER);
+        return new SequenceScan(result.stats,
+                result.orfs != null ? orfFinder.finish(result.orfs) : List.of(),
+                result.repeats);
+    }
+
+    private static final class ChunkResult {
+        final SequenceStats stats;
+        final OrfFinder.Segment orfs;
+        final List<TandemRepeat> repeats;
+
+        ChunkResult(SequenceStats stats, OrfFinder.Segment orfs, List<TandemRepeat> repeats) {
+            this.stats = stats;
+            this.orfs = orfs;
+            this.repeats = repeats;
+        }
+
+        ChunkResult merge(ChunkResult right) {
+            stats.merge(right.stats);
+            if (orfs != null) {
+                orfs.merge(right.orfs);
+            }
+            repeats.addAll(right.repeats);
+            return this;
+        }
+    }
+
+    private final class ChunkTask extends RecursiveTask<ChunkResult> {
+        private static final long serialVersionUID = 1L;
+
+        /** 任务只在本进程的 ForkJoinPool 中执行，不会被序列化 */
+        private final transient CharSequence sequence;
+        private final int from;
+        private final int to;
+        private final boolean scanOrfs;
+        private final boolean scanRepeats;
+
+        ChunkTask(CharSequence sequence, int from, int to, boolean scanOrfs, boolean scanRepeats) {
+            this.sequence = sequence;
+            this.from = from;
+            this.to = to;
+            this.scanOrfs = scanOrfs;
+            this.scanRepeats = scanRepeats;
+        }
+
+        @Override
+        protected ChunkResult compute() {
+            if (to - from <= chunkSize) {
+                return new ChunkResult(
+                        SequenceStatistics.compute(sequence, from, to),
+                        scanOrfs ? orfFinder.scanChunk(sequence, from, to) : null,
+                        scanRepeats ? repeatScanner.scan(sequence, from, to) : new ArrayList<>());
+            }
+            int middle = from + (to - from) / 2;
+            ChunkTask left = new ChunkTask(sequence, from, middle, scanOrfs, scanRepeats);
+            ChunkTask right = new ChunkTask(sequence, middle, to, scanOrfs, scanRepeats);
+            right.fork();
+            ChunkResult leftResult = left.compute();
+            return leftResult.merge(right.join());
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.geneinsight.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DeepSeek chat/completions 客户端
+ * 固定大小的 Reactor Netty 连接池；信号量限制同时进行的调用数，超出时立即拒绝；
+ * 每次调用带超时，失败计入熔断器，熔断期间直接失败不再访问上游；
+ * 可选对冲请求: 非流式调用超过 hedgeDelay 仍未返回时再发一次，取先返回的结果。
+ * 所有失败都以错误信号返回，由调用方回退到模拟响应。
+ * 每次调用的耗时、结果与 token 用量记录到 MeterRegistry。
+ */
+public class DeepSeekClient {
+
+    private static final String STREAM_DONE = "[DONE]";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * 连接与调用参数；hedgeDelay 为 0 时不对冲
+     */
+    public record Settings(Duration timeout, Duration connectTimeout, int maxConnections,
+                           Duration pendingAcquireTimeout, int maxConcurrentCalls, Duration hedgeDelay) {
+    }
+
+    private final String apiKey;
+    private final Settings settings;
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore permits;
+    private final MeterRegistry meterRegistry;
+
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder shortCircuited = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+
+    public DeepSeekClient(String baseUrl, String apiKey, Settings settings, CircuitBreaker circuitBreaker) {
+        this(baseUrl, apiKey, settings, circuitBreaker, Metrics.globalRegistry);
+    }
+
+    public DeepSeekClient(String baseUrl, String apiKey, Settings settings, CircuitBreaker circuitBreaker,
+                          MeterRegistry meterRegistry) {
+        this.apiKey = apiKey;
+        this.settings = settings;
+        this.circuitBreaker = circuitBreaker;
+        this.permits = new Semaphore(settings.maxConcurrentCalls());
+        this.meterRegistry = meterRegistry;
+        registerMeters();
+
+        this.connectionProvider = ConnectionProvider.builder("deepseek")
+                .maxConnections(settings.maxConnections())
+                .pendingAcquireMaxCount(settings.maxConnections() * 2)
+                .pendingAcquireTimeout(settings.pendingAcquireTimeout())
+                .maxIdleTime(Duration.ofSeconds(30))
+                .maxLifeTime(Duration.ofMinutes(5))
+                .evictInBackground(Duration.ofSeconds(30))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.connectTimeout().toMillis())
+                // 等待响应及流式响应中两次读取之间的最长间隔
+                .responseTimeout(settings.timeout())
+                .compress(true);
+
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+    }
+
+    /**
+     * 非流式调用，返回第一条回复内容
+     */
+    public Mono<String> complete(Map<String, Object> requestBody) {
+        if (settings.hedgeDelay() == null || settings.hedgeDelay().isZero()) {
+            return call(requestBody);
+        }
+        return Mono.defer(() -> {
+            // 主请求拿不到许可时直接失败，不等待对冲延迟
+            String rejection = acquire();
+            if (rejection != null) {
+                return Mono.error(new RejectedExecutionException(rejection));
+            }
+            // 对冲请求拿到许可后才计数
+            Mono<String> hedge = Mono.delay(settings.hedgeDelay())
+                    .then(call(requestBody, hedges::increment));
+            // 先返回内容者胜出，另一个被取消；任一方失败时继续等待另一方，两方都失败时传出主请求的错误
+            return Mono.firstWithValue(send(requestBody, releaseOnce()), hedge)
+                    .onErrorResume(NoSuchElementException.class, e -> {
+                        List<Throwable> errors = Exceptions.unwrapMultiple(e.getCause());
+                        Throwable primary = errors.isEmpty() ? e : errors.get(0);
+                        // 主请求没有回复内容时与未对冲的调用一样返回空
+                        return primary instanceof NoSuchElementException ? Mono.empty() : Mono.error(primary);
+                    });
+        });
+    }
+
+    private Mono<String> call(Map<String, Object> requestBody) {
+        return call(requestBody, () -> {});
+    }
+
+    /**
+     * 获取熔断器与并发许可后发起一次调用，获取成功时先执行 onAcquired
+     */
+    private Mono<String> call(Map<String, Object> requestBody, Runnable onAcquired) {
+        return Mono.defer(() -> {
+            String rejection = acquire();
+            if (rejection != null) {
+                return Mono.error(new RejectedExecutionException(rejection));
+            }
+            onAcquired.run();
+            return send(requestBody, releaseOnce());
+        });
+    }
+
+    /**
+     * 使用已获取的许可发起一次调用，结束或取消时通过 release 归还许可
+     */
+    private Mono<String> send(Map<String, Object> requestBody, Runnable release) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return webClient.post()
+                    .uri("/chat/completions")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                    .bodyValue(requestBody)
+                    .retrieve()
+                    .bodyToMono(JsonNode.class)
+                    .doOnNext(response -> recordUsage(response.path("usage")))
+                    .mapNotNull(DeepSeekClient::extractContent)
+                    .timeout(settings.timeout())
+                    .doOnSuccess(value -> recordSuccess(sample, "complete"))
+                    .doOnError(e -> recordFailure(sample, "complete", e))
+                    .doOnCancel(() -> recordCancel(sample, "complete"))
+                    .doOnTerminate(release)
+                    .doOnCancel(release);
+        });
+    }
+
+    /**
+     * 以 SSE 流式调用，逐段返回增量内容；timeout 作用于相邻两段之间的间隔
+     */
+    public Flux<String> stream(Map<String, Object> requestBody) {
+        return Flux.defer(() -> {
+            String rejection = acquire();
+            if (rejection != null) {
+                return Flux.error(new RejectedExecutionException(rejection));
+            }
+            Runnable release = releaseOnce();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return webClient.post()
+                    .uri("/chat/completions")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .bodyValue(requestBody)
+                    .retrieve()
+                    .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+                    .mapNotNull(ServerSentEvent::data)
+                    .takeWhile(data -> !STREAM_DONE.equals(data.trim()))
+                    .mapNotNull(DeepSeekClient::parseChunk)
+                    // 请求 include_usage 时最后一个数据块携带整次调用的用量
+                    .doOnNext(chunk -> recordUsage(chunk.path("usage")))
+                    .mapNotNull(DeepSeekClient::extractDelta)
+                    .timeout(settings.timeout())
+                    .doOnComplete(() -> recordSuccess(sample, "stream"))
+                    .doOnError(e -> recordFailure(sample, "stream", e))
+                    .doOnCancel(() -> recordCancel(sample, "stream"))
+                    .doOnTerminate(release)
+                    .doOnCancel(release);
+        });
+    }
+
+    /**
+     * 获取许可，失败时返回拒绝原因
+     */
+    private String acquire() {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            shortCircuited.increment();
+            return "DeepSeek 熔断器已打开，暂停调用";
+        }
+        if (!permits.tryAcquire()) {
+            circuitBreaker.release();
+            rejected.increment();
+            return "DeepSeek 并发调用数已达上限 (" + settings.maxConcurrentCalls() + ")";
+        }
+        return null;
+    }
+
+    /**
+     * 归还并发许可，在结果传给下游之前执行；结束与取消都可能触发，只归还一次
+     */
+    private Runnable releaseOnce() {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+    }
+
+    private void recordSuccess(Timer.Sample sample, String mode) {
+        successes.increment();
+        circuitBreaker.onSuccess();
+        sample.stop(requestTimer(mode, "success", "none"));
+    }
+
+    private void recordFailure(Timer.Sample sample, String mode, Throwable error) {
+        failures.increment();
+        circuitBreaker.onFailure();
+        sample.stop(requestTimer(mode, "error", AnalysisMetrics.exceptionTag(error)));
+    }
+
+    private void recordCancel(Timer.Sample sample, String mode) {
+        circuitBreaker.release();
+        sample.stop(requestTimer(mode, "cancelled", "none"));
+    }
+
+    private Timer requestTimer(String mode, String outcome, String exception) {
+        return Timer.builder(AnalysisMetrics.LLM_REQUEST)
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 记录响应中 usage 字段的 token 用量，没有该字段时忽略
+     */
+    private void recordUsage(JsonNode usage) {
+        recordTokens("prompt", usage.path("prompt_tokens"));
+        recordTokens("completion", usage.path("completion_tokens"));
+    }
+
+    private void recordTokens(String type, JsonNode tokens) {
+        if (tokens.canConvertToLong()) {
+            DistributionSummary.builder(AnalysisMetrics.LLM_TOKENS)
+                    .baseUnit("tokens")
+                    .tag("type", type)
+                    .register(meterRegistry)
+                    .record(tokens.asLong());
+        }
+    }
+
+    /**
+     * 熔断状态（0 关闭、1 打开、2 半开）、进行中的调用数及累计计数
+     */
+    private void registerMeters() {
+        Gauge.builder("geneinsight.llm.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .register(meterRegistry);
+        Gauge.builder("geneinsight.llm.in-flight", permits,
+                        semaphore -> settings.maxConcurrentCalls() - semaphore.availablePermits())
+                .register(meterRegistry);
+        FunctionCounter.builder("geneinsight.llm.rejected", rejected, LongAdder::sum)
+                .tag("reason", "concurrency")
+                .register(meterRegistry);
+        FunctionCounter.builder("geneinsight.llm.rejected", shortCircuited, LongAdder::sum)
+                .tag("reason", "circuit-open")
+                .register(meterRegistry);
+        FunctionCounter.builder("geneinsight.llm.hedges", hedges, LongAdder::sum)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 解析响应中的第一条回复
+     */
+    static String extractContent(JsonNode response) {
+        JsonNode content = response.path("choices").path(0).path("message").path("content");
+        return content.isTextual() ? content.asText() : null;
+    }
+
+    /**
+     * 解析流式响应的一个数据块，无法解析时返回 null
+     */
+    static JsonNode parseChunk(String data) {
+        try {
+            return OBJECT_MAPPER.readTree(data);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 解析流式响应中一个数据块的增量内容
+     */
+    static String extractDelta(JsonNode chunk) {
+        JsonNode content = chunk.path("choices").path(0).path("delta").path("content");
+        return content.isTextual() && !content.asText().isEmpty() ? content.asText() : null;
+    }
+
+    public Stats stats() {
+        return new Stats(circuitBreaker.getState(), settings.maxConcurrentCalls() - permits.availablePermits(),
+                successes.sum(), failures.sum(), rejected.sum(), shortCircuited.sum(), hedges.sum());
+    }
+
+    public void close() {
+        connectionProvider.dispose();
+    }
+
+    /**
+     * 客户端统计: 熔断状态、进行中的调用数、成功/失败次数、因并发上限或熔断被拒绝的次数、对冲请求数
+     */
+    public record Stats(CircuitBreaker.State circuitState, int inFlight, long successes, long failures,
+                        long rejected, long shortCircuited, long hedges) {
+    }
+}
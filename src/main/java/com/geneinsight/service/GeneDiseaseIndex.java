@@ -0,0 +1,200 @@
+package com.geneinsight.service;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 基因-疾病关联索引，从本地 TSV 关联库加载，按基因符号或别名精确查询
+ * 关联库只有几十 KB，启动时整体读入堆内解析。
+ * 键统一转为大写后放入开放寻址哈希表（线性探测），查询为 O(1)，
+ * 官方符号优先于别名：某个别名恰好是另一个基因的符号时，按符号解析。
+ */
+public final class GeneDiseaseIndex {
+
+    public static final String DEFAULT_INDEX = "gene-diseases.tsv";
+
+    /**
+     * 关联证据类型
+     */
+    public enum Evidence {
+        /** 胚系致病变异 */
+        GERMLINE,
+        /** 肿瘤中的体细胞突变 */
+        SOMATIC,
+        /** 风险等位基因 */
+        RISK
+    }
+
+    public record Association(String disease, Evidence evidence) {}
+
+    public record Gene(String symbol, List<String> aliases, List<Association> associations) {}
+
+    private final Gene[] genes;
+    private final String[] keys;
+    private final int[] slots;
+    private final int mask;
+
+    GeneDiseaseIndex(List<Gene> genes) {
+        this.genes = genes.toArray(new Gene[0]);
+        int keyCount = genes.stream().mapToInt(gene -> 1 + gene.aliases().size()).sum();
+        // 装载因子不超过 0.5
+        int capacity = Integer.highestOneBit(Math.max(keyCount, 1) * 2 - 1) << 1;
+        this.keys = new String[capacity];
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < this.genes.length; i++) {
+            insert(this.genes[i].symbol(), i);
+        }
+        for (int i = 0; i < this.genes.length; i++) {
+            for (String alias : this.genes[i].aliases()) {
+                insert(alias, i);
+            }
+        }
+    }
+
+    /**
+     * 按基因符号或别名查询，大小写不敏感；名称后附带的描述（空格或括号之后）会被忽略
+     *
+     * @return 对应的基因，未收录时返回 null
+     */
+    public Gene lookup(String name) {
+        if (name == null) {
+            return null;
+        }
+        String key = normalize(name);
+        if (key.isEmpty()) {
+            return null;
+        }
+        for (int slot = hash(key) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot].equals(key)) {
+                return genes[slots[slot]];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 收录的基因数
+     */
+    public int size() {
+        return genes.length;
+    }
+
+    private void insert(String name, int gene) {
+        String key = normalize(name);
+        int slot = hash(key) & mask;
+        while (keys[slot] != null) {
+            if (keys[slot].equals(key)) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        slots[slot] = gene;
+    }
+
+    static String normalize(String name) {
+        String key = name.strip();
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (Character.isWhitespace(c) || c == '(' || c == '（') {
+                key = key.substring(0, i);
+                break;
+            }
+        }
+        return key.toUpperCase(Locale.ROOT);
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 读入并解析关联库
+     */
+    public static GeneDiseaseIndex load(Resource resource) throws IOException {
+        try (InputStream input = resource.getInputStream()) {
+            return parse(input.readAllBytes());
+        }
+    }
+
+    /**
+     * 解析关联库，每行一条关联: 符号<TAB>别名（逗号分隔，可为空）<TAB>疾病<TAB>证据类型，# 开头为注释
+     * 同一基因可出现在多行，别名取各行的并集。
+     */
+    static GeneDiseaseIndex parse(byte[] data) {
+        String text = new String(data, StandardCharsets.UTF_8);
+        Map<String, Set<String>> aliases = new LinkedHashMap<>();
+        Map<String, List<Association>> associations = new LinkedHashMap<>();
+        int lineNumber = 0;
+        int start = 0;
+        while (start < text.length()) {
+            int end = start;
+            while (end < text.length() && text.charAt(end) != '\n') {
+                end++;
+            }
+            lineNumber++;
+            String line = text.substring(start, end).stripTrailing();
+            start = end + 1;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split("\t", -1);
+            if (columns.length != 4 || columns[0].isBlank() || columns[2].isBlank()) {
+                throw new IllegalArgumentException("疾病关联库第 " + lineNumber + " 行格式错误，应为 符号<TAB>别名<TAB>疾病<TAB>证据类型");
+            }
+            Evidence evidence;
+            try {
+                evidence = Evidence.valueOf(columns[3].strip().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("疾病关联库第 " + lineNumber + " 行证据类型未知: " + columns[3]);
+            }
+            String symbol = columns[0].strip();
+            Set<String> geneAliases = aliases.computeIfAbsent(symbol, s -> new LinkedHashSet<>());
+            for (String alias : columns[1].split(",")) {
+                if (!alias.isBlank()) {
+                    geneAliases.add(alias.strip());
+                }
+            }
+            associations.computeIfAbsent(symbol, s -> new ArrayList<>())
+                    .add(new Association(columns[2].strip(), evidence));
+        }
+        List<Gene> genes = new ArrayList<>(associations.size());
+        associations.forEach((symbol, list) ->
+                genes.add(new Gene(symbol, List.copyOf(aliases.get(symbol)), List.copyOf(list))));
+        return new GeneDiseaseIndex(genes);
+    }
+
+    /**
+     * 类路径上的默认关联库
+     */
+    public static GeneDiseaseIndex defaultIndex() {
+        return DefaultIndex.INSTANCE;
+    }
+
+    private static final class DefaultIndex {
+        static final GeneDiseaseIndex INSTANCE;
+
+        static {
+            try (InputStream input = GeneDiseaseIndex.class.getClassLoader().getResourceAsStream(DEFAULT_INDEX)) {
+                if (input == null) {
+                    throw new IllegalStateException("找不到默认疾病关联库: " + DEFAULT_INDEX);
+                }
+                INSTANCE = parse(input.readAllBytes());
+            } catch (IOException e) {
+                throw new IllegalStateException("无法加载默认疾病关联库", e);
+            }
+        }
+    }
+}
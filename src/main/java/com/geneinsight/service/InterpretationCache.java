@@ -0,0 +1,227 @@
+package com.geneinsight.service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 大模型解读结果缓存
+ * 以提示词和模型参数的 SHA-256 作为键（批量请求得到的解读使用单独的键），按条目数和字节数限制容量，过期时间 + LRU 淘汰；
+ * 相同键的并发请求共享同一次上游调用（single-flight）。只缓存上游成功返回的结果。
+ */
+public class InterpretationCache {
+
+    /** 单个条目的固定开销估算（字节） */
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ConcurrentHashMap<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Flux<String>> inFlightStreams = new ConcurrentHashMap<>();
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public InterpretationCache(int maxEntries, long maxBytes, Duration ttl) {
+        this(maxEntries, maxBytes, ttl, System::nanoTime);
+    }
+
+    InterpretationCache(int maxEntries, long maxBytes, Duration ttl, LongSupplier nanoClock) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 计算缓存键: 模型参数与完整提示词的 SHA-256
+     */
+    public static String key(String model, int maxTokens, double temperature, String prompt) {
+        return digest(model + '\n' + maxTokens + '\n' + temperature + '\n', prompt);
+    }
+
+    /**
+     * 批量请求中得到的单个基因解读的键: 批量提示词和 max_tokens 随同批基因变化，
+     * 以该基因单独请求时的提示词加批量标记作为键，与单独请求的结果互不混用
+     */
+    public static String batchKey(String model, double temperature, String prompt) {
+        return digest("batch\n" + model + '\n' + temperature + '\n', prompt);
+    }
+
+    private static String digest(String params, String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(params.getBytes(StandardCharsets.UTF_8));
+            digest.update(prompt.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    /**
+     * 命中时直接返回缓存值，否则加入或发起对应键的上游调用
+     */
+    public Mono<String> get(String key, Supplier<Mono<String>> loader) {
+        return get(List.of(key), () -> loader.get().map(value -> new Keyed(key, value)));
+    }
+
+    /**
+     * 依次查询 keys，任一命中时直接返回；全部未命中时按第一个键加入或发起上游调用，
+     * 结果写入 loader 返回的键（例如批量请求得到的结果写入批量键）
+     */
+    public Mono<String> get(List<String> keys, Supplier<Mono<Keyed>> loader) {
+        for (String key : keys) {
+            String cached = lookup(key);
+            if (cached != null) {
+                hits.increment();
+                return Mono.just(cached);
+            }
+        }
+
+        boolean[] created = new boolean[1];
+        Mono<String> shared = inFlight.computeIfAbsent(keys.get(0), k -> {
+            created[0] = true;
+            return Mono.defer(loader)
+                    .doOnNext(keyed -> put(keyed.key(), keyed.value()))
+                    .map(Keyed::value)
+                    .doFinally(signal -> inFlight.remove(k))
+                    .cache();
+        });
+        if (created[0]) {
+            misses.increment();
+        } else {
+            coalesced.increment();
+        }
+        return shared;
+    }
+
+    /**
+     * 流式版本: 命中时一次返回完整结果，否则加入或发起对应键的流式调用。
+     * 后加入的订阅者先收到已输出的片段再继续接收后续片段；所有订阅者都取消时上游调用随之取消。
+     * loader 负责在完整输出结束后写入缓存
+     */
+    public Flux<String> stream(String key, Supplier<Flux<String>> loader) {
+        String cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return Flux.just(cached);
+        }
+
+        boolean[] created = new boolean[1];
+        Flux<String> shared = inFlightStreams.computeIfAbsent(key, k -> {
+            created[0] = true;
+            return Flux.defer(loader)
+                    .doFinally(signal -> inFlightStreams.remove(k))
+                    .replay()
+                    .refCount();
+        });
+        if (created[0]) {
+            misses.increment();
+        } else {
+            coalesced.increment();
+        }
+        return shared;
+    }
+
+    private String lookup(String key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (nanoClock.getAsLong() - entry.createdAt > ttlNanos) {
+                entries.remove(key);
+                bytes -= entry.size;
+                evictions.increment();
+                return null;
+            }
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 写入完整结果（流式解读结束后调用）
+     */
+    public void put(String key, String value) {
+        Entry entry = new Entry(value, nanoClock.getAsLong(), ENTRY_OVERHEAD + 2L * (key.length() + value.length()));
+        if (entry.size > maxBytes) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                bytes -= previous.size;
+            }
+            bytes += entry.size;
+
+            // 按访问顺序淘汰最久未使用的条目
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+                bytes -= eldest.next().getValue().size;
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 当前统计快照
+     */
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(hits.sum(), misses.sum(), coalesced.sum(), evictions.sum(), entries.size(), bytes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 加载结果及其应写入的缓存键
+     */
+    public record Keyed(String key, String value) {
+    }
+
+    private record Entry(String value, long createdAt, long size) {
+    }
+
+    /**
+     * 缓存统计: 命中、未命中（发起上游调用）、合并到进行中调用的请求、淘汰数及当前容量
+     */
+    public record Stats(long hits, long misses, long coalesced, long evictions, int entries, long bytes) {
+
+        public double getHitRate() {
+            long requests = hits + misses + coalesced;
+            return requests == 0 ? 0.0 : (double) (hits + coalesced) / requests;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.Nucleotides;
+
+import java.util.function.LongConsumer;
+
+/**
+ * 规范 k-mer 编码
+ * 滚动维护正链与反向互补链的 2-bit 编码（首碱基在高位），两者较小者为规范 k-mer，
+ * 遇到非 ACGT 碱基时重新开始计数；整个过程不创建任何字符串。
+ */
+public final class Kmers {
+
+    /** 2-bit 编码放入 long 的最大 k，保留最高两位使编码非负 */
+    public static final int MAX_K = 31;
+    /** 频率向量按编码直接寻址，长度为 4^k */
+    public static final int MAX_PROFILE_K = 12;
+
+    private Kmers() {}
+
+    /**
+     * 依次输出序列中每个有效位置的规范 k-mer 编码
+     */
+    public static void forEachCanonical(CharSequence sequence, int k, LongConsumer consumer) {
+        if (k < 1 || k > MAX_K) {
+            throw new IllegalArgumentException("k 必须在 1-" + MAX_K + " 之间: " + k);
+        }
+        long mask = (1L << (2 * k)) - 1;
+        int shift = 2 * (k - 1);
+        long forward = 0;
+        long reverse = 0;
+        int valid = 0;
+        for (int i = 0; i < sequence.length(); i++) {
+            int base = Nucleotides.code(sequence.charAt(i));
+            if (base < 0 || base > 3) {
+                valid = 0;
+                continue;
+            }
+            forward = ((forward << 2) | base) & mask;
+            reverse = (reverse >>> 2) | ((long) Nucleotides.complement(base) << shift);
+            if (++valid >= k) {
+                consumer.accept(Math.min(forward, reverse));
+            }
+        }
+    }
+
+    /**
+     * 规范 k-mer 频率向量，下标为规范编码；非规范编码的位置始终为 0
+     */
+    public static int[] frequencies(CharSequence sequence, int k) {
+        if (k < 1 || k > MAX_PROFILE_K) {
+            throw new IllegalArgumentException("频率向量的 k 必须在 1-" + MAX_PROFILE_K + " 之间: " + k);
+        }
+        int[] counts = new int[1 << (2 * k)];
+        forEachCanonical(sequence, k, code -> counts[(int) code]++);
+        return counts;
+    }
+
+    /**
+     * k-mer 编码的 64 位哈希 (MurmurHash3 fmix64)，输出在整个 long 范围内近似均匀
+     */
+    public static long hash(long code) {
+        long h = code;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,97 +1,325 @@
 package com.geneinsight.service;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class LLMService {
 
+    private static final Logger log = LoggerFactory.getLogger(LLMService.class);
+
+    private static final String MODEL = "deepseek-chat";
+    private static final int MAX_TOKENS = 1000;
+    private static final double TEMPERATURE = 0.7;
+
     @Value("${deepseek.api.key:}")
     private String deepseekApiKey;
 
     @Value("${deepseek.api.url:https://api.deepseek.com/v1}")
     private String deepseekApiUrl;
 
-    private final WebClient webClient;
-    private boolean apiAvailable = false;
+    @Value("${deepseek.api.timeout:30s}")
+    private Duration timeout = Duration.ofSeconds(30);
 
-    public LLMService() {
-        this.webClient = WebClient.builder()
-                .baseUrl(deepseekApiUrl)
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .build();
-    }
+    @Value("${deepseek.cache.max-entries:1000}")
+    private int cacheMaxEntries = 1000;
+
+    @Value("${deepseek.cache.max-size:16MB}")
+    private DataSize cacheMaxSize = DataSize.ofMegabytes(16);
+
+    @Value("${deepseek.cache.ttl:24h}")
+    private Duration cacheTtl = Duration.ofHours(24);
+
+    @Value("${deepseek.batch.enabled:true}")
+    private boolean batchEnabled = true;
+
+    @Value("${deepseek.batch.max-items:8}")
+    private int batchMaxItems = 8;
+
+    @Value("${deepseek.batch.window:50ms}")
+    private Duration batchWindow = Duration.ofMillis(50);
+
+    @Value("${deepseek.batch.max-tokens:8000}")
+    private int batchMaxTokens = 8000;
+
+    @Value("${deepseek.client.connect-timeout:5s}")
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    @Value("${deepseek.client.max-connections:32}")
+    private int maxConnections = 32;
+
+    @Value("${deepseek.client.pending-acquire-timeout:5s}")
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+    @Value("${deepseek.client.max-concurrent-calls:16}")
+    private int maxConcurrentCalls = 16;
+
+    @Value("${deepseek.client.hedge-delay:0s}")
+    private Duration hedgeDelay = Duration.ZERO;
+
+    @Value("${deepseek.circuit.window-size:20}")
+    private int circuitWindowSize = 20;
+
+    @Value("${deepseek.circuit.minimum-calls:5}")
+    private int circuitMinimumCalls = 5;
+
+    @Value("${deepseek.circuit.failure-rate-threshold:0.5}")
+    private double circuitFailureRateThreshold = 0.5;
+
+    @Value("${deepseek.circuit.open-duration:30s}")
+    private Duration circuitOpenDuration = Duration.ofSeconds(30);
+
+    @Autowired(required = false)
+    private ResultStore resultStore;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
 
+    private DeepSeekClient client;
+    private InterpretationCache cache;
+    private BatchingInterpreter batchingInterpreter;
+    private boolean apiAvailable = false;
+
+    /**
+     * 依赖注入完成后再创建 WebClient，确保使用配置的 API 地址
+     */
+    @PostConstruct
     public void init() {
+        this.client = new DeepSeekClient(deepseekApiUrl, deepseekApiKey,
+                new DeepSeekClient.Settings(timeout, connectTimeout, maxConnections, pendingAcquireTimeout,
+                        maxConcurrentCalls, hedgeDelay),
+                new CircuitBreaker(circuitWindowSize, circuitMinimumCalls, circuitFailureRateThreshold,
+                        circuitOpenDuration),
+                meterRegistry);
+        this.cache = new InterpretationCache(cacheMaxEntries, cacheMaxSize.toBytes(), cacheTtl);
+        this.batchingInterpreter = new BatchingInterpreter(batchEnabled ? batchMaxItems : 1, batchWindow,
+                MAX_TOKENS, batchMaxTokens, this::requestCompletion);
+
+        registerCacheMeters();
+
         // 检查API密钥
         if (deepseekApiKey != null && !deepseekApiKey.trim().isEmpty()) {
             this.apiAvailable = true;
-            System.out.println("✅ DeepSeek API 配置成功");
-            System.out.println("✅ API URL: " + deepseekApiUrl);
+            log.info("DeepSeek API 配置成功 url={}", deepseekApiUrl);
         } else {
-            System.out.println("⚠️ 未配置DeepSeek API密钥，将使用模拟响应");
+            log.warn("未配置DeepSeek API密钥，将使用模拟响应");
             this.apiAvailable = false;
         }
     }
 
+    private void registerCacheMeters() {
+        FunctionCounter.builder("geneinsight.llm.cache.requests", cache, c -> c.stats().hits())
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("geneinsight.llm.cache.requests", cache, c -> c.stats().misses())
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("geneinsight.llm.cache.requests", cache, c -> c.stats().coalesced())
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("geneinsight.llm.cache.entries", cache, c -> c.stats().entries())
+                .register(meterRegistry);
+    }
+
     /**
-     * 使用DeepSeek大语言模型解释基因分析结果
+     * 使用DeepSeek大语言模型解释基因分析结果（阻塞调用，供非Web线程使用；在虚拟线程上等待时不占用载体线程）
      */
     public String interpretGeneAnalysis(String geneName, String species,
                                         String functionalAnalysis,
                                         String diseaseAssociations) {
+        return interpretGeneAnalysisAsync(geneName, species, functionalAnalysis, diseaseAssociations).block();
+    }
+
+    /**
+     * 异步解释基因分析结果，调用期间不占用请求线程
+     */
+    public CompletableFuture<String> interpretGeneAnalysisFuture(String geneName, String species,
+                                                                 String functionalAnalysis,
+                                                                 String diseaseAssociations) {
+        return interpretGeneAnalysisAsync(geneName, species, functionalAnalysis, diseaseAssociations).toFuture();
+    }
+
+    /**
+     * 异步解释基因分析结果；超时或调用失败时回退到模拟响应
+     */
+    public Mono<String> interpretGeneAnalysisAsync(String geneName, String species,
+                                                   String functionalAnalysis,
+                                                   String diseaseAssociations) {
         if (!apiAvailable) {
-            return generateMockInterpretation(geneName, species, functionalAnalysis, diseaseAssociations);
+            recordFallback("no-api-key", null);
+            return Mono.just(generateMockInterpretation(geneName, species, functionalAnalysis, diseaseAssociations));
         }
 
-        try {
-            // 构建请求体
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", "deepseek-chat");  // DeepSeek 模型
-
-            // 构建消息
-            Map<String, String> message = new HashMap<>();
-            message.put("role", "user");
-            message.put("content", buildInterpretationPrompt(geneName, species, functionalAnalysis, diseaseAssociations));
-
-            requestBody.put("messages", new Map[]{message});
-            requestBody.put("max_tokens", 1000);
-            requestBody.put("temperature", 0.7);
-            requestBody.put("stream", false);
-
-            // 调用DeepSeek API
-            Map<String, Object> response = webClient.post()
-                    .uri("/chat/completions")
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + deepseekApiKey)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-
-            // 解析响应
-            if (response != null && response.containsKey("choices")) {
-                java.util.List<Map<String, Object>> choices = (java.util.List<Map<String, Object>>) response.get("choices");
-                if (!choices.isEmpty()) {
-                    Map<String, Object> firstChoice = choices.get(0);
-                    Map<String, Object> messageContent = (Map<String, Object>) firstChoice.get("message");
-                    return (String) messageContent.get("content");
-                }
+        // 相同提示词和模型参数的结果直接复用，并发的相同请求共享一次调用
+        String prompt = buildInterpretationPrompt(geneName, species, functionalAnalysis, diseaseAssociations);
+        String cacheKey = InterpretationCache.key(MODEL, MAX_TOKENS, TEMPERATURE, prompt);
+        // 批量请求得到的解读存放在单独的键下，只在启用批量解读时复用
+        String batchKey = InterpretationCache.batchKey(MODEL, TEMPERATURE, prompt);
+        List<String> keys = batchEnabled ? List.of(cacheKey, batchKey) : List.of(cacheKey);
+
+        BatchingInterpreter.Item item = new BatchingInterpreter.Item(
+                prompt, geneName, species, functionalAnalysis, diseaseAssociations);
+
+        return cache.get(keys, () -> loadInterpretation(keys, batchKey, item))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    recordFallback("empty", null);
+                    return generateMockInterpretation(geneName, species, functionalAnalysis, diseaseAssociations);
+                }))
+                .onErrorResume(e -> {
+                    logFailure(geneName, e);
+                    recordFallback("error", e);
+                    return Mono.fromSupplier(() ->
+                            generateMockInterpretation(geneName, species, functionalAnalysis, diseaseAssociations));
+                });
+    }
+
+    /**
+     * 流式解读: 逐段返回模型输出，缓存或存储命中时一次返回完整结果；
+     * 完整输出结束后写入缓存，尚未输出任何内容就失败时回退到模拟响应
+     */
+    public Flux<String> streamGeneAnalysis(String geneName, String species,
+                                           String functionalAnalysis,
+                                           String diseaseAssociations) {
+        if (!apiAvailable) {
+            recordFallback("no-api-key", null);
+            return Flux.just(generateMockInterpretation(geneName, species, functionalAnalysis, diseaseAssociations));
+        }
+
+        String prompt = buildInterpretationPrompt(geneName, species, functionalAnalysis, diseaseAssociations);
+        String cacheKey = InterpretationCache.key(MODEL, MAX_TOKENS, TEMPERATURE, prompt);
+        // 相同提示词的并发流式请求共享同一次上游调用
+        return cache.stream(cacheKey, () -> loadInterpretationStream(cacheKey, prompt,
+                geneName, species, functionalAnalysis, diseaseAssociations));
+    }
+
+    /**
+     * 内存缓存未命中时先查持久化存储，仍未命中再发起流式调用，完整输出后写回缓存和存储
+     */
+    private Flux<String> loadInterpretationStream(String cacheKey, String prompt, String geneName, String species,
+                                                  String functionalAnalysis, String diseaseAssociations) {
+        byte[] storeKey = HexFormat.of().parseHex(cacheKey);
+        if (resultStore != null && resultStore.isEnabled()) {
+            String stored = resultStore.find(ResultStore.Namespace.INTERPRETATION, storeKey, String.class).orElse(null);
+            if (stored != null) {
+                cache.put(cacheKey, stored);
+                return Flux.just(stored);
             }
+        }
 
-            return generateMockInterpretation(geneName, species, functionalAnalysis, diseaseAssociations);
+        StringBuilder content = new StringBuilder();
+        return requestCompletionStream(prompt, MAX_TOKENS)
+                .doOnNext(content::append)
+                .doOnComplete(() -> {
+                    if (content.length() > 0) {
+                        cache.put(cacheKey, content.toString());
+                        if (resultStore != null && resultStore.isEnabled()) {
+                            resultStore.store(ResultStore.Namespace.INTERPRETATION, storeKey, content.toString());
+                        }
+                    }
+                })
+                .onErrorResume(e -> {
+                    logFailure(geneName, e);
+                    if (content.length() > 0) {
+                        return Flux.empty();
+                    }
+                    recordFallback("error", e);
+                    return Flux.just(generateMockInterpretation(geneName, species, functionalAnalysis, diseaseAssociations));
+                });
+    }
 
-        } catch (Exception e) {
-            System.err.println("❌ 调用DeepSeek API失败: " + e.getMessage());
-            e.printStackTrace();
-            return generateMockInterpretation(geneName, species, functionalAnalysis, diseaseAssociations);
+    /**
+     * 熔断或并发上限导致的拒绝在熔断期间会频繁出现，只在 debug 级别输出
+     */
+    private void logFailure(String geneName, Throwable e) {
+        if (e instanceof RejectedExecutionException) {
+            log.debug("DeepSeek 调用被拒绝，使用模拟响应 gene={} reason={}", geneName, e.getMessage());
+        } else if (e instanceof TimeoutException) {
+            log.warn("DeepSeek 调用超时，使用模拟响应 gene={} timeoutMs={}", geneName, timeout.toMillis());
+        } else {
+            log.warn("DeepSeek 调用失败，使用模拟响应 gene={} error={}", geneName, e.toString());
+        }
+    }
+
+    private void recordFallback(String reason, Throwable error) {
+        meterRegistry.counter(AnalysisMetrics.LLM_FALLBACK,
+                "reason", reason, "exception", AnalysisMetrics.exceptionTag(error)).increment();
+    }
+
+    /**
+     * 内存缓存未命中时按相同顺序查持久化存储，仍未命中再加入批量解读并写回；
+     * 单独请求的结果写入 keys 中的第一个键，批量请求的结果写入 batchKey
+     */
+    private Mono<InterpretationCache.Keyed> loadInterpretation(List<String> keys, String batchKey,
+                                                               BatchingInterpreter.Item item) {
+        Mono<InterpretationCache.Keyed> request = Mono.defer(() -> batchingInterpreter.submit(item))
+                .map(answer -> new InterpretationCache.Keyed(answer.batched() ? batchKey : keys.get(0),
+                        answer.content()));
+        if (resultStore == null || !resultStore.isEnabled()) {
+            return request;
         }
+        return Flux.fromIterable(keys)
+                .concatMap(key -> Mono.justOrEmpty(resultStore.find(ResultStore.Namespace.INTERPRETATION,
+                                HexFormat.of().parseHex(key), String.class))
+                        .map(content -> new InterpretationCache.Keyed(key, content)))
+                .next()
+                .switchIfEmpty(request.doOnNext(keyed -> resultStore.store(ResultStore.Namespace.INTERPRETATION,
+                        HexFormat.of().parseHex(keyed.key()), keyed.value())));
+    }
+
+    /**
+     * 调用DeepSeek API
+     */
+    private Mono<String> requestCompletion(String prompt, int maxTokens) {
+        return client.complete(buildRequestBody(prompt, maxTokens, false));
+    }
+
+    /**
+     * 以 SSE 流式调用DeepSeek API，逐段返回增量内容
+     */
+    private Flux<String> requestCompletionStream(String prompt, int maxTokens) {
+        return client.stream(buildRequestBody(prompt, maxTokens, true));
+    }
+
+    private Map<String, Object> buildRequestBody(String prompt, int maxTokens, boolean stream) {
+        // 构建请求体
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", MODEL);  // DeepSeek 模型
+
+        // 构建消息
+        Map<String, String> message = new HashMap<>();
+        message.put("role", "user");
+        message.put("content", prompt);
+
+        requestBody.put("messages", new Map[]{message});
+        requestBody.put("max_tokens", maxTokens);
+        requestBody.put("temperature", TEMPERATURE);
+        requestBody.put("stream", stream);
+        if (stream) {
+            // 流式响应默认不含 usage，需要显式请求
+            requestBody.put("stream_options", Map.of("include_usage", true));
+        }
+        return requestBody;
     }
 
     /**
@@ -135,4 +363,21 @@ public class LLMService {
     public boolean isApiAvailable() {
         return apiAvailable;
     }
+
+    public InterpretationCache.Stats getCacheStats() {
+        return cache.stats();
+    }
+
+    public BatchingInterpreter.Stats getBatchStats() {
+        return batchingInterpreter.stats();
+    }
+
+    public DeepSeekClient.Stats getClientStats() {
+        return client.stats();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        client.close();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.geneinsight.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 惰性求值并缓存结果的阶段，首次 get() 时计算，之后直接返回同一结果
+ * 计算期间可能阻塞等待并行扫描，用 ReentrantLock 而非 synchronized，避免在虚拟线程上固定载体线程。
+ */
+final class Memoized<T> implements Supplier<T> {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Supplier<T> computation;
+    private volatile T value;
+
+    Memoized(Supplier<T> computation) {
+        this.computation = computation;
+    }
+
+    @Override
+    public T get() {
+        T result = value;
+        if (result == null) {
+            lock.lock();
+            try {
+                result = value;
+                if (result == null) {
+                    result = computation.get();
+                    value = result;
+                    // 释放计算过程捕获的引用
+                    computation = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,362 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.MotifHit;
+import com.geneinsight.model.Nucleotides;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Aho–Corasick 多模体扫描
+ * 模体库中的 IUPAC 简并模式展开为具体序列，连同各自的反向互补序列构建一个自动机，
+ * 一次遍历同时找出两条链上的全部命中；自动机预先补全为 4 字母 DFA，每个碱基一次查表，
+ * 扫描耗时与序列长度成线性、与模体库大小无关。构建后不可变，可在线程间共享。
+ * 同一遍历中按 Gardiner-Garden & Frommer 标准识别 CpG 岛。
+ */
+public final class MotifScanner {
+
+    /** 模体库中的一条记录 */
+    public record Motif(String name, String category, String pattern) {
+    }
+
+    /** 类路径上的默认模体库 */
+    public static final String DEFAULT_LIBRARY = "motifs.tsv";
+
+    public static final String CPG_ISLAND = "CpG island";
+    public static final String CPG_ISLAND_CATEGORY = "cpg-island";
+
+    /** 单个模体展开后的变体数上限，避免 NNNN... 之类的模式耗尽内存 */
+    static final int MAX_VARIANTS = 4096;
+
+    /** CpG 岛: 200 bp 窗口内 GC 含量 > 50% 且 CpG 观测/期望比 > 0.6 */
+    private static final int CPG_WINDOW = 200;
+    private static final double CPG_MIN_GC = 0.5;
+    private static final double CPG_MIN_OBSERVED_EXPECTED = 0.6;
+
+    private static final Map<Character, String> IUPAC = Map.ofEntries(
+            Map.entry('A', "A"), Map.entry('C', "C"), Map.entry('G', "G"), Map.entry('T', "T"),
+            Map.entry('R', "AG"), Map.entry('Y', "CT"), Map.entry('S', "CG"), Map.entry('W', "AT"),
+            Map.entry('K', "GT"), Map.entry('M', "AC"), Map.entry('B', "CGT"), Map.entry('D', "AGT"),
+            Map.entry('H', "ACT"), Map.entry('V', "ACG"), Map.entry('N', "ACGT"));
+
+    private static final Comparator<MotifHit> POSITION_ORDER = Comparator
+            .comparingInt(MotifHit::getStart)
+            .thenComparingInt(MotifHit::getEnd)
+            .thenComparing(MotifHit::getName)
+            .thenComparing(MotifHit::getStrand);
+
+    private final List<Motif> motifs;
+    private final boolean cpgIslands;
+
+    /** 完整的状态转移表: transitions[state * 4 + code] */
+    private final int[] transitions;
+    /** 每个状态结束的全部模式（含后缀链接上的输出） */
+    private final int[][] outputs;
+    /** 模式编号 → 模体编号、长度、链 */
+    private final int[] patternMotif;
+    private final int[] patternLength;
+    private final boolean[] patternReverse;
+
+    public MotifScanner(List<Motif> motifs) {
+        this(motifs, true);
+    }
+
+    /**
+     * @param motifs     模体库
+     * @param cpgIslands 是否同时识别 CpG 岛
+     */
+    public MotifScanner(List<Motif> motifs, boolean cpgIslands) {
+        this.motifs = List.copyOf(motifs);
+        this.cpgIslands = cpgIslands;
+
+        // 展开简并碱基；回文位点的反向互补与正链相同，只保留一次
+        List<byte[]> patterns = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        List<Boolean> reverse = new ArrayList<>();
+        for (int m = 0; m < this.motifs.size(); m++) {
+            Set<String> forward = expand(this.motifs.get(m).pattern());
+            for (String variant : forward) {
+                patterns.add(encode(variant));
+                owners.add(m);
+                reverse.add(false);
+            }
+            for (String variant : forward) {
+                String complement = reverseComplement(variant);
+                if (!forward.contains(complement)) {
+                    patterns.add(encode(complement));
+                    owners.add(m);
+                    reverse.add(true);
+                }
+            }
+        }
+        this.patternMotif = owners.stream().mapToInt(Integer::intValue).toArray();
+        this.patternLength = patterns.stream().mapToInt(pattern -> pattern.length).toArray();
+        this.patternReverse = new boolean[patterns.size()];
+        for (int i = 0; i < patternReverse.length; i++) {
+            patternReverse[i] = reverse.get(i);
+        }
+
+        // 构建字典树
+        int capacity = 1 + patterns.stream().mapToInt(pattern -> pattern.length).sum();
+        int[] next = new int[capacity * 4];
+        Arrays.fill(next, -1);
+        List<List<Integer>> terminal = new ArrayList<>();
+        terminal.add(new ArrayList<>());
+        int states = 1;
+        for (int p = 0; p < patterns.size(); p++) {
+            int state = 0;
+            for (byte code : patterns.get(p)) {
+                if (next[state * 4 + code] < 0) {
+                    next[state * 4 + code] = states++;
+                    terminal.add(new ArrayList<>());
+                }
+                state = next[state * 4 + code];
+            }
+            terminal.get(state).add(p);
+        }
+
+        // 按层遍历计算失败链接，同时把缺失的转移补全为 DFA、合并输出
+        int[] fail = new int[states];
+        int[][] out = new int[states][];
+        out[0] = new int[0];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int code = 0; code < 4; code++) {
+            int child = next[code];
+            if (child < 0) {
+                next[code] = 0;
+            } else {
+                fail[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] inherited = out[fail[state]];
+            List<Integer> own = terminal.get(state);
+            int[] merged = Arrays.copyOf(inherited, inherited.length + own.size());
+            for (int i = 0; i < own.size(); i++) {
+                merged[inherited.length + i] = own.get(i);
+            }
+            out[state] = merged;
+            for (int code = 0; code < 4; code++) {
+                int child = next[state * 4 + code];
+                if (child < 0) {
+                    next[state * 4 + code] = next[fail[state] * 4 + code];
+                } else {
+                    fail[child] = next[fail[state] * 4 + code];
+                    queue.add(child);
+                }
+            }
+        }
+        this.transitions = Arrays.copyOf(next, states * 4);
+        this.outputs = out;
+    }
+
+    /**
+     * 从 TSV 读取模体库: 名称、类别、IUPAC 模式，# 开头为注释
+     */
+    public static MotifScanner load(InputStream input) throws IOException {
+        List<Motif> motifs = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split("\t");
+                if (columns.length != 3) {
+                    throw new IllegalArgumentException("模体库第 " + lineNumber + " 行格式错误，应为 名称<TAB>类别<TAB>模式");
+                }
+                motifs.add(new Motif(columns[0].trim(), columns[1].trim(), columns[2].trim()));
+            }
+        }
+        return new MotifScanner(motifs);
+    }
+
+    /**
+     * 类路径上的默认模体库，只构建一次
+     */
+    public static MotifScanner defaultLibrary() {
+        return DefaultLibrary.INSTANCE;
+    }
+
+    private static final class DefaultLibrary {
+        static final MotifScanner INSTANCE;
+
+        static {
+            try (InputStream input = MotifScanner.class.getClassLoader().getResourceAsStream(DEFAULT_LIBRARY)) {
+                if (input == null) {
+                    throw new IllegalStateException("找不到默认模体库: " + DEFAULT_LIBRARY);
+                }
+                INSTANCE = load(input);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public List<Motif> getMotifs() {
+        return motifs;
+    }
+
+    /**
+     * 扫描整条序列的两条链，按位置排序返回全部命中
+     */
+    public List<MotifHit> scan(CharSequence sequence) {
+        List<MotifHit> hits = new ArrayList<>();
+        CpgTracker cpg = cpgIslands ? new CpgTracker() : null;
+        int state = 0;
+        for (int i = 0; i < sequence.length(); i++) {
+            int code = Nucleotides.code(sequence.charAt(i));
+            if (cpg != null) {
+                cpg.accept(i, code, hits);
+            }
+            if (code < 0 || code > 3) {
+                // N 或简并碱基不与任何具体模式匹配
+                state = 0;
+                continue;
+            }
+            state = transitions[state * 4 + code];
+            for (int pattern : outputs[state]) {
+                Motif motif = motifs.get(patternMotif[pattern]);
+                hits.add(new MotifHit(motif.name(), motif.category(), i + 1 - patternLength[pattern], i + 1,
+                        patternReverse[pattern] ? "-" : "+"));
+            }
+        }
+        if (cpg != null) {
+            cpg.finish(hits);
+        }
+        hits.sort(POSITION_ORDER);
+        return hits;
+    }
+
+    /**
+     * 滑动窗口统计 C、G 与 CpG 二核苷酸数，相邻或重叠的达标窗口合并为一个岛
+     */
+    private static final class CpgTracker {
+        private final int[] window = new int[CPG_WINDOW];
+        private int c;
+        private int g;
+        private int cpg;
+        private int islandStart = -1;
+        private int islandEnd;
+
+        void accept(int i, int code, List<MotifHit> hits) {
+            if (i >= CPG_WINDOW) {
+                // 移出窗口的碱基及其与下一个碱基组成的二核苷酸
+                int leaving = window[i % CPG_WINDOW];
+                count(leaving, -1);
+                if (leaving == Nucleotides.C && window[(i + 1) % CPG_WINDOW] == Nucleotides.G) {
+                    cpg--;
+                }
+            }
+            if (i > 0 && code == Nucleotides.G && window[(i - 1) % CPG_WINDOW] == Nucleotides.C) {
+                cpg++;
+            }
+            window[i % CPG_WINDOW] = code;
+            count(code, 1);
+
+            if (i < CPG_WINDOW - 1) {
+                return;
+            }
+            int windowStart = i + 1 - CPG_WINDOW;
+            if (islandStart >= 0 && windowStart > islandEnd) {
+                close(hits);
+            }
+            if (qualifies()) {
+                if (islandStart < 0) {
+                    islandStart = windowStart;
+                }
+                islandEnd = i + 1;
+            }
+        }
+
+        void finish(List<MotifHit> hits) {
+            if (islandStart >= 0) {
+                close(hits);
+            }
+        }
+
+        private boolean qualifies() {
+            if (c == 0 || g == 0 || c + g <= CPG_WINDOW * CPG_MIN_GC) {
+                return false;
+            }
+            // 观测/期望 = CpG 数 × 窗口长度 / (C 数 × G 数)
+            return (double) cpg * CPG_WINDOW / ((double) c * g) > CPG_MIN_OBSERVED_EXPECTED;
+        }
+
+        private void count(int code, int delta) {
+            if (code == Nucleotides.C) {
+                c += delta;
+            } else if (code == Nucleotides.G) {
+                g += delta;
+            }
+        }
+
+        private void close(List<MotifHit> hits) {
+            hits.add(new MotifHit(CPG_ISLAND, CPG_ISLAND_CATEGORY, islandStart, islandEnd, "+"));
+            islandStart = -1;
+        }
+    }
+
+    /**
+     * 展开 IUPAC 简并碱基
+     */
+    static Set<String> expand(String pattern) {
+        if (pattern.isEmpty()) {
+            throw new IllegalArgumentException("模式不能为空");
+        }
+        Set<String> variants = new LinkedHashSet<>();
+        variants.add("");
+        for (char ch : pattern.toUpperCase(Locale.ROOT).toCharArray()) {
+            String bases = IUPAC.get(ch == 'U' ? 'T' : ch);
+            if (bases == null) {
+                throw new IllegalArgumentException("模式 " + pattern + " 含无效碱基: " + ch);
+            }
+            if ((long) variants.size() * bases.length() > MAX_VARIANTS) {
+                throw new IllegalArgumentException("模式 " + pattern + " 展开后超过 " + MAX_VARIANTS + " 个变体");
+            }
+            Set<String> extended = new LinkedHashSet<>();
+            for (String prefix : variants) {
+                for (char base : bases.toCharArray()) {
+                    extended.add(prefix + base);
+                }
+            }
+            variants = extended;
+        }
+        return variants;
+    }
+
+    private static byte[] encode(String variant) {
+        byte[] codes = new byte[variant.length()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = Nucleotides.code(variant.charAt(i));
+        }
+        return codes;
+    }
+
+    private static String reverseComplement(String variant) {
+        char[] complement = new char[variant.length()];
+        for (int i = 0; i < complement.length; i++) {
+            complement[complement.length - 1 - i] =
+                    Nucleotides.base(Nucleotides.complement(Nucleotides.code(variant.charAt(i))));
+        }
+        return new String(complement);
+    }
+}
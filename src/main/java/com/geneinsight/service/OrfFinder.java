@@ -0,0 +1,331 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.GeneticCode;
+import com.geneinsight.model.Nucleotides;
+import com.geneinsight.model.OpenReadingFrame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 六框 ORF 查找引擎
+ * 线性扫描一遍序列，密码子编码为 6-bit 整数查表，正负链同时处理:
+ * 正链 ORF 由右侧终止密码子闭合，负链 ORF 由左侧（反向互补）终止密码子闭合。
+ */
+public class OrfFinder {
+
+    /**
+     * 嵌套 ORF 策略
+     */
+    public enum NestedPolicy {
+        /** 同一终止密码子只保留最长的 ORF */
+        OUTERMOST,
+        /** 每个框内起始密码子都单独报告 */
+        ALL
+    }
+
+    public static final List<String> STANDARD_START_CODONS = List.of("ATG");
+    public static final List<String> ALTERNATIVE_START_CODONS = List.of("ATG", "GTG", "TTG");
+    public static final List<String> STOP_CODONS = List.of("TAA", "TAG", "TGA");
+
+    static final Comparator<OpenReadingFrame> POSITION_ORDER = Comparator
+            .comparingInt(OpenReadingFrame::getStart)
+            .thenComparingInt(OpenReadingFrame::getEnd)
+            .thenComparingInt(OpenReadingFrame::getStrand);
+
+    private final int minLength;
+    private final NestedPolicy nestedPolicy;
+    private final boolean bothStrands;
+
+    private final boolean[] forwardStart = new boolean[64];
+    private final boolean[] forwardStop = new boolean[64];
+    private final boolean[] reverseStart = new boolean[64];
+    private final boolean[] reverseStop = new boolean[64];
+
+    public OrfFinder() {
+        this(30, STANDARD_START_CODONS, NestedPolicy.OUTERMOST, true);
+    }
+
+    /**
+     * @param minLength   最小 ORF 长度（bp，含终止密码子）
+     * @param startCodons 起始密码子
+     * @param nestedPolicy 嵌套 ORF 策略
+     * @param bothStrands 是否同时扫描负链
+     */
+    public OrfFinder(int minLength, List<String> startCodons, NestedPolicy nestedPolicy, boolean bothStrands) {
+        this(minLength, startCodons, nestedPolicy, bothStrands, GeneticCode.STANDARD);
+    }
+
+    /**
+     * @param geneticCode 遗传密码表，决定终止密码子
+     */
+    public OrfFinder(int minLength, List<String> startCodons, NestedPolicy nestedPolicy, boolean bothStrands,
+                     GeneticCode geneticCode) {
+        this.minLength = Math.max(minLength, 6);
+        this.nestedPolicy = nestedPolicy;
+        this.bothStrands = bothStrands;
+
+        for (String codon : startCodons) {
+            int code = encodeCodon(codon);
+            forwardStart[code] = true;
+            reverseStart[reverseComplement(code)] = true;
+        }
+        for (String codon : geneticCode.stopCodons()) {
+            int code = encodeCodon(codon);
+            forwardStop[code] = true;
+            reverseStop[reverseComplement(code)] = true;
+        }
+    }
+
+    /**
+     * 查找整条序列上的 ORF，结果按位置排序
+     */
+    public List<OpenReadingFrame> find(CharSequence sequence) {
+        if (sequence == null || sequence.length() < 6) {
+            return new ArrayList<>();
+        }
+        return finish(scanChunk(sequence, 0, sequence.length()));
+    }
+
+    /**
+     * 扫描起点位于碱基区间 [from, to) 内的密码子，相邻区间的结果可通过 {@link Segment#merge} 拼接
+     */
+    Segment scanChunk(CharSequence sequence, int from, int to) {
+        return scan(sequence, from, Math.max(from, Math.min(to, sequence.length() - 2)));
+    }
+
+    /**
+     * 闭合整条序列的扫描结果，输出按位置排序的 ORF
+     */
+    List<OpenReadingFrame> finish(Segment segment) {
+        List<OpenReadingFrame> orfs = new ArrayList<>();
+        segment.finish(orfs);
+        orfs.sort(POSITION_ORDER);
+        return orfs;
+    }
+
+    /**
+     * 扫描起始位置在 [from, to) 内的所有密码子
+     */
+    Segment scan(CharSequence sequence, int from, int to) {
+        Segment segment = new Segment(this, sequence.length());
+        int code = 0;
+        int valid = 0;
+        // 预读前两个碱基
+        for (int i = from; i < Math.min(from + 2, sequence.length()); i++) {
+            int base = Nucleotides.code(sequence.charAt(i));
+            valid = base >= 0 && base < 4 ? valid + 1 : 0;
+            code = ((code << 2) | (base & 3)) & 63;
+        }
+
+        int frame = from % 3;
+        for (int p = from; p < to; p++) {
+            int base = Nucleotides.code(sequence.charAt(p + 2));
+            valid = base >= 0 && base < 4 ? valid + 1 : 0;
+            code = ((code << 2) | (base & 3)) & 63;
+
+            if (valid >= 3) {
+                FrameTrack forward = segment.forward[frame];
+                if (forwardStop[code]) {
+                    forward.stop(p);
+                } else if (forwardStart[code]) {
+                    forward.start(p);
+                }
+                if (bothStrands) {
+                    FrameTrack reverse = segment.reverse[frame];
+                    if (reverseStop[code]) {
+                        reverse.stop(p);
+                    } else if (reverseStart[code]) {
+                        reverse.start(p);
+                    }
+                }
+            }
+
+            if (++frame == 3) {
+                frame = 0;
+            }
+        }
+        return segment;
+    }
+
+    static int encodeCodon(CharSequence codon) {
+        int code = 0;
+        for (int i = 0; i < 3; i++) {
+            int base = Nucleotides.code(codon.charAt(i));
+            if (base < 0 || base > 3) {
+                throw new IllegalArgumentException("无效的密码子: " + codon);
+            }
+            code = (code << 2) | base;
+        }
+        return code;
+    }
+
+    static int reverseComplement(int code) {
+        int first = Nucleotides.complement(code & 3);
+        int second = Nucleotides.complement((code >> 2) & 3);
+        int third = Nucleotides.complement(code >> 4);
+        return (first << 4) | (second << 2) | third;
+    }
+
+    /**
+     * 一段序列的扫描结果，6 条读码轨道各自记录终止密码子之间的区域
+     */
+    static final class Segment {
+        final OrfFinder finder;
+        final int sequenceLength;
+        final FrameTrack[] forward = new FrameTrack[3];
+        final FrameTrack[] reverse = new FrameTrack[3];
+        final List<OpenReadingFrame> closed = new ArrayList<>();
+
+        Segment(OrfFinder finder, int sequenceLength) {
+            this.finder = finder;
+            this.sequenceLength = sequenceLength;
+            for (int f = 0; f < 3; f++) {
+                forward[f] = new FrameTrack(this, false);
+                reverse[f] = new FrameTrack(this, true);
+            }
+        }
+
+        /**
+         * 拼接紧随其后的相邻区间；跨越边界的 ORF 由左侧的尾部起始位点与右侧的首个终止密码子闭合
+         */
+        Segment merge(Segment right) {
+            for (int f = 0; f < 3; f++) {
+                forward[f].merge(right.forward[f]);
+                reverse[f].merge(right.reverse[f]);
+            }
+            closed.addAll(right.closed);
+            return this;
+        }
+
+        /**
+         * 序列两端没有更多上下文时，闭合首尾区域并输出全部 ORF
+         */
+        void finish(List<OpenReadingFrame> out) {
+            out.addAll(closed);
+            for (int f = 0; f < 3; f++) {
+                forward[f].finish(out);
+                reverse[f].finish(out);
+            }
+        }
+
+        void emit(boolean reverseStrand, int leftStop, IntList starts, int rightStop, List<OpenReadingFrame> out) {
+            if (starts.size == 0) {
+                return;
+            }
+            if (!reverseStrand) {
+                if (rightStop < 0) {
+                    return;
+                }
+                int end = rightStop + 3;
+                int count = finder.nestedPolicy == NestedPolicy.OUTERMOST ? 1 : starts.size;
+                for (int i = 0; i < count; i++) {
+                    int start = starts.values[i];
+                    if (end - start >= finder.minLength) {
+                        out.add(new OpenReadingFrame(start, end, '+', start % 3));
+                    }
+                }
+            } else {
+                if (leftStop < 0) {
+                    return;
+                }
+                int first = finder.nestedPolicy == NestedPolicy.OUTERMOST ? starts.size - 1 : 0;
+                for (int i = first; i < starts.size; i++) {
+                    int end = starts.values[i] + 3;
+                    if (end - leftStop >= finder.minLength) {
+                        out.add(new OpenReadingFrame(leftStop, end, '-', (sequenceLength - end) % 3));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 单条读码轨道: head 为第一个终止密码子之前的起始位点，tail 为最后一个终止密码子之后的起始位点
+     */
+    static final class FrameTrack {
+        final Segment segment;
+        final boolean reverseStrand;
+        IntList head = new IntList();
+        IntList tail = new IntList();
+        int firstStop = -1;
+        int lastStop = -1;
+
+        FrameTrack(Segment segment, boolean reverseStrand) {
+            this.segment = segment;
+            this.reverseStrand = reverseStrand;
+        }
+
+        void start(int position) {
+            add(firstStop < 0 ? head : tail, position);
+        }
+
+        void stop(int position) {
+            if (firstStop < 0) {
+                firstStop = position;
+            } else {
+                segment.emit(reverseStrand, lastStop, tail, position, segment.closed);
+                tail.clear();
+            }
+            lastStop = position;
+        }
+
+        /**
+         * OUTERMOST 策略下正链只需区域内第一个起始位点，负链只需最后一个
+         */
+        void add(IntList starts, int position) {
+            if (segment.finder.nestedPolicy == NestedPolicy.OUTERMOST && starts.size > 0) {
+                if (reverseStrand) {
+                    starts.values[starts.size - 1] = position;
+                }
+                return;
+            }
+            starts.add(position);
+        }
+
+        void merge(FrameTrack right) {
+            IntList open = firstStop < 0 ? head : tail;
+            for (int i = 0; i < right.head.size; i++) {
+                add(open, right.head.values[i]);
+            }
+            if (right.firstStop < 0) {
+                return;
+            }
+            if (firstStop < 0) {
+                firstStop = right.firstStop;
+            } else {
+                segment.emit(reverseStrand, lastStop, tail, right.firstStop, segment.closed);
+            }
+            tail = right.tail;
+            lastStop = right.lastStop;
+        }
+
+        void finish(List<OpenReadingFrame> out) {
+            segment.emit(reverseStrand, -1, head, firstStop, out);
+            if (firstStop >= 0) {
+                segment.emit(reverseStrand, lastStop, tail, -1, out);
+            }
+        }
+    }
+
+    /**
+     * 轻量可增长 int 数组
+     */
+    static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
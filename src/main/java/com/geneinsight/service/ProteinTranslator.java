@@ -0,0 +1,306 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.GeneticCode;
+import com.geneinsight.model.Nucleotides;
+import com.geneinsight.model.OpenReadingFrame;
+import com.geneinsight.model.TranslatedProtein;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ORF 翻译与蛋白质理化性质计算
+ * 每个 ORF 只遍历一次密码子: 6-bit 密码子索引查表得到残基编号，同时累计残基与密码子计数，
+ * 分子量、等电点、GRAVY 与有效密码子数 (ENC) 均由计数得出。
+ * 翻译缓冲区与计数数组在一次调用内复用，每个 ORF 只分配输出的序列字符串。
+ */
+public class ProteinTranslator {
+
+    /** 残基编号 0-19 对应的单字母代码，20 为 X（含不确定碱基的密码子），21 为读码框内的终止密码子 */
+    static final String RESIDUES = "ACDEFGHIKLMNPQRSTVWY";
+    private static final int UNKNOWN = 20;
+    private static final int INTERNAL_STOP = 21;
+    private static final char[] SYMBOLS = (RESIDUES + "X" + GeneticCode.STOP).toCharArray();
+    private static final int MET = RESIDUES.indexOf('M');
+    private static final int LYS = RESIDUES.indexOf('K');
+    private static final int ARG = RESIDUES.indexOf('R');
+    private static final int HIS = RESIDUES.indexOf('H');
+    private static final int ASP = RESIDUES.indexOf('D');
+    private static final int GLU = RESIDUES.indexOf('E');
+    private static final int CYS = RESIDUES.indexOf('C');
+    private static final int TYR = RESIDUES.indexOf('Y');
+
+    /** 残基平均质量 (Da)，X 取平均残基质量 */
+    private static final double[] RESIDUE_MASS = {
+            71.0788, 103.1388, 115.0886, 129.1155, 147.1766, 57.0519, 137.1411, 113.1594, 128.1741, 113.1594,
+            131.1926, 114.1038, 97.1167, 128.1307, 156.1875, 87.0782, 101.1051, 99.1326, 186.2132, 163.1760,
+            110.0, 0.0};
+    private static final double WATER_MASS = 18.01524;
+
+    /** Kyte-Doolittle 亲水性标度 */
+    private static final double[] HYDROPATHY = {
+            1.8, 2.5, -3.5, -3.5, 2.8, -0.4, -3.2, 4.5, -3.9, 3.8,
+            1.9, -3.5, -1.6, -3.5, -4.5, -0.8, -0.7, 4.2, -0.9, -1.3,
+            0.0, 0.0};
+
+    /** 可电离基团 pKa (EMBOSS) */
+    private static final double PKA_N_TERM = 8.6;
+    private static final double PKA_C_TERM = 3.6;
+    private static final double PKA_K = 10.8;
+    private static final double PKA_R = 12.5;
+    private static final double PKA_H = 6.5;
+    private static final double PKA_D = 3.9;
+    private static final double PKA_E = 4.1;
+    private static final double PKA_C = 8.5;
+    private static final double PKA_Y = 10.1;
+
+    /** 估计 ENC 所需的最少密码子数，更短的 ORF 抽样误差过大 */
+    static final int MIN_CODONS_FOR_ENC = 30;
+
+    private final GeneticCode geneticCode;
+    private final byte[] residueOf = new byte[64];
+    /** 每种氨基酸的同义密码子 */
+    private final int[][] synonymousCodons = new int[RESIDUES.length()][];
+    /** 按简并度分组的氨基酸数 */
+    private final int[] familiesByDegeneracy = new int[65];
+    private final int senseCodons;
+
+    public ProteinTranslator() {
+        this(GeneticCode.STANDARD);
+    }
+
+    public ProteinTranslator(GeneticCode geneticCode) {
+        this.geneticCode = geneticCode;
+        int[] degeneracy = new int[RESIDUES.length()];
+        int sense = 0;
+        for (int codon = 0; codon < 64; codon++) {
+            char aminoAcid = geneticCode.translate(codon);
+            if (aminoAcid == GeneticCode.STOP) {
+                residueOf[codon] = INTERNAL_STOP;
+            } else {
+                residueOf[codon] = (byte) RESIDUES.indexOf(aminoAcid);
+                degeneracy[residueOf[codon]]++;
+                sense++;
+            }
+        }
+        for (int residue = 0; residue < RESIDUES.length(); residue++) {
+            synonymousCodons[residue] = new int[degeneracy[residue]];
+            familiesByDegeneracy[degeneracy[residue]]++;
+        }
+        int[] filled = new int[RESIDUES.length()];
+        for (int codon = 0; codon < 64; codon++) {
+            int residue = residueOf[codon];
+            if (residue < RESIDUES.length()) {
+                synonymousCodons[residue][filled[residue]++] = codon;
+            }
+        }
+        this.senseCodons = sense;
+    }
+
+    public GeneticCode getGeneticCode() {
+        return geneticCode;
+    }
+
+    /**
+     * 翻译单个 ORF
+     */
+    public TranslatedProtein translate(CharSequence sequence, OpenReadingFrame orf) {
+        return new Scratch().translate(sequence, orf);
+    }
+
+    /**
+     * 按顺序翻译一组 ORF，缓冲区在整组内复用
+     */
+    public List<TranslatedProtein> translate(CharSequence sequence, List<OpenReadingFrame> orfs) {
+        Scratch scratch = new Scratch();
+        List<TranslatedProtein> proteins = new ArrayList<>(orfs.size());
+        for (OpenReadingFrame orf : orfs) {
+            proteins.add(scratch.translate(sequence, orf));
+        }
+        return proteins;
+    }
+
+    /**
+     * 一次调用内复用的缓冲区与计数
+     */
+    private final class Scratch {
+        private char[] buffer = new char[256];
+        private final int[] residueCounts = new int[SYMBOLS.length];
+        private final int[] codonCounts = new int[64];
+        private final double[] sumF = new double[familiesByDegeneracy.length];
+        private final int[] observed = new int[familiesByDegeneracy.length];
+
+        TranslatedProtein translate(CharSequence sequence, OpenReadingFrame orf) {
+            int codons = orf.getLength() / 3;
+            if (buffer.length < codons) {
+                buffer = new char[Math.max(codons, buffer.length * 2)];
+            }
+            Arrays.fill(residueCounts, 0);
+            Arrays.fill(codonCounts, 0);
+
+            int length = 0;
+            int counted = 0;
+            for (int k = 0; k < codons; k++) {
+                int codon = orf.isReverse()
+                        ? reverseCodon(sequence, orf.getEnd() - 1 - 3 * k)
+                        : forwardCodon(sequence, orf.getStart() + 3 * k);
+                int residue = codon < 0 ? UNKNOWN : residueOf[codon];
+                if (residue == INTERNAL_STOP && k == codons - 1) {
+                    break;
+                }
+                if (codon >= 0 && residue != INTERNAL_STOP) {
+                    codonCounts[codon]++;
+                    counted++;
+                }
+                // 起始密码子（包括 GTG、TTG 等替代起始）总是翻译为 Met
+                if (k == 0 && residue != INTERNAL_STOP) {
+                    residue = MET;
+                }
+                residueCounts[residue]++;
+                buffer[length++] = SYMBOLS[residue];
+            }
+
+            return new TranslatedProtein(orf.getStart(), orf.getEnd(), orf.getStrand(),
+                    new String(buffer, 0, length), molecularWeight(length), isoelectricPoint(),
+                    gravy(length), counted >= MIN_CODONS_FOR_ENC ? effectiveNumberOfCodons() : null);
+        }
+
+        private double molecularWeight(int length) {
+            if (length == 0) {
+                return 0;
+            }
+            double mass = WATER_MASS;
+            for (int residue = 0; residue < SYMBOLS.length; residue++) {
+                mass += residueCounts[residue] * RESIDUE_MASS[residue];
+            }
+            return mass;
+        }
+
+        private double gravy(int length) {
+            if (length == 0) {
+                return 0;
+            }
+            double sum = 0;
+            for (int residue = 0; residue < SYMBOLS.length; residue++) {
+                sum += residueCounts[residue] * HYDROPATHY[residue];
+            }
+            return sum / length;
+        }
+
+        /**
+         * 二分法求净电荷为零的 pH
+         */
+        private double isoelectricPoint() {
+            double low = 0;
+            double high = 14;
+            while (high - low > 0.001) {
+                double pH = (low + high) / 2;
+                if (netCharge(pH) > 0) {
+                    low = pH;
+                } else {
+                    high = pH;
+                }
+            }
+            return (low + high) / 2;
+        }
+
+        private double netCharge(double pH) {
+            return positive(pH, PKA_N_TERM, 1)
+                    + positive(pH, PKA_K, residueCounts[LYS])
+                    + positive(pH, PKA_R, residueCounts[ARG])
+                    + positive(pH, PKA_H, residueCounts[HIS])
+                    - negative(pH, PKA_C_TERM, 1)
+                    - negative(pH, PKA_D, residueCounts[ASP])
+                    - negative(pH, PKA_E, residueCounts[GLU])
+                    - negative(pH, PKA_C, residueCounts[CYS])
+                    - negative(pH, PKA_Y, residueCounts[TYR]);
+        }
+
+        /**
+         * Wright 有效密码子数: Nc = K1 + Σ Kk / F̄k，Fk 为简并度为 k 的氨基酸的密码子纯合度
+         * 某个简并度分组没有可用数据时取其余分组 F 的平均值，结果不超过该密码表的有义密码子数。
+         */
+        private Double effectiveNumberOfCodons() {
+            Arrays.fill(sumF, 0);
+            Arrays.fill(observed, 0);
+            for (int residue = 0; residue < RESIDUES.length(); residue++) {
+                int[] family = synonymousCodons[residue];
+                if (family.length < 2) {
+                    continue;
+                }
+                int n = 0;
+                for (int codon : family) {
+                    n += codonCounts[codon];
+                }
+                if (n < 2) {
+                    continue;
+                }
+                double homozygosity = 0;
+                for (int codon : family) {
+                    double p = (double) codonCounts[codon] / n;
+                    homozygosity += p * p;
+                }
+                sumF[family.length] += (n * homozygosity - 1) / (n - 1);
+                observed[family.length]++;
+            }
+
+            double meanF = 0;
+            int classes = 0;
+            for (int k = 2; k < familiesByDegeneracy.length; k++) {
+                if (observed[k] > 0) {
+                    meanF += sumF[k] / observed[k];
+                    classes++;
+                }
+            }
+            if (classes == 0) {
+                return null;
+            }
+            meanF /= classes;
+
+            double nc = familiesByDegeneracy[1];
+            for (int k = 2; k < familiesByDegeneracy.length; k++) {
+                if (familiesByDegeneracy[k] > 0) {
+                    double f = observed[k] > 0 ? sumF[k] / observed[k] : meanF;
+                    nc += f > 0 ? familiesByDegeneracy[k] / f : senseCodons;
+                }
+            }
+            return Math.min(nc, senseCodons);
+        }
+    }
+
+    private static double positive(double pH, double pKa, int count) {
+        return count / (1 + Math.pow(10, pH - pKa));
+    }
+
+    private static double negative(double pH, double pKa, int count) {
+        return count / (1 + Math.pow(10, pKa - pH));
+    }
+
+    private static int forwardCodon(CharSequence sequence, int position) {
+        int codon = 0;
+        for (int i = 0; i < 3; i++) {
+            int base = Nucleotides.code(sequence.charAt(position + i));
+            if (base < 0 || base > 3) {
+                return -1;
+            }
+            codon = (codon << 2) | base;
+        }
+        return codon;
+    }
+
+    /**
+     * 负链密码子: 从 position 向左读取并取互补
+     */
+    private static int reverseCodon(CharSequence sequence, int position) {
+        int codon = 0;
+        for (int i = 0; i < 3; i++) {
+            int base = Nucleotides.code(sequence.charAt(position - i));
+            if (base < 0 || base > 3) {
+                return -1;
+            }
+            codon = (codon << 2) | Nucleotides.complement(base);
+        }
+        return codon;
+    }
+}
@@ -0,0 +1,175 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.GeneAnalysisResult;
+import com.geneinsight.model.PackedSequence;
+import com.geneinsight.model.TranslatedProtein;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 最近渲染过的分析结果，供结果页按需加载的分段（ORF 列表、重复、模体等）使用
+ * 以结果存储键（输入与分析配置指纹的摘要）的十六进制作为编号，按条目数和估算字节数 LRU + 过期时间淘汰；
+ * 同时保留 2-bit 压缩的输入序列，翻译产物按页从序列翻译；
+ * 淘汰后若持久化存储中有该结果，仍可从存储中读取，但不再能翻译。
+ */
+@Service
+public class RecentResults {
+
+    @Autowired(required = false)
+    private ResultStore resultStore;
+
+    @Value("${geneinsight.results.recent-entries:64}")
+    private int maxEntries = 64;
+
+    /** 保留结果的估算总大小上限，超过上限的单个结果不保留 */
+    @Value("${geneinsight.results.recent-max-size:64MB}")
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    @Value("${geneinsight.results.recent-ttl:30m}")
+    private Duration ttl = Duration.ofMinutes(30);
+
+    /** 单个条目与结果对象的固定开销估算（字节） */
+    private static final int ENTRY_OVERHEAD = 512;
+
+    /** 列表中单个元素（ORF、重复、模体命中等坐标对象）及其引用的开销估算（字节） */
+    private static final int ITEM_OVERHEAD = 48;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private LongSupplier nanoClock = System::nanoTime;
+    private long bytes;
+
+    /**
+     * 以结果存储键保存结果及其输入序列，返回其编号
+     */
+    public String put(byte[] key, GeneAnalysisResult result, PackedSequence sequence) {
+        String id = HexFormat.of().formatHex(key);
+        Entry entry = new Entry(result, sequence, nanoClock.getAsLong(), estimateSize(result, sequence));
+        if (entry.size() > maxSize.toBytes()) {
+            return id;
+        }
+        lock.lock();
+        try {
+            Entry previous = entries.put(id, entry);
+            if (previous != null) {
+                bytes -= previous.size();
+            }
+            bytes += entry.size();
+
+            // 按访问顺序淘汰最久未使用的条目
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || bytes > maxSize.toBytes()) && eldest.hasNext()) {
+                bytes -= eldest.next().getValue().size();
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return id;
+    }
+
+    /**
+     * 当前保留结果的估算总大小（字节）
+     */
+    public long sizeInBytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 按编号查询，内存中没有时回退到持久化存储
+     */
+    public Optional<GeneAnalysisResult> find(String id) {
+        Entry entry = entry(id);
+        if (entry != null) {
+            return Optional.of(entry.result());
+        }
+        if (resultStore == null || !resultStore.isEnabled() || !isDigest(id)) {
+            return Optional.empty();
+        }
+        return resultStore.find(ResultStore.Namespace.ANALYSIS, HexFormat.of().parseHex(id), GeneAnalysisResult.class);
+    }
+
+    /**
+     * 结果的输入序列，只在内存中保留，淘汰或过期后为空
+     */
+    public Optional<PackedSequence> findSequence(String id) {
+        Entry entry = entry(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.sequence());
+    }
+
+    private Entry entry(String id) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(id);
+            if (entry != null && nanoClock.getAsLong() - entry.createdAt() > ttl.toNanos()) {
+                entries.remove(id);
+                bytes -= entry.size();
+                return null;
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 估算结果与压缩序列占用的堆内存: 列表按元素数、字符串按长度计
+     */
+    static long estimateSize(GeneAnalysisResult result, PackedSequence sequence) {
+        long size = ENTRY_OVERHEAD + sequence.packedSizeInBytes();
+        size += itemsSize(result.getOpenReadingFrames()) + itemsSize(result.getTandemRepeats())
+                + itemsSize(result.getMotifHits()) + itemsSize(result.getReferenceMatches());
+        if (result.getPotentialProteins() != null) {
+            for (String protein : result.getPotentialProteins()) {
+                size += stringSize(protein);
+            }
+        }
+        if (result.getTranslatedProteins() != null) {
+            for (TranslatedProtein protein : result.getTranslatedProteins()) {
+                size += ITEM_OVERHEAD + stringSize(protein.getSequence());
+            }
+        }
+        return size + stringSize(result.getFunctionalAnalysis()) + stringSize(result.getDiseaseAssociations())
+                + stringSize(result.getLlmInterpretation());
+    }
+
+    private static long itemsSize(List<?> items) {
+        return items == null ? 0 : (long) ITEM_OVERHEAD * items.size();
+    }
+
+    private static long stringSize(String value) {
+        return value == null ? 0 : ITEM_OVERHEAD + 2L * value.length();
+    }
+
+    private static boolean isDigest(String id) {
+        if (id.length() != 64) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            if (Character.digit(id.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Entry(GeneAnalysisResult result, PackedSequence sequence, long createdAt, long size) {
+    }
+}
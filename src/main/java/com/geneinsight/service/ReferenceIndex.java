@@ -0,0 +1,198 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.GeneAnalysisRequest;
+import com.geneinsight.model.ReferenceMatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongConsumer;
+
+/**
+ * 参考序列的 k-mer 草图索引，用于从序列本身判断其最接近的参考基因
+ * 草图为 FracMinHash: 保留哈希值落在整个哈希空间前 1/scale 的规范 k-mer，
+ * 查询与参考使用同一阈值，因此共有草图数与共有 k-mer 数成比例，可直接估计包含度。
+ * 索引为倒排表（哈希 → 参考编号），构建后不可变，查询线程之间无需同步。
+ */
+public final class ReferenceIndex {
+
+    public static final int DEFAULT_K = 21;
+    public static final int DEFAULT_SCALE = 4;
+    /**
+     * 报告匹配所需的最少共有草图哈希数。短序列或低复杂度序列（如微卫星）的草图只有几个哈希，
+     * 恰好落在参考中的同类重复区时包含度即为 1，共有数过少的结果不作为匹配
+     */
+    public static final int MIN_SHARED_HASHES = 10;
+
+    private final int k;
+    private final int scale;
+    private final long threshold;
+    private final String[] names;
+    private final int[] lengths;
+    private final int[] sketchSizes;
+    /** 所有参考草图中出现过的哈希，升序 */
+    private final long[] keys;
+    /** keys[i] 对应的参考编号为 postings[offsets[i] .. offsets[i + 1]) */
+    private final int[] offsets;
+    private final int[] postings;
+
+    /**
+     * @param references 参考名称 → 序列，按迭代顺序编号
+     */
+    public ReferenceIndex(int k, int scale, Map<String, ? extends CharSequence> references) {
+        if (k < 1 || k > Kmers.MAX_K) {
+            throw new IllegalArgumentException("k 必须在 1-" + Kmers.MAX_K + " 之间: " + k);
+        }
+        if (scale < 1) {
+            throw new IllegalArgumentException("scale 必须为正数: " + scale);
+        }
+        this.k = k;
+        this.scale = scale;
+        this.threshold = Long.divideUnsigned(-1L, scale);
+
+        int count = references.size();
+        this.names = new String[count];
+        this.lengths = new int[count];
+        this.sketchSizes = new int[count];
+        long[][] sketches = new long[count][];
+        int total = 0;
+        int r = 0;
+        for (Map.Entry<String, ? extends CharSequence> reference : references.entrySet()) {
+            names[r] = reference.getKey();
+            lengths[r] = reference.getValue().length();
+            sketches[r] = sketch(reference.getValue());
+            sketchSizes[r] = sketches[r].length;
+            total += sketches[r].length;
+            r++;
+        }
+
+        long[] all = new long[total];
+        int filled = 0;
+        for (long[] sketch : sketches) {
+            System.arraycopy(sketch, 0, all, filled, sketch.length);
+            filled += sketch.length;
+        }
+        this.keys = sortedUnique(all, total);
+
+        this.offsets = new int[keys.length + 1];
+        for (long[] sketch : sketches) {
+            for (long hash : sketch) {
+                offsets[Arrays.binarySearch(keys, hash) + 1]++;
+            }
+        }
+        for (int i = 0; i < keys.length; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        this.postings = new int[total];
+        int[] cursor = Arrays.copyOf(offsets, keys.length);
+        for (int reference = 0; reference < count; reference++) {
+            for (long hash : sketches[reference]) {
+                postings[cursor[Arrays.binarySearch(keys, hash)]++] = reference;
+            }
+        }
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * 参考序列数
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * 与查询序列共有至少 {@link #MIN_SHARED_HASHES} 个草图哈希的参考，按估计一致性降序，最多 limit 条
+     */
+    public List<ReferenceMatch> search(CharSequence query, int limit) {
+        long[] sketch = sketch(query);
+        if (sketch.length < MIN_SHARED_HASHES) {
+            return List.of();
+        }
+        int[] shared = new int[names.length];
+        for (long hash : sketch) {
+            int key = Arrays.binarySearch(keys, hash);
+            if (key >= 0) {
+                for (int p = offsets[key]; p < offsets[key + 1]; p++) {
+                    shared[postings[p]]++;
+                }
+            }
+        }
+
+        List<ReferenceMatch> matches = new ArrayList<>();
+        for (int r = 0; r < names.length; r++) {
+            if (shared[r] >= MIN_SHARED_HASHES) {
+                // 较短一方被包含的比例，片段查询与全长参考、全长查询与短参考都适用
+                double containment = (double) shared[r] / Math.min(sketch.length, sketchSizes[r]);
+                matches.add(new ReferenceMatch(names[r], lengths[r], shared[r], containment,
+                        Math.pow(containment, 1.0 / k)));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(ReferenceMatch::getIdentity).reversed()
+                .thenComparing(Comparator.comparingInt(ReferenceMatch::getSharedKmers).reversed())
+                .thenComparing(ReferenceMatch::getName));
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * 序列的 FracMinHash 草图，升序且无重复
+     */
+    long[] sketch(CharSequence sequence) {
+        SketchCollector collector = new SketchCollector(threshold);
+        Kmers.forEachCanonical(sequence, k, collector);
+        return sortedUnique(collector.hashes, collector.size);
+    }
+
+    private static long[] sortedUnique(long[] values, int size) {
+        Arrays.sort(values, 0, size);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || values[i] != values[unique - 1]) {
+                values[unique++] = values[i];
+            }
+        }
+        return Arrays.copyOf(values, unique);
+    }
+
+    private static final class SketchCollector implements LongConsumer {
+        private final long threshold;
+        private long[] hashes = new long[64];
+        private int size;
+
+        SketchCollector(long threshold) {
+            this.threshold = threshold;
+        }
+
+        @Override
+        public void accept(long kmer) {
+            long hash = Kmers.hash(kmer);
+            if (Long.compareUnsigned(hash, threshold) <= 0) {
+                if (size == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, size * 2);
+                }
+                hashes[size++] = hash;
+            }
+        }
+    }
+
+    /**
+     * 由内置示例序列构建的默认索引
+     */
+    public static ReferenceIndex defaultIndex() {
+        return DefaultIndex.INSTANCE;
+    }
+
+    private static final class DefaultIndex {
+        static final ReferenceIndex INSTANCE = new ReferenceIndex(DEFAULT_K, DEFAULT_SCALE,
+                new TreeMap<>(GeneAnalysisRequest.EXAMPLE_SEQUENCES));
+    }
+}
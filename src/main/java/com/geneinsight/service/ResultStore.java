@@ -0,0 +1,598 @@
+package com.geneinsight.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 持久化分析结果存储
+ * 追加写入的段文件 + 内存哈希索引。记录格式:
+ * magic(4) | namespace(1) | version(4) | key(32) | length(4) | value(length) | crc32(4)
+ * 启动时只读取记录头重建索引；已封存的段以内存映射方式读取；失效记录通过后台压缩清理。
+ * 占用以段为单位淘汰: 超过最长保留时间的段、总大小超过上限时最早的段整体删除，
+ * 因此实际占用最多超出上限一个段。
+ */
+@Component
+public class ResultStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultStore.class);
+
+    /**
+     * 存储命名空间；算法或提示词变化时提升对应版本号，旧版本记录自动失效
+     */
+    public enum Namespace {
+        ANALYSIS((byte) 1, 6),
+        INTERPRETATION((byte) 2, 1);
+
+        final byte id;
+        final int version;
+
+        Namespace(byte id, int version) {
+            this.id = id;
+            this.version = version;
+        }
+
+        static Namespace of(byte id) {
+            for (Namespace namespace : values()) {
+                if (namespace.id == id) {
+                    return namespace;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final int MAGIC = 0x47495253;
+    private static final int KEY_LENGTH = 32;
+    private static final int HEADER_LENGTH = 4 + 1 + 4 + KEY_LENGTH + 4;
+    private static final int TRAILER_LENGTH = 4;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    @Value("${geneinsight.store.enabled:false}")
+    private boolean enabled;
+
+    @Value("${geneinsight.store.dir:data/result-store}")
+    private Path directory = Path.of("data/result-store");
+
+    @Value("${geneinsight.store.segment-size:64MB}")
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /** 所有段文件的总大小上限，超出时删除最早的段 */
+    @Value("${geneinsight.store.max-size:1GB}")
+    private DataSize maxSize = DataSize.ofGigabytes(1);
+
+    /** 段的最长保留时间（按段内最后一次写入计算） */
+    @Value("${geneinsight.store.max-age:7d}")
+    private Duration maxAge = Duration.ofDays(7);
+
+    /** 后台淘汰与压缩的间隔，0 表示只在启动时执行 */
+    @Value("${geneinsight.store.maintenance-interval:1h}")
+    private Duration maintenanceInterval = Duration.ofHours(1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private volatile Map<String, Location> index = new ConcurrentHashMap<>();
+    private Segment active;
+    private Clock clock = Clock.systemUTC();
+    private ScheduledExecutorService maintenance;
+
+    @PostConstruct
+    public void open() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.filter(ResultStore::isSegmentFile).sorted().toList()) {
+                    Segment segment = Segment.open(file, segmentId(file));
+                    segments.put(segment.id, segment);
+                }
+            }
+            for (Segment segment : segments.values()) {
+                rebuildIndex(segment);
+            }
+            active = segments.isEmpty() ? createSegment(1) : segments.lastEntry().getValue();
+            for (Segment segment : segments.values()) {
+                if (segment != active) {
+                    segment.seal();
+                }
+            }
+            log.info("结果存储已加载 records={} segments={} maxSize={} maxAge={}",
+                    index.size(), segments.size(), maxSize, maxAge);
+            maintain();
+        } catch (IOException e) {
+            log.error("结果存储初始化失败，已禁用", e);
+            enabled = false;
+            return;
+        }
+        if (!maintenanceInterval.isZero()) {
+            maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "result-store-maintenance");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = maintenanceInterval.toMillis();
+            maintenance.scheduleWithFixedDelay(() -> {
+                try {
+                    maintain();
+                } catch (IOException | RuntimeException e) {
+                    log.warn("结果存储维护失败 error={}", e.toString());
+                }
+            }, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 读取当前版本的对象，不存在、版本过期或校验失败时返回空
+     */
+    public <T> Optional<T> find(Namespace namespace, byte[] key, Class<T> type) {
+        return get(namespace, key).flatMap(bytes -> {
+            try {
+                return Optional.of(objectMapper.readValue(bytes, type));
+            } catch (IOException e) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * 序列化并追加写入对象
+     */
+    public void store(Namespace namespace, byte[] key, Object value) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            put(namespace, key, objectMapper.writeValueAsBytes(value));
+        } catch (IOException e) {
+            log.warn("写入结果存储失败 namespace={} error={}", namespace, e.toString());
+        }
+    }
+
+    Optional<byte[]> get(Namespace namespace, byte[] key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Location location = index.get(indexKey(namespace.id, key));
+        if (location == null || location.version != namespace.version) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(location.segment.read(location.offset, location.length));
+        } catch (IOException | RuntimeException e) {
+            // 段文件可能已被压缩删除
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 追加写入记录；超过段大小的记录不写入
+     */
+    void put(Namespace namespace, byte[] key, byte[] value) throws IOException {
+        if (recordLength(value.length) > segmentSize.toBytes()) {
+            log.debug("记录超过段大小，不写入结果存储 namespace={} length={}", namespace, value.length);
+            return;
+        }
+        ByteBuffer record = encode(namespace.id, namespace.version, key, value);
+        writeLock.lock();
+        try {
+            if (active.size > 0 && active.size + record.remaining() > segmentSize.toBytes()) {
+                active.seal();
+                active = createSegment(active.id + 1);
+                evict();
+            }
+            long offset = active.append(record);
+            active.lastWrite = clock.millis();
+            Location previous = index.put(indexKey(namespace.id, key),
+                    new Location(active, offset, value.length, namespace.version));
+            if (previous != null) {
+                previous.segment.deadBytes += recordLength(previous.length);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 维护: 淘汰过期或超出大小上限的段，失效记录占比过高时压缩
+     */
+    void maintain() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            evict();
+            long dead = deadBytes();
+            if (dead > segmentSize.toBytes() && dead > liveBytes()) {
+                compact();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 压缩: 把当前版本的有效记录按段的先后顺序重写到新段文件，删除旧段。
+     * 新段保留来源段的最后写入时间，压缩不会延长记录的保留期。
+     */
+    void compact() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            List<Segment> oldSegments = new ArrayList<>(segments.values());
+            Map<Segment, List<Map.Entry<String, Location>>> bySegment = new IdentityHashMap<>();
+            for (Map.Entry<String, Location> entry : index.entrySet()) {
+                bySegment.computeIfAbsent(entry.getValue().segment, segment -> new ArrayList<>()).add(entry);
+            }
+            Map<String, Location> compacted = new ConcurrentHashMap<>();
+            Segment target = createSegment(active.id + 1);
+            target.lastWrite = 0;
+
+            for (Segment source : oldSegments) {
+                for (Map.Entry<String, Location> entry : bySegment.getOrDefault(source, List.of())) {
+                    Location location = entry.getValue();
+                    Namespace namespace = Namespace.of(HexFormat.of().parseHex(entry.getKey(), 0, 2)[0]);
+                    if (namespace == null || namespace.version != location.version) {
+                        continue;
+                    }
+                    byte[] value = source.read(location.offset, location.length);
+                    if (value == null) {
+                        continue;
+                    }
+                    if (target.size > 0 && target.size + recordLength(value.length) > segmentSize.toBytes()) {
+                        target.touch();
+                        target.seal();
+                        target = createSegment(target.id + 1);
+                        target.lastWrite = 0;
+                    }
+                    byte[] key = HexFormat.of().parseHex(entry.getKey(), 2, entry.getKey().length());
+                    long offset = target.append(encode(namespace.id, namespace.version, key, value));
+                    target.lastWrite = Math.max(target.lastWrite, source.lastWrite);
+                    compacted.put(entry.getKey(), new Location(target, offset, value.length, namespace.version));
+                }
+            }
+            if (target.size > 0) {
+                target.touch();
+            } else {
+                target.lastWrite = clock.millis();
+            }
+
+            index = compacted;
+            active = target;
+            for (Segment segment : oldSegments) {
+                segments.remove(segment.id);
+                segment.delete();
+            }
+            log.info("结果存储压缩完成 records={}", compacted.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        writeLock.lock();
+        try {
+            return new Stats(enabled, index.size(), segments.size(), liveBytes(), deadBytes());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 计算内容摘要 (SHA-256)，各部分之间以 0 分隔
+     */
+    public static byte[] digest(CharSequence... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            for (CharSequence part : parts) {
+                var encoder = StandardCharsets.UTF_8.newEncoder();
+                CharBuffer chars = CharBuffer.wrap(part);
+                while (true) {
+                    var result = encoder.encode(chars, buffer, true);
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.clear();
+                    if (result.isUnderflow()) {
+                        break;
+                    }
+                }
+                digest.update((byte) 0);
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+        writeLock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void rebuildIndex(Segment segment) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        byte[] key = new byte[KEY_LENGTH];
+        long offset = 0;
+        while (offset + HEADER_LENGTH <= segment.size) {
+            header.clear();
+            segment.channel.read(header, offset);
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                break;
+            }
+            byte namespace = header.get();
+            int version = header.getInt();
+            header.get(key);
+            int length = header.getInt();
+            if (length < 0 || offset + recordLength(length) > segment.size) {
+                break;
+            }
+            Location previous = index.put(indexKey(namespace, key), new Location(segment, offset, length, version));
+            if (previous != null) {
+                previous.segment.deadBytes += recordLength(previous.length);
+            }
+            offset += recordLength(length);
+        }
+        if (offset < segment.size) {
+            // 截断崩溃时写了一半的记录
+            log.warn("截断损坏的段文件尾部 segment={} offset={}", segment.file.getFileName(), offset);
+            segment.channel.truncate(offset);
+            segment.size = offset;
+        }
+    }
+
+    /**
+     * 删除最后写入早于保留期的段，再按从旧到新删除段直到总大小不超过上限；调用方持有写锁
+     */
+    private void evict() throws IOException {
+        long expiry = clock.millis() - maxAge.toMillis();
+        if (active.size > 0 && active.lastWrite < expiry) {
+            active.seal();
+            active = createSegment(active.id + 1);
+        }
+        long total = totalBytes();
+        List<Segment> evicted = new ArrayList<>();
+        for (Segment segment : segments.values()) {
+            if (segment == active) {
+                break;
+            }
+            if (segment.lastWrite >= expiry && total <= maxSize.toBytes()) {
+                break;
+            }
+            evicted.add(segment);
+            total -= segment.size;
+        }
+        if (evicted.isEmpty()) {
+            return;
+        }
+        index.values().removeIf(location -> evicted.contains(location.segment));
+        for (Segment segment : evicted) {
+            segments.remove(segment.id);
+            segment.delete();
+        }
+        log.info("结果存储淘汰段 segments={} records={}", evicted.size(), index.size());
+    }
+
+    private Segment createSegment(int id) throws IOException {
+        Segment segment = Segment.open(directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX)), id);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private long totalBytes() {
+        long bytes = 0;
+        for (Segment segment : segments.values()) {
+            bytes += segment.size;
+        }
+        return bytes;
+    }
+
+    private long deadBytes() {
+        long bytes = 0;
+        for (Segment segment : segments.values()) {
+            bytes += segment.deadBytes;
+        }
+        return bytes;
+    }
+
+    private long liveBytes() {
+        return totalBytes() - deadBytes();
+    }
+
+    private static ByteBuffer encode(byte namespace, int version, byte[] key, byte[] value) {
+        if (key.length != KEY_LENGTH) {
+            throw new IllegalArgumentException("键长度必须为 " + KEY_LENGTH + " 字节");
+        }
+        ByteBuffer record = ByteBuffer.allocate((int) recordLength(value.length));
+        record.putInt(MAGIC).put(namespace).putInt(version).put(key).putInt(value.length).put(value);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 4, HEADER_LENGTH - 4 + value.length);
+        record.putInt((int) crc.getValue());
+        record.flip();
+        return record;
+    }
+
+    private static long recordLength(int valueLength) {
+        return (long) HEADER_LENGTH + valueLength + TRAILER_LENGTH;
+    }
+
+    private static String indexKey(byte namespace, byte[] key) {
+        return HexFormat.of().toHexDigits(namespace) + HexFormat.of().formatHex(key);
+    }
+
+    private static boolean isSegmentFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static int segmentId(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private record Location(Segment segment, long offset, int length, int version) {
+    }
+
+    /**
+     * 存储统计
+     */
+    public record Stats(boolean enabled, int records, int segments, long liveBytes, long deadBytes) {
+    }
+
+    /**
+     * 单个段文件；活动段通过 FileChannel 追加和读取，封存后改为内存映射读取
+     */
+    private static final class Segment {
+        final Path file;
+        final int id;
+        final FileChannel channel;
+        volatile long size;
+        volatile MappedByteBuffer mapped;
+        /** 最后一次写入的时间 (毫秒)，重启后取自文件修改时间 */
+        long lastWrite;
+        /** 已被同键新记录覆盖的字节数 */
+        long deadBytes;
+
+        private Segment(Path file, int id, FileChannel channel) throws IOException {
+            this.file = file;
+            this.id = id;
+            this.channel = channel;
+            this.size = channel.size();
+            this.lastWrite = Files.getLastModifiedTime(file).toMillis();
+        }
+
+        static Segment open(Path file, int id) throws IOException {
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(file, id, channel);
+        }
+
+        long append(ByteBuffer record) throws IOException {
+            long offset = size;
+            long position = offset;
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+            size = position;
+            return offset;
+        }
+
+        /**
+         * 把文件修改时间设为 lastWrite，使重启后的保留期从记录的原始写入时间算起
+         */
+        void touch() throws IOException {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(lastWrite));
+        }
+
+        void seal() throws IOException {
+            channel.force(false);
+            if (size > 0 && size <= Integer.MAX_VALUE) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+        }
+
+        /**
+         * 读取记录值并校验 CRC，校验失败返回 null
+         */
+        byte[] read(long offset, int length) throws IOException {
+            int total = (int) recordLength(length);
+            ByteBuffer record;
+            MappedByteBuffer view = mapped;
+            if (view != null) {
+                byte[] bytes = new byte[total];
+                view.get((int) offset, bytes);
+                record = ByteBuffer.wrap(bytes);
+            } else {
+                record = ByteBuffer.allocate(total);
+                while (record.hasRemaining()) {
+                    if (channel.read(record, offset + record.position()) < 0) {
+                        return null;
+                    }
+                }
+                record.flip();
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(record.array(), 4, HEADER_LENGTH - 4 + length);
+            if ((int) crc.getValue() != record.getInt(HEADER_LENGTH + length)) {
+                return null;
+            }
+            byte[] value = new byte[length];
+            record.get(HEADER_LENGTH, value);
+            return value;
+        }
+
+        void close() {
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException e) {
+                log.warn("关闭段文件失败 segment={} error={}", file.getFileName(), e.toString());
+            }
+        }
+
+        void delete() throws IOException {
+            channel.close();
+            mapped = null;
+            Files.deleteIfExists(file);
+        }
+    }
+}
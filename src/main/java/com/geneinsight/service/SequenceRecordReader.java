@@ -0,0 +1,181 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.PackedSequence;
+import com.geneinsight.model.SequenceRecord;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 增量读取 FASTA/FASTQ 记录（支持 gzip）
+ * 每次只在内存中保留当前一条记录，整体内存占用与文件大小无关。
+ * 单条记录无效（含非法字符或超过最大长度）时抛出 {@link InvalidRecordException}，读取位置已越过该记录，
+ * 可继续读取下一条；流本身格式错误时抛出 IOException。
+ */
+public class SequenceRecordReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final int maxRecordLength;
+    private final StringBuilder buffer = new StringBuilder();
+    /** 当前记录的碱基数；超过上限后只计数，不再缓存 */
+    private long recordLength;
+    private String pendingLine;
+
+    public SequenceRecordReader(InputStream input, int maxRecordLength) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(decompressIfNeeded(input), StandardCharsets.US_ASCII));
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * 读取下一条记录，文件结束时返回 null
+     */
+    public SequenceRecord next() throws IOException {
+        String header = pendingLine != null ? pendingLine : nextNonEmptyLine();
+        pendingLine = null;
+        if (header == null) {
+            return null;
+        }
+        if (header.startsWith(">")) {
+            return readFasta(header);
+        }
+        if (header.startsWith("@")) {
+            return readFastq(header);
+        }
+        throw new IOException("无法识别的记录头: " + abbreviate(header));
+    }
+
+    private SequenceRecord readFasta(String header) throws IOException {
+        startRecord();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.startsWith(">")) {
+                pendingLine = line;
+                break;
+            }
+            appendSequenceLine(line, header);
+        }
+        return toRecord(header);
+    }
+
+    private SequenceRecord readFastq(String header) throws IOException {
+        startRecord();
+        String line;
+        while ((line = reader.readLine()) != null && !line.startsWith("+")) {
+            appendSequenceLine(line, header);
+        }
+        if (line == null) {
+            throw new IOException("FASTQ 记录缺少 '+' 行: " + abbreviate(header));
+        }
+        // 跳过与序列等长的质量值
+        long qualityLength = 0;
+        while (qualityLength < recordLength && (line = reader.readLine()) != null) {
+            qualityLength += line.trim().length();
+        }
+        if (qualityLength != recordLength) {
+            throw new IOException("FASTQ 质量值长度与序列不一致: " + abbreviate(header));
+        }
+        return toRecord(header);
+    }
+
+    private void startRecord() {
+        buffer.setLength(0);
+        recordLength = 0;
+    }
+
+    /**
+     * 追加一行序列；记录超过最大长度后丢弃已缓存的内容，只继续计数直到记录结束
+     */
+    private void appendSequenceLine(String line, String header) {
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (!Character.isWhitespace(ch)) {
+                if (++recordLength <= maxRecordLength) {
+                    buffer.append(ch);
+                }
+            }
+        }
+        if (recordLength > maxRecordLength && buffer.length() > 0) {
+            buffer.setLength(0);
+        }
+    }
+
+    private SequenceRecord toRecord(String header) {
+        String title = header.substring(1).trim();
+        int space = indexOfWhitespace(title);
+        String id = space < 0 ? title : title.substring(0, space);
+        String description = space < 0 ? "" : title.substring(space + 1).trim();
+        if (recordLength > maxRecordLength) {
+            throw new InvalidRecordException(id, id + ": 记录超过最大长度 " + maxRecordLength, null);
+        }
+        try {
+            return new SequenceRecord(id, description, PackedSequence.of(buffer));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException(id, id + ": " + e.getMessage(), e);
+        }
+    }
+
+    private String nextNonEmptyLine() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isBlank()) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    private static int indexOfWhitespace(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String abbreviate(String text) {
+        return text.length() > 60 ? text.substring(0, 60) + "..." : text;
+    }
+
+    /**
+     * 根据 gzip 魔数 (0x1f 0x8b) 自动解压
+     */
+    private static InputStream decompressIfNeeded(InputStream input) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(input, 64 * 1024);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        if (first == 0x1f && second == 0x8b) {
+            return new GZIPInputStream(buffered, 64 * 1024);
+        }
+        return buffered;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 单条记录无效，读取位置已越过该记录
+     */
+    public static class InvalidRecordException extends IllegalArgumentException {
+        private final String recordId;
+
+        public InvalidRecordException(String recordId, String message, Throwable cause) {
+            super(message, cause);
+            this.recordId = recordId;
+        }
+
+        public String getRecordId() {
+            return recordId;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.OpenReadingFrame;
+import com.geneinsight.model.SequenceStats;
+import com.geneinsight.model.TandemRepeat;
+
+import java.util.List;
+
+/**
+ * 序列扫描阶段的汇总结果，串行与分块并行两条路径产出相同的结构
+ */
+record SequenceScan(SequenceStats stats, List<OpenReadingFrame> orfs, List<TandemRepeat> repeats) {
+}
@@ -0,0 +1,98 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.Nucleotides;
+import com.geneinsight.model.PackedSequence;
+import com.geneinsight.model.SequenceStats;
+
+/**
+ * 单次扫描的序列统计内核
+ * 一次遍历同时得到 A/C/G/T/N 计数、简并碱基数和 CpG 二核苷酸数，不产生中间字符串；
+ * 非核苷酸字符单独计数，不算作简并碱基
+ */
+public final class SequenceStatistics {
+
+    private SequenceStatistics() {}
+
+    /**
+     * 统计整条序列
+     */
+    public static SequenceStats compute(CharSequence sequence) {
+        if (sequence == null) {
+            return new SequenceStats();
+        }
+        if (sequence instanceof PackedSequence packed) {
+            return packed.stats();
+        }
+        return compute(sequence, 0, sequence.length());
+    }
+
+    /**
+     * 统计 [from, to) 区间；CpG 以 G 所在位置归属区间，因此相邻区间的结果可直接相加
+     */
+    public static SequenceStats compute(CharSequence sequence, int from, int to) {
+        if (sequence instanceof PackedSequence packed) {
+            SequenceStats stats = packed.subSequence(from, to).stats();
+            if (from > 0 && from < to && packed.code(from - 1) == Nucleotides.C && packed.code(from) == Nucleotides.G) {
+                stats.setCpgCount(stats.getCpgCount() + 1);
+            }
+            return stats;
+        }
+        int a = 0, c = 0, g = 0, t = 0, n = 0, ambiguous = 0, invalid = 0, cpg = 0;
+        int previous = from > 0 ? Nucleotides.code(sequence.charAt(from - 1)) : Nucleotides.INVALID;
+
+        for (int i = from; i < to; i++) {
+            int code = Nucleotides.code(sequence.charAt(i));
+            switch (code) {
+                case Nucleotides.A -> a++;
+                case Nucleotides.C -> c++;
+                case Nucleotides.G -> {
+                    g++;
+                    if (previous == Nucleotides.C) {
+                        cpg++;
+                    }
+                }
+                case Nucleotides.T -> t++;
+                case Nucleotides.N -> n++;
+                case Nucleotides.AMBIGUOUS -> ambiguous++;
+                default -> invalid++;
+            }
+            previous = code;
+        }
+
+        return withInvalid(new SequenceStats(to - from, a, c, g, t, n, ambiguous, cpg), invalid);
+    }
+
+    /**
+     * 统计 ASCII 字节序列
+     */
+    public static SequenceStats compute(byte[] sequence) {
+        int a = 0, c = 0, g = 0, t = 0, n = 0, ambiguous = 0, invalid = 0, cpg = 0;
+        int previous = Nucleotides.INVALID;
+
+        for (byte b : sequence) {
+            int code = Nucleotides.code(b);
+            switch (code) {
+                case Nucleotides.A -> a++;
+                case Nucleotides.C -> c++;
+                case Nucleotides.G -> {
+                    g++;
+                    if (previous == Nucleotides.C) {
+                        cpg++;
+                    }
+                }
+                case Nucleotides.T -> t++;
+                case Nucleotides.N -> n++;
+                case Nucleotides.AMBIGUOUS -> ambiguous++;
+                default -> invalid++;
+            }
+            previous = code;
+        }
+
+        return withInvalid(new SequenceStats(sequence.length, a, c, g, t, n, ambiguous, cpg), invalid);
+    }
+
+    private static SequenceStats withInvalid(SequenceStats stats, int invalid) {
+        stats.setInvalidCount(invalid);
+        return stats;
+    }
+}
@@ -0,0 +1,61 @@
+package com.geneinsight.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 合并相同键的并发调用: 第一个到达的调用者在自己的线程上执行计算，计算期间到达的调用者等待并共享同一结果或异常。
+ * 计算结束即移除，之后的调用重新执行；跨时间的结果复用由调用方的缓存或存储负责。
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+    /**
+     * 调用结果; shared 为 true 表示结果来自其他调用者发起的计算
+     */
+    record Outcome<V>(V value, boolean shared) {
+    }
+
+    Outcome<V> execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> running = calls.putIfAbsent(key, created);
+        if (running != null) {
+            return new Outcome<>(await(running), true);
+        }
+        try {
+            V value = computation.get();
+            created.complete(value);
+            return new Outcome<>(value, false);
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, created);
+        }
+    }
+
+    /**
+     * 进行中的计算数
+     */
+    int inFlight() {
+        return calls.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // 向等待者抛出与发起者相同的异常
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.Nucleotides;
+import com.geneinsight.model.TandemRepeat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 线性时间串联重复扫描
+ * 对周期 1-6 同时维护 s[i] == s[i-p] 的匹配游程，一次遍历找出全部重复区域；
+ * 只报告重复单元本身不可再分（primitive）的周期，避免同一区域在倍数周期上重复出现。
+ */
+public class TandemRepeatScanner {
+
+    public static final int MAX_PERIOD = 6;
+
+    /**
+     * 重复扩展疾病及其致病拷贝数阈值（重复单元按任意循环移位匹配）
+     */
+    public record Disorder(String motif, String disease, String gene, int threshold) {
+
+        Disorder withThreshold(int newThreshold) {
+            return new Disorder(motif, disease, gene, newThreshold);
+        }
+    }
+
+    public static final List<Disorder> DEFAULT_DISORDERS = List.of(
+            new Disorder("CAG", "亨廷顿病及多聚谷氨酰胺类神经退行性疾病", "HTT", 40),
+            new Disorder("CGG", "脆性X综合征", "FMR1", 200),
+            new Disorder("GAA", "弗里德赖希共济失调", "FXN", 66),
+            new Disorder("CTG", "强直性肌营养不良1型", "DMPK", 50),
+            new Disorder("CCTG", "强直性肌营养不良2型", "CNBP", 75),
+            new Disorder("ATTCT", "脊髓小脑共济失调10型", "ATXN10", 800),
+            new Disorder("GGGGCC", "肌萎缩侧索硬化/额颞叶痴呆", "C9orf72", 30)
+    );
+
+    static final Comparator<TandemRepeat> POSITION_ORDER = Comparator
+            .comparingInt(TandemRepeat::getStart)
+            .thenComparingInt(TandemRepeat::getPeriod);
+
+    private final int minLength;
+    /** 以最小循环移位为键的疾病表 */
+    private final Map<String, Disorder> disorders = new LinkedHashMap<>();
+
+    public TandemRepeatScanner() {
+        this(12, DEFAULT_DISORDERS);
+    }
+
+    /**
+     * @param minLength 报告的最小重复区域长度（bp）
+     * @param disorders 重复扩展疾病表
+     */
+    public TandemRepeatScanner(int minLength, List<Disorder> disorders) {
+        this.minLength = minLength;
+        for (Disorder disorder : disorders) {
+            this.disorders.put(canonicalMotif(disorder.motif()), disorder);
+        }
+    }
+
+    /**
+     * 按 "CAG=40,CGG=200" 格式覆盖默认阈值
+     */
+    public static TandemRepeatScanner withThresholds(int minLength, String thresholds) {
+        Map<String, Disorder> table = new LinkedHashMap<>();
+        for (Disorder disorder : DEFAULT_DISORDERS) {
+            table.put(disorder.motif(), disorder);
+        }
+        if (thresholds != null && !thresholds.isBlank()) {
+            for (String item : thresholds.split(",")) {
+                String[] parts = item.trim().split("[=:]");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("无效的重复阈值配置: " + item);
+                }
+                String motif = parts[0].trim().toUpperCase();
+                int threshold = Integer.parseInt(parts[1].trim());
+                Disorder disorder = table.get(motif);
+                table.put(motif, disorder != null
+                        ? disorder.withThreshold(threshold)
+                        : new Disorder(motif, motif + " 重复扩展相关疾病", "-", threshold));
+            }
+        }
+        return new TandemRepeatScanner(minLength, new ArrayList<>(table.values()));
+    }
+
+    /**
+     * 扫描整条序列
+     */
+    public List<TandemRepeat> scan(CharSequence sequence) {
+        return scan(sequence, 0, sequence.length());
+    }
+
+    /**
+     * 报告起点位于 [from, to) 内的重复区域，区域本身可以延伸到 to 之后
+     */
+    public List<TandemRepeat> scan(CharSequence sequence, int from, int to) {
+        int length = sequence.length();
+        List<TandemRepeat> repeats = new ArrayList<>();
+        // 最近 8 个碱基的环形缓冲
+        int[] window = new int[8];
+        // 当前匹配游程的第一个匹配位置，-1 表示不在游程中
+        int[] runStart = new int[MAX_PERIOD + 1];
+        boolean[] owned = new boolean[MAX_PERIOD + 1];
+        Arrays.fill(runStart, -1);
+
+        for (int i = Math.max(0, from - MAX_PERIOD - 1); i < from; i++) {
+            window[i & 7] = Nucleotides.code(sequence.charAt(i));
+        }
+        // 已在 from 之前开始的游程属于前一个区间
+        for (int p = 1; p <= MAX_PERIOD; p++) {
+            int previous = from - 1;
+            if (previous - p >= 0 && matches(window, previous, p)) {
+                runStart[p] = previous;
+            }
+        }
+
+        int i = from;
+        for (; i < length; i++) {
+            int code = Nucleotides.code(sequence.charAt(i));
+            window[i & 7] = code;
+
+            boolean active = false;
+            for (int p = 1; p <= MAX_PERIOD && p <= i; p++) {
+                if (code >= 0 && code < 4 && code == window[(i - p) & 7]) {
+                    if (runStart[p] < 0) {
+                        runStart[p] = i;
+                        owned[p] = i - p >= from && i - p < to;
+                    }
+                } else if (runStart[p] >= 0) {
+                    if (owned[p]) {
+                        report(sequence, p, runStart[p], i, repeats);
+                    }
+                    runStart[p] = -1;
+                    owned[p] = false;
+                }
+                active |= owned[p];
+            }
+
+            // 超出区间后，只需把本区间拥有的游程扫描完
+            if (i >= to + MAX_PERIOD && !active) {
+                break;
+            }
+        }
+
+        for (int p = 1; p <= MAX_PERIOD; p++) {
+            if (runStart[p] >= 0 && owned[p]) {
+                report(sequence, p, runStart[p], Math.min(i, length), repeats);
+            }
+        }
+        repeats.sort(POSITION_ORDER);
+        return repeats;
+    }
+
+    /**
+     * 找出达到致病阈值的重复扩展，每种疾病保留拷贝数最多的区域
+     */
+    public Map<Disorder, TandemRepeat> findExpansions(List<TandemRepeat> repeats) {
+        Map<Disorder, TandemRepeat> expansions = new LinkedHashMap<>();
+        for (TandemRepeat repeat : repeats) {
+            Disorder disorder = disorders.get(canonicalMotif(repeat.getMotif()));
+            if (disorder == null || repeat.getCopies() < disorder.threshold()) {
+                continue;
+            }
+            TandemRepeat current = expansions.get(disorder);
+            if (current == null || repeat.getCopies() > current.getCopies()) {
+                expansions.put(disorder, repeat);
+            }
+        }
+        return expansions;
+    }
+
+    private static boolean matches(int[] window, int position, int period) {
+        int code = window[position & 7];
+        return code >= 0 && code < 4 && code == window[(position - period) & 7];
+    }
+
+    /**
+     * 匹配游程 [runStart, runEnd) 对应的重复区域为 [runStart - period, runEnd)
+     */
+    private void report(CharSequence sequence, int period, int runStart, int runEnd, List<TandemRepeat> repeats) {
+        int start = runStart - period;
+        int regionLength = runEnd - start;
+        if (regionLength < minLength || regionLength < 2 * period) {
+            return;
+        }
+        char[] motif = new char[period];
+        for (int k = 0; k < period; k++) {
+            // 重复区域内只有 ACGT，按编码取大写碱基
+            motif[k] = Nucleotides.base(Nucleotides.code(sequence.charAt(start + k)));
+        }
+        if (isPrimitive(motif)) {
+            repeats.add(new TandemRepeat(start, runEnd, period, new String(motif)));
+        }
+    }
+
+    private static boolean isPrimitive(char[] motif) {
+        int period = motif.length;
+        for (int d = 1; d < period; d++) {
+            if (period % d != 0) {
+                continue;
+            }
+            boolean periodic = true;
+            for (int k = d; k < period && periodic; k++) {
+                periodic = motif[k] == motif[k - d];
+            }
+            if (periodic) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 重复单元的最小循环移位，用于不区分相位地比较
+     */
+    static String canonicalMotif(String motif) {
+        String doubled = motif + motif;
+        String best = motif;
+        for (int k = 1; k < motif.length(); k++) {
+            String rotation = doubled.substring(k, k + motif.length());
+            if (rotation.compareTo(best) < 0) {
+                best = rotation;
+            }
+        }
+        return best;
+    }
+}
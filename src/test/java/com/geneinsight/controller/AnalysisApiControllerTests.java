@@ -0,0 +1,106 @@
+package com.geneinsight.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "geneinsight.store.enabled=false")
+@AutoConfigureMockMvc
+class AnalysisApiControllerTests {
+
+    private static final String BODY = """
+            {"geneName": "TEST1", "species": "Homo sapiens (人类)",
+             "geneSequence": "ccATGAAACCCGGGTTTAAACCCGGGTTTAAACCCGGGTTTAAACCCTAAgg"}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void returnsOrfOffsetsWithoutSequencesByDefault() throws Exception {
+        MvcResult pending = mockMvc.perform(post("/api/v1/analyze")
+                        .contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sequenceLength").value(52))
+                .andExpect(jsonPath("$.openReadingFrames[0].start").value(2))
+                .andExpect(jsonPath("$.openReadingFrames[0].end").value(50))
+                .andExpect(jsonPath("$.openReadingFrames[0].strand").value("+"))
+                .andExpect(jsonPath("$.sequenceStats.countG").isNumber())
+                .andExpect(jsonPath("$.potentialProteins").doesNotExist())
+                .andExpect(jsonPath("$.llmInterpretation").doesNotExist());
+    }
+
+    @Test
+    void computesOnlySelectedFields() throws Exception {
+        MvcResult pending = mockMvc.perform(post("/api/v1/analyze").param("fields", "stats,proteins")
+                        .contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nucleotideComposition.A").isNumber())
+                .andExpect(jsonPath("$.potentialProteins[0]").value(
+                        "ATGAAACCCGGGTTTAAACCCGGGTTTAAACCCGGGTTTAAACCCTAA"))
+                .andExpect(jsonPath("$.openReadingFrames").doesNotExist())
+                .andExpect(jsonPath("$.tandemRepeats").doesNotExist())
+                .andExpect(jsonPath("$.diseaseAssociations").doesNotExist());
+    }
+
+    @Test
+    void rejectsUnknownFieldsAndInvalidSequences() throws Exception {
+        MvcResult unknownField = mockMvc.perform(post("/api/v1/analyze").param("fields", "stats,sequence")
+                        .contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(unknownField))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("未知的字段: sequence"));
+
+        MvcResult invalid = mockMvc.perform(post("/api/v1/analyze")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY.replace("ccATG", "ccXTG")))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(invalid))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("基因序列只能包含 A, T, G, C 字符，第 3 个碱基处为 'X'"));
+    }
+
+    @Test
+    void normalizesPastedFastaBeforeAnalysis() throws Exception {
+        String fasta = BODY.replace("\"ccATGAAACCCGGGTTTAAACCCGGG",
+                "\">test1 pasted record\\nccATGAAACCC GGGTTTAAA\\r\\nCCCGGG");
+        MvcResult pending = mockMvc.perform(post("/api/v1/analyze").param("fields", "stats,orfs")
+                        .contentType(MediaType.APPLICATION_JSON).content(fasta))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sequenceLength").value(52))
+                .andExpect(jsonPath("$.openReadingFrames[0].start").value(2));
+    }
+
+    @Test
+    void servesExampleSequencesAsJson() throws Exception {
+        mockMvc.perform(get("/api/example-sequence").param("gene", "tp53"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.geneName").value("TP53"))
+                .andExpect(jsonPath("$.geneSequence").value(org.hamcrest.Matchers.startsWith("ATGGAGGAG")));
+
+        mockMvc.perform(get("/api/example-sequence").param("gene", "NOPE"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,76 @@
+package com.geneinsight.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "geneinsight.store.enabled=false")
+@AutoConfigureMockMvc
+class AnalysisJobControllerTests {
+
+    private static final String BODY = """
+            {"geneName": "TEST1", "species": "Homo sapiens (人类)",
+             "geneSequence": "ccATGAAACCCGGGTTTAAACCCGGGTTTAAACCCGGGTTTAAACCCTAAgg"}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void runsSubmittedJobAndReturnsResultWhenPolled() throws Exception {
+        String submitted = mockMvc.perform(post("/api/v1/jobs").param("fields", "stats,orfs")
+                        .param("priority", "high")
+                        .contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.priority").value("HIGH"))
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(submitted).get("id").asText();
+
+        JsonNode job = poll(id);
+        for (int i = 0; i < 500 && !"SUCCEEDED".equals(job.get("status").asText()); i++) {
+            Thread.sleep(20);
+            job = poll(id);
+        }
+
+        assertEquals("SUCCEEDED", job.get("status").asText(), job.toString());
+        assertEquals(52, job.at("/result/sequenceLength").asInt());
+        assertEquals(2, job.at("/result/openReadingFrames/0/start").asInt());
+        assertTrue(job.at("/result/tandemRepeats").isMissingNode(), job.toString());
+    }
+
+    @Test
+    void rejectsInvalidSubmissionsAndUnknownJobs() throws Exception {
+        mockMvc.perform(post("/api/v1/jobs").param("priority", "urgent")
+                        .contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("未知的优先级: urgent"));
+        mockMvc.perform(post("/api/v1/jobs")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"geneName\": \"TEST1\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/jobs/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode poll(String id) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/v1/jobs/" + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
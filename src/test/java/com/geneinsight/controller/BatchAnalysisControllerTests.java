@@ -0,0 +1,124 @@
+package com.geneinsight.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"geneinsight.store.enabled=false", "geneinsight.batch.max-record-length=1000"})
+@AutoConfigureMockMvc
+class BatchAnalysisControllerTests {
+
+    private static final String FASTA = """
+            >GENE1 first record
+            ATGAAACCCGGGTTTAAACCC
+            GGGTTTAAACCCTAA
+            >BAD
+            ATGXXXTAA
+            >GENE3
+            ATGGCCGCCGCCTAA
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void writesOneLinePerRecordAndSkipsInvalidRecords() throws Exception {
+        List<JsonNode> lines = analyze(FASTA.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(3, lines.size());
+        assertEquals("GENE1", lines.get(0).get("geneName").asText());
+        assertEquals(36, lines.get(0).get("sequenceLength").asInt());
+        assertEquals("BAD", lines.get(1).get("id").asText());
+        assertTrue(lines.get(1).get("error").asText().startsWith("BAD: "));
+        assertEquals("GENE3", lines.get(2).get("geneName").asText());
+        assertFalse(lines.get(2).has("openReadingFrames"));
+    }
+
+    @Test
+    void reportsOversizedRecordsAndContinues() throws Exception {
+        String fasta = ">GENE1\nATGAAACCCGGGTTTAAACCCTAA\n>HUGE\n" + "ACGT".repeat(400) + "\n" + "ACGT".repeat(400)
+                + "\n>GENE3\nATGGCCGCCGCCTAA\n";
+        List<JsonNode> lines = analyze(fasta.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(3, lines.size());
+        assertEquals("GENE1", lines.get(0).get("geneName").asText());
+        assertEquals("HUGE", lines.get(1).get("id").asText());
+        assertTrue(lines.get(1).get("error").asText().contains("最大长度"));
+        assertEquals("GENE3", lines.get(2).get("geneName").asText());
+    }
+
+    @Test
+    void acceptsGzipCompressedInput() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(FASTA.getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals(analyze(FASTA.getBytes(StandardCharsets.UTF_8)), analyze(compressed.toByteArray()));
+    }
+
+    @Test
+    void rejectsUnknownFields() throws Exception {
+        MvcResult pending = mockMvc.perform(post("/api/batch/analyze").param("fields", "stats,sequence")
+                        .content(FASTA))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String output = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertEquals("{\"id\":null,\"error\":\"未知的字段: sequence\"}\n", output);
+    }
+
+    private List<JsonNode> analyze(byte[] body) throws Exception {
+        MvcResult pending = mockMvc.perform(post("/api/batch/analyze").param("fields", "stats").content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // 批量输出不受全局异步超时限制
+        assertEquals(-1, pending.getRequest().getAsyncContext().getTimeout());
+        String output = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : output.split("\n")) {
+            lines.add(parse(line));
+        }
+        return lines;
+    }
+
+    private JsonNode parse(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalStateException(line, e);
+        }
+    }
+}
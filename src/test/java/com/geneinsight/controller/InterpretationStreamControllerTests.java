@@ -0,0 +1,59 @@
+package com.geneinsight.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "geneinsight.store.enabled=false")
+@AutoConfigureMockMvc
+class InterpretationStreamControllerTests {
+
+    private static final Pattern RESULT_ID = Pattern.compile("data-result-id=\"([0-9a-f]{64})\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void streamsInterpretationOfStoredResultById() throws Exception {
+        MvcResult pending = mockMvc.perform(post("/analyze")
+                        .param("geneSequence", "ATGAAACCCGGGTTTAAACCCGGGTTTAAACCCGGGTTTAAACCCTAA")
+                        .param("geneName", "TP53")
+                        .param("species", "Homo sapiens (人类)"))
+                .andReturn();
+        String page = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        // 页面只携带结果编号，不再携带提示词素材
+        assertTrue(!page.contains("data-functional-analysis"), "page still embeds prompt text");
+        Matcher matcher = RESULT_ID.matcher(page);
+        assertTrue(matcher.find(), "missing result id");
+
+        MvcResult stream = mockMvc.perform(get("/api/llm/interpretation/stream").param("id", matcher.group(1)))
+                .andReturn();
+        String events = mockMvc.perform(asyncDispatch(stream))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(events.contains("TP53") && events.contains("event:done"), events);
+    }
+
+    @Test
+    void rejectsUnknownResultIds() throws Exception {
+        mockMvc.perform(get("/api/llm/interpretation/stream").param("id", "0".repeat(64)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/llm/interpretation/stream")
+                        .param("geneName", "TP53").param("species", "Homo sapiens"))
+                .andExpect(status().isBadRequest());
+    }
+}
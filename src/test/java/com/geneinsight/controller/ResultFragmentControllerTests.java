@@ -0,0 +1,79 @@
+package com.geneinsight.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "geneinsight.store.enabled=false")
+@AutoConfigureMockMvc
+class ResultFragmentControllerTests {
+
+    private static final Pattern ORFS_URL = Pattern.compile("/results/([0-9a-f]{64})/orfs\\?page=1");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void rendersFirstPagesAndServesTheRestAsFragments() throws Exception {
+        Random random = new Random(11);
+        StringBuilder sequence = new StringBuilder();
+        for (int i = 0; i < 200_000; i++) {
+            sequence.append("ACGT".charAt(random.nextInt(4)));
+        }
+        MvcResult pending = mockMvc.perform(post("/analyze")
+                        .param("geneSequence", sequence.toString())
+                        .param("geneName", "TEST1")
+                        .param("species", "Homo sapiens (人类)"))
+                .andReturn();
+        String page = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // 页面大小与序列长度无关: 每个分段只渲染第一页
+        assertTrue(page.length() < 100_000, "page length " + page.length());
+        Matcher matcher = ORFS_URL.matcher(page);
+        assertTrue(matcher.find(), "missing ORF pagination");
+        String id = matcher.group(1);
+
+        String orfs = mockMvc.perform(get("/results/" + id + "/orfs").param("page", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        // 一页 20 行，末尾为下一页的“加载更多”行
+        assertEquals(20, orfs.split("<tr>", -1).length - 1);
+        assertTrue(orfs.contains("class=\"load-more-row\"") && orfs.contains("/results/" + id + "/orfs?page=2"));
+
+        // 翻译产物按页翻译: 一页 5 个蛋白，每个蛋白一行属性、一行序列
+        String translations = mockMvc.perform(get("/results/" + id + "/translations").param("page", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(10, translations.split("<tr>", -1).length - 1);
+        assertTrue(translations.contains("/results/" + id + "/translations?page=2"));
+
+        mockMvc.perform(get("/results/" + id + "/translations/0/sequence"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.matchesPattern("[A-Z*]+")));
+    }
+
+    @Test
+    void returnsNotFoundForUnknownResultsAndSections() throws Exception {
+        mockMvc.perform(get("/results/" + "0".repeat(64) + "/orfs"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/results/" + "0".repeat(64) + "/sequence"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,123 @@
+package com.geneinsight.controller;
+
+import com.geneinsight.service.FakeDeepSeekApi;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 虚拟线程负载测试: Tomcat 只有 4 个工作线程，大模型接口每次调用耗时 300 ms。
+ * 批量分析接口在输出线程上阻塞等待解读，平台线程下并发受线程池限制，虚拟线程下所有请求同时等待。
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "server.tomcat.threads.max=4",
+        "geneinsight.store.enabled=false",
+        "deepseek.api.key=test-key",
+        "deepseek.batch.enabled=false",
+        "deepseek.client.max-connections=128",
+        "deepseek.client.max-concurrent-calls=128"
+})
+class VirtualThreadLoadTests {
+
+    private static final int REQUESTS = 64;
+    private static final int WORKERS = 4;
+    private static final Duration LLM_LATENCY = Duration.ofMillis(300);
+
+    private static final FakeDeepSeekApi llmApi = FakeDeepSeekApi.start()
+            .latency(n -> (int) LLM_LATENCY.toMillis())
+            .reply(call -> "解读");
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void llmProperties(DynamicPropertyRegistry registry) {
+        registry.add("deepseek.api.url", llmApi::url);
+    }
+
+    @AfterAll
+    static void stopLlmApi() {
+        llmApi.close();
+    }
+
+    @Test
+    void scalesPastWorkerLimitWithoutPinning() throws Exception {
+        HttpClient http = HttpClient.newBuilder().executor(Executors.newCachedThreadPool()).build();
+        // 预热一次，排除首次请求的类加载与连接建立耗时
+        assertEquals(200, http.send(batchRequest("WARMUP"), HttpResponse.BodyHandlers.ofString()).statusCode());
+        llmApi.resetMaxInFlight();
+
+        Path jfr = Files.createTempFile("pinned", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            long started = System.nanoTime();
+            List<CompletableFuture<HttpResponse<String>>> responses = IntStream.range(0, REQUESTS)
+                    .mapToObj(i -> http.sendAsync(batchRequest("GENE" + i), HttpResponse.BodyHandlers.ofString()))
+                    .toList();
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                assertEquals(200, response.join().statusCode());
+                assertTrue(response.join().body().contains("llmInterpretation"));
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+            recording.stop();
+            recording.dump(jfr);
+
+            // 受工作线程数限制时至少需要 REQUESTS / WORKERS 轮
+            assertTrue(llmApi.maxInFlight() > WORKERS * 4, "max in-flight LLM calls: " + llmApi.maxInFlight());
+            assertTrue(elapsed.compareTo(LLM_LATENCY.multipliedBy(REQUESTS / WORKERS / 2)) < 0, "elapsed: " + elapsed);
+            assertEquals(List.of(), pinnedInApplicationCode(jfr));
+        } finally {
+            Files.deleteIfExists(jfr);
+        }
+    }
+
+    private HttpRequest batchRequest(String gene) {
+        String fasta = ">" + gene + "\nATGAAACCCGGGTTTAAACCCGGGTTTAAACCCGGGTTTAAACCCTAA\n";
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/batch/analyze?interpret=true"))
+                .POST(HttpRequest.BodyPublishers.ofString(fasta))
+                .build();
+    }
+
+    /**
+     * 固定载体线程的事件中，堆栈经过本项目代码的那些
+     */
+    private static List<String> pinnedInApplicationCode(Path jfr) throws IOException {
+        return RecordingFile.readAllEvents(jfr).stream()
+                .map(RecordedEvent::getStackTrace)
+                .filter(stackTrace -> stackTrace != null && stackTrace.getFrames().stream()
+                        .map(RecordedFrame::getMethod)
+                        .anyMatch(method -> method.getType().getName().startsWith("com.geneinsight")))
+                .map(Object::toString)
+                .toList();
+    }
+}
@@ -0,0 +1,59 @@
+package com.geneinsight.model;
+
+import com.geneinsight.service.SequenceStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PackedSequenceTests {
+
+    @Test
+    void roundTripsBasesAndIupacRuns() {
+        String sequence = "acgtNNNNACGTRYacgtKMBDHVN";
+        PackedSequence packed = PackedSequence.of(sequence);
+
+        assertEquals(sequence.toUpperCase(), packed.toString());
+        assertEquals(sequence.length(), packed.length());
+        assertThrows(IllegalArgumentException.class, () -> PackedSequence.of("ACGX"));
+    }
+
+    @Test
+    void viewsShareDataWithoutCopying() {
+        PackedSequence packed = PackedSequence.of("AACCGGTTNRAC");
+
+        assertEquals("CCGG", packed.subSequence(2, 6).toString());
+        assertEquals("GTYNAACCGGTT", packed.reverseComplement().toString());
+        assertEquals("NAAC", packed.reverseComplement().subSequence(3, 7).toString());
+        assertEquals("CCGGTTN", packed.reverseComplement().subSequence(3, 10).reverseComplement().toString());
+        assertEquals(0b00_01_10_11L, PackedSequence.of("ACGT").kmer(0, 4));
+        assertEquals(-1L, packed.kmer(7, 3));
+    }
+
+    @Test
+    void wordStatisticsMatchCharacterScan() {
+        Random random = new Random(7);
+        for (int round = 0; round < 100; round++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(400);
+            for (int i = 0; i < length; i++) {
+                sb.append("ACGTACGTACGTNR".charAt(random.nextInt(14)));
+            }
+            String sequence = sb.toString();
+            PackedSequence packed = PackedSequence.of(sequence);
+            int from = length == 0 ? 0 : random.nextInt(length);
+            int to = from + (length == from ? 0 : random.nextInt(length - from + 1));
+
+            assertStats(SequenceStatistics.compute((CharSequence) sequence), packed.stats());
+            assertStats(SequenceStatistics.compute(sequence, from, to), SequenceStatistics.compute(packed, from, to));
+            String reverse = packed.reverseComplement().toString();
+            assertStats(SequenceStatistics.compute((CharSequence) reverse), packed.reverseComplement().stats());
+        }
+    }
+
+    private static void assertStats(SequenceStats expected, SequenceStats actual) {
+        assertEquals(expected.toString(), actual.toString());
+    }
+}
@@ -0,0 +1,56 @@
+package com.geneinsight.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SequenceNormalizerTests {
+
+    @Test
+    void stripsFastaHeadersAndWhitespaceAndUpperCases() {
+        String input = "\n>seq1 example\r\n;comment\nacgt ACGT\r\n\tggcc\n";
+
+        SequenceNormalizer.Result result = SequenceNormalizer.normalize(input, SequenceNormalizer.Alphabet.ACGT);
+
+        assertTrue(result.isValid());
+        assertEquals("ACGTACGTGGCC", result.sequence().toString());
+    }
+
+    @Test
+    void reportsFirstOffendingBasePosition() {
+        SequenceNormalizer.Result result =
+                SequenceNormalizer.normalize("ACG T\nAXC>", SequenceNormalizer.Alphabet.ACGT);
+
+        assertFalse(result.isValid());
+        assertEquals(6, result.errorPosition());
+        assertEquals('X', result.errorCharacter());
+        // 非 Latin-1 字符同样无效
+        assertEquals('碱', SequenceNormalizer.normalize("AC碱", SequenceNormalizer.Alphabet.IUPAC).errorCharacter());
+    }
+
+    @Test
+    void stopsAtMaxLength() {
+        String input = ">seq1\nACGT ACGT\nAC";
+
+        assertEquals("ACGTACGTAC",
+                SequenceNormalizer.normalize(input, SequenceNormalizer.Alphabet.ACGT, 10).sequence().toString());
+        SequenceNormalizer.Result result = SequenceNormalizer.normalize(input + "GX", SequenceNormalizer.Alphabet.ACGT, 10);
+        assertFalse(result.isValid());
+        assertTrue(result.tooLong());
+    }
+
+    @Test
+    void alphabetControlsAmbiguousBases() {
+        String sequence = "ACGTnnACGTry";
+
+        assertEquals(5, SequenceNormalizer.normalize(sequence, SequenceNormalizer.Alphabet.ACGT).errorPosition());
+        assertEquals(11, SequenceNormalizer.normalize(sequence, SequenceNormalizer.Alphabet.ACGTN).errorPosition());
+        assertEquals("ACGTNNACGTRY",
+                SequenceNormalizer.normalize(sequence, SequenceNormalizer.Alphabet.IUPAC).sequence().toString());
+        assertEquals(SequenceNormalizer.Alphabet.ACGTN, SequenceNormalizer.Alphabet.parse(" acgtn "));
+        assertThrows(IllegalArgumentException.class, () -> SequenceNormalizer.Alphabet.parse("rna"));
+    }
+}
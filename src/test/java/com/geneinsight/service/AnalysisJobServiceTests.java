@@ -0,0 +1,159 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.AnalysisField;
+import com.geneinsight.model.AnalysisJob;
+import com.geneinsight.model.GeneAnalysisResult;
+import com.geneinsight.model.PackedSequence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalysisJobServiceTests {
+
+    private static final PackedSequence SEQUENCE = PackedSequence.of("ATGAAACCCGGGTTTTAA");
+    private static final Set<AnalysisField> FIELDS = Set.of(AnalysisField.STATS);
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+    private BlockingService bioinformaticsService;
+    private AnalysisJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        bioinformaticsService = new BlockingService();
+        jobService = new AnalysisJobService();
+        ReflectionTestUtils.setField(jobService, "bioinformaticsService", bioinformaticsService);
+        ReflectionTestUtils.setField(jobService, "workers", 1);
+        ReflectionTestUtils.setField(jobService, "queueCapacity", 2);
+        jobService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        jobService.shutdown();
+        bioinformaticsService.shutdown();
+    }
+
+    @Test
+    void rejectsWhenQueueIsFullAndRunsHighPriorityFirst() throws Exception {
+        AnalysisJob blocking = submit("BLOCK", AnalysisJob.Priority.NORMAL);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        AnalysisJob low = submit("LOW", AnalysisJob.Priority.LOW);
+        AnalysisJob high = submit("HIGH", AnalysisJob.Priority.HIGH);
+
+        assertThrows(RejectedExecutionException.class, () -> submit("EXTRA", AnalysisJob.Priority.HIGH));
+        assertEquals(new AnalysisJobService.Stats(2, 1, 3, 1), jobService.stats());
+        assertEquals(AnalysisJob.Status.RUNNING, jobService.find(blocking.getId()).orElseThrow().getStatus());
+
+        release.countDown();
+        for (AnalysisJob job : List.of(blocking, low, high)) {
+            AnalysisJob done = await(job.getId());
+            assertEquals(AnalysisJob.Status.SUCCEEDED, done.getStatus());
+            assertNotNull(done.getResult().getSequenceStats());
+            assertNull(done.getResult().getOpenReadingFrames());
+        }
+        assertEquals(List.of("BLOCK", "HIGH", "LOW"), executed);
+    }
+
+    @Test
+    void cancelsQueuedJobsAndPurgesThemAfterRetention() throws Exception {
+        submit("BLOCK", AnalysisJob.Priority.NORMAL);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        AnalysisJob queued = submit("QUEUED", AnalysisJob.Priority.NORMAL);
+
+        assertEquals(AnalysisJob.Status.CANCELLED, jobService.cancel(queued.getId()).orElseThrow().getStatus());
+        assertEquals(0, jobService.stats().queued());
+        assertTrue(jobService.cancel("missing").isEmpty());
+
+        jobService.purgeExpired(Instant.now());
+        assertTrue(jobService.find(queued.getId()).isPresent());
+        jobService.purgeExpired(Instant.now().plus(Duration.ofMinutes(31)));
+        assertTrue(jobService.find(queued.getId()).isEmpty());
+
+        release.countDown();
+        assertEquals(List.of("BLOCK"), waitForIdle());
+    }
+
+    @Test
+    void evictsOldestFinishedJobsAndRejectsWhenAllRetainedJobsAreUnfinished() throws Exception {
+        ReflectionTestUtils.setField(jobService, "maxRetained", 2);
+        AnalysisJob blocking = submit("BLOCK", AnalysisJob.Priority.NORMAL);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        AnalysisJob queued = submit("QUEUED", AnalysisJob.Priority.NORMAL);
+
+        // 队列未满，但保留的任务都未完成，没有可淘汰的任务
+        assertThrows(RejectedExecutionException.class, () -> submit("EXTRA", AnalysisJob.Priority.HIGH));
+        assertEquals(1, jobService.stats().rejected());
+
+        release.countDown();
+        await(blocking.getId());
+        await(queued.getId());
+        AnalysisJob next = submit("NEXT", AnalysisJob.Priority.NORMAL);
+
+        // 最早完成的任务被淘汰
+        assertTrue(jobService.find(blocking.getId()).isEmpty());
+        assertTrue(jobService.find(queued.getId()).isPresent());
+        assertEquals(AnalysisJob.Status.SUCCEEDED, await(next.getId()).getStatus());
+        assertEquals(2, jobService.stats().retained());
+    }
+
+    private AnalysisJob submit(String geneName, AnalysisJob.Priority priority) {
+        return jobService.submit(SEQUENCE, geneName, "Homo sapiens", FIELDS, priority);
+    }
+
+    private AnalysisJob await(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        AnalysisJob job = jobService.find(id).orElseThrow();
+        while (!job.getStatus().isDone() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = jobService.find(id).orElseThrow();
+        }
+        return job;
+    }
+
+    private List<String> waitForIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jobService.stats().running() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return executed;
+    }
+
+    /**
+     * 第一个任务阻塞到测试放行，用于让后续任务留在队列中
+     */
+    private final class BlockingService extends BioinformaticsService {
+        @Override
+        public GeneAnalysisResult analyzeGeneSequence(PackedSequence sequence, String geneName, String species,
+                                                      Set<AnalysisField> fields) {
+            executed.add(geneName);
+            if (started.getCount() > 0) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.analyzeGeneSequence(sequence, geneName, species, fields);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.AnalysisField;
+import com.geneinsight.model.PackedSequence;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class AnalysisMetricsTests {
+
+    private static final String SEQUENCE = "ccATGAAACCCGGGTTTAAACCCGGGTTTAAACCCGGGTTTAAACCCTAAgg".toUpperCase();
+
+    @Test
+    void bucketsSequenceLengths() {
+        assertEquals("lt1k", AnalysisMetrics.lengthBucket(0));
+        assertEquals("lt1k", AnalysisMetrics.lengthBucket(999));
+        assertEquals("1k-10k", AnalysisMetrics.lengthBucket(1_000));
+        assertEquals("100k-1m", AnalysisMetrics.lengthBucket(999_999));
+        assertEquals("1m-10m", AnalysisMetrics.lengthBucket(1_000_000));
+        assertEquals("ge10m", AnalysisMetrics.lengthBucket(250_000_000));
+    }
+
+    @Test
+    void timesEachEvaluatedStage() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BioinformaticsService service = new BioinformaticsService();
+        service.setMeterRegistry(registry);
+        try {
+            service.analyzeGeneSequence(SEQUENCE, "TEST1", "Homo sapiens");
+            for (String stage : new String[]{"scan", "proteins", "function", "disease"}) {
+                assertEquals(1, stageTimer(registry, stage).count(), stage);
+            }
+            assertEquals(1, registry.get(AnalysisMetrics.ANALYSIS)
+                    .tags("source", "computed", "fields", "all", "length", "lt1k").timer().count());
+            assertEquals(SEQUENCE.length(), registry.get(AnalysisMetrics.SEQUENCE_LENGTH).summary().totalAmount());
+
+            // 部分分析只执行所选字段依赖的阶段
+            service.analyzeGeneSequence(PackedSequence.of(SEQUENCE), "TEST1", "Homo sapiens",
+                    EnumSet.of(AnalysisField.STATS));
+            assertEquals(2, stageTimer(registry, "scan").count());
+            assertEquals(1, stageTimer(registry, "proteins").count());
+            assertEquals(1, stageTimer(registry, "disease").count());
+            assertEquals(1, registry.get(AnalysisMetrics.ANALYSIS).tags("fields", "partial").timer().count());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void unwrapsAsyncExceptionsForTags() {
+        assertEquals("none", AnalysisMetrics.exceptionTag(null));
+        assertEquals("TimeoutException",
+                AnalysisMetrics.exceptionTag(new CompletionException(new TimeoutException())));
+    }
+
+    private static Timer stageTimer(SimpleMeterRegistry registry, String stage) {
+        Timer timer = registry.find(AnalysisMetrics.STAGE).tags("stage", stage, "length", "lt1k").timer();
+        assertNotNull(timer, stage);
+        return timer;
+    }
+}
@@ -0,0 +1,164 @@
+package com.geneinsight.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchingInterpreterTests {
+
+    private static final Pattern GENE = Pattern.compile("### 基因 (\\d+)\\n- \\*\\*基因名称\\*\\*: (\\S+)");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final FakeDeepSeekApi api = FakeDeepSeekApi.start();
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void stopFakeApi() {
+        api.close();
+    }
+
+    @Test
+    void combinesGenesWithinWindowIntoOneCall() {
+        // 模型漏掉了第 2 个基因
+        api.reply(call -> {
+            List<Map<String, Object>> items = new ArrayList<>();
+            Matcher matcher = GENE.matcher(call.prompt());
+            while (matcher.find()) {
+                int id = Integer.parseInt(matcher.group(1));
+                if (id != 2) {
+                    items.add(Map.of("id", id, "interpretation", "batched " + matcher.group(2)));
+                }
+            }
+            try {
+                return "```json\n" + objectMapper.writeValueAsString(items) + "\n```";
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        LLMService llmService = llmService(8, Duration.ofMillis(300));
+
+        Map<String, String> interpretations = interpretAll(llmService, "BRCA1", "TP53", "EGFR");
+
+        assertEquals(1, api.prompts().size());
+        assertEquals("batched BRCA1", interpretations.get("BRCA1"));
+        assertEquals("batched EGFR", interpretations.get("EGFR"));
+        // 缺失的条目单独回退到模拟响应
+        assertTrue(interpretations.get("TP53").startsWith("## TP53 基因分析解读"));
+
+        BatchingInterpreter.Stats stats = llmService.getBatchStats();
+        assertEquals(1, stats.batches());
+        assertEquals(3, stats.items());
+        assertEquals(1, stats.failedItems());
+    }
+
+    @Test
+    void flushesWhenBatchIsFullAndFallsBackOnGarbledResponse() {
+        api.reply(call -> "抱歉，我无法按要求的格式输出。");
+        LLMService llmService = llmService(2, Duration.ofSeconds(10));
+
+        Map<String, String> interpretations = interpretAll(llmService, "BRCA1", "TP53", "EGFR", "KRAS");
+
+        // 每满 2 个立即发送，不等待窗口结束
+        assertEquals(2, api.prompts().size());
+        interpretations.forEach((gene, interpretation) ->
+                assertTrue(interpretation.startsWith("## " + gene + " 基因分析解读")));
+        assertEquals(4, llmService.getBatchStats().failedItems());
+    }
+
+    @Test
+    void sendsSingleGenePromptWhenAloneInWindow() {
+        api.reply(call -> "single interpretation");
+        LLMService llmService = llmService(8, Duration.ofMillis(20));
+
+        assertEquals("single interpretation", llmService.interpretGeneAnalysis("BRCA1", "Homo sapiens", "功能", "疾病"));
+        assertEquals(1, api.prompts().size());
+        assertTrue(api.prompts().get(0).contains("## 基因信息"));
+    }
+
+    @Test
+    void keepsBatchedAndSingleAnswersUnderSeparateKeys() {
+        api.reply(call -> call.prompt().contains("JSON 数组") ? batchedReply(call.prompt()) : "single interpretation");
+        ResultStore store = new ResultStore();
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "directory", directory);
+        store.open();
+        try {
+            LLMService batching = llmService(8, Duration.ofMillis(300), store);
+            assertEquals("batched BRCA1", interpretAll(batching, "BRCA1", "TP53").get("BRCA1"));
+            // 启用批量解读时复用批量请求得到的结果
+            assertEquals("batched BRCA1", interpretAll(batching, "BRCA1").get("BRCA1"));
+            assertEquals(1, api.prompts().size());
+
+            // 关闭批量解读后只接受单独请求的结果，批量结果不会冒充单独请求的结果
+            LLMService single = api.llmService(Map.of("batchEnabled", false, "resultStore", store));
+            assertEquals("single interpretation", interpretAll(single, "BRCA1").get("BRCA1"));
+            assertEquals(2, api.prompts().size());
+
+            // 单独请求的结果优先于批量结果
+            LLMService restarted = llmService(8, Duration.ofMillis(300), store);
+            assertEquals("single interpretation", interpretAll(restarted, "BRCA1").get("BRCA1"));
+            assertEquals("batched TP53", interpretAll(restarted, "TP53").get("TP53"));
+            assertEquals(2, api.prompts().size());
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    void parsesBatchResponsesLeniently() {
+        Map<Integer, String> parsed = BatchingInterpreter.parseBatchResponse(
+                "以下是结果:\n[{\"id\": 2, \"interpretation\": \"b\"}, {\"id\": \"x\"}, {\"id\": 1, \"interpretation\": \"a\"}]");
+        assertEquals(Map.of(1, "a", 2, "b"), parsed);
+        assertTrue(BatchingInterpreter.parseBatchResponse("[{\"id\": 1, ").isEmpty());
+    }
+
+    private String batchedReply(String prompt) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        Matcher matcher = GENE.matcher(prompt);
+        while (matcher.find()) {
+            items.add(Map.of("id", Integer.parseInt(matcher.group(1)), "interpretation", "batched " + matcher.group(2)));
+        }
+        try {
+            return objectMapper.writeValueAsString(items);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<String, String> interpretAll(LLMService llmService, String... genes) {
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (String gene : genes) {
+            futures.add(llmService.interpretGeneAnalysisFuture(gene, "Homo sapiens", gene + " 功能", gene + " 疾病"));
+        }
+        Map<String, String> interpretations = new java.util.HashMap<>();
+        for (int i = 0; i < genes.length; i++) {
+            interpretations.put(genes[i], futures.get(i).join());
+        }
+        return interpretations;
+    }
+
+    private LLMService llmService(int maxItems, Duration window) {
+        return api.llmService(Map.of("batchMaxItems", maxItems, "batchWindow", window));
+    }
+
+    private LLMService llmService(int maxItems, Duration window, ResultStore store) {
+        return api.llmService(Map.of("batchMaxItems", maxItems, "batchWindow", window, "resultStore", store));
+    }
+}
@@ -0,0 +1,220 @@
+package com.geneinsight.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeepSeekClientTests {
+
+    private final FakeDeepSeekApi api = FakeDeepSeekApi.start();
+    private DeepSeekClient client;
+
+    @AfterEach
+    void stopFakeApi() {
+        if (client != null) {
+            client.close();
+        }
+        api.close();
+    }
+
+    @Test
+    void opensCircuitAfterFailuresAndRecoversThroughTrialCall() throws InterruptedException {
+        api.status(n -> 500);
+        client = client(4, Duration.ZERO, new CircuitBreaker(10, 4, 0.5, Duration.ofMillis(300)));
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(RuntimeException.class, () -> client.complete(body()).block());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, client.stats().circuitState());
+
+        // 熔断期间不访问上游，立即失败
+        long started = System.nanoTime();
+        RuntimeException rejected = assertThrows(RuntimeException.class, () -> client.complete(body()).block());
+        assertInstanceOf(RejectedExecutionException.class, rejected);
+        assertTrue(System.nanoTime() - started < Duration.ofMillis(100).toNanos());
+        assertEquals(4, api.callCount());
+
+        Thread.sleep(350);
+        api.status(n -> 200);
+        assertEquals("reply 5", client.complete(body()).block());
+        assertEquals(CircuitBreaker.State.CLOSED, client.stats().circuitState());
+        assertEquals(1, client.stats().shortCircuited());
+    }
+
+    @Test
+    void capsConcurrentCallsAndRejectsTheRest() {
+        api.latency(n -> 300);
+        client = client(2, Duration.ZERO, new CircuitBreaker(10, 10, 0.5, Duration.ofSeconds(30)));
+
+        List<Mono<String>> attempts = IntStream.range(0, 5)
+                .mapToObj(i -> client.complete(body()).onErrorResume(e -> Mono.just("rejected")))
+                .toList();
+        List<String> results = Mono.zip(attempts, values -> List.of(values)).block().stream()
+                .map(String::valueOf).toList();
+
+        assertEquals(3, results.stream().filter("rejected"::equals).count());
+        assertEquals(2, api.maxInFlight());
+        assertEquals(3, client.stats().rejected());
+        assertEquals(0, client.stats().inFlight());
+    }
+
+    @Test
+    void hedgedRequestCutsTailLatency() {
+        // 第一次调用卡住 2 秒，对冲请求正常返回
+        api.latency(n -> n == 1 ? 2000 : 20);
+        client = client(4, Duration.ofMillis(100), new CircuitBreaker(10, 5, 0.5, Duration.ofSeconds(30)));
+
+        long started = System.nanoTime();
+        assertEquals("reply 2", client.complete(body()).block());
+        assertTrue(System.nanoTime() - started < Duration.ofMillis(1000).toNanos());
+        assertEquals(1, client.stats().hedges());
+
+        // 主请求按时返回时不发对冲请求
+        api.latency(n -> 0);
+        assertEquals("reply 3", client.complete(body()).block());
+        assertEquals(1, client.stats().hedges());
+    }
+
+    @Test
+    void hedgedRequestSurvivesPrimaryFailure() {
+        // 主请求在对冲请求发出后失败，等待对冲请求的结果
+        api.latency(n -> n == 1 ? 300 : 500).status(n -> n == 1 ? 500 : 200);
+        client = client(4, Duration.ofMillis(100), new CircuitBreaker(10, 5, 0.5, Duration.ofSeconds(30)));
+
+        assertEquals("reply 2", client.complete(body()).block());
+        assertEquals(1, client.stats().hedges());
+
+        // 两方都失败时传出主请求的错误
+        api.latency(n -> 150).status(n -> 500);
+        RuntimeException failure = assertThrows(RuntimeException.class, () -> client.complete(body()).block());
+        assertInstanceOf(WebClientResponseException.class, failure);
+        assertEquals(2, client.stats().hedges());
+    }
+
+    @Test
+    void hedgedRequestFailsFastWhileCircuitIsOpen() {
+        api.status(n -> 500);
+        client = client(4, Duration.ofSeconds(1), new CircuitBreaker(10, 1, 0.5, Duration.ofSeconds(30)));
+
+        // 主请求失败打开熔断器，延迟后的对冲请求拿不到许可，不计入对冲次数
+        assertThrows(RuntimeException.class, () -> client.complete(body()).block());
+        assertEquals(CircuitBreaker.State.OPEN, client.stats().circuitState());
+        assertEquals(0, client.stats().hedges());
+
+        // 熔断期间立即失败，不等待对冲延迟
+        long started = System.nanoTime();
+        RuntimeException rejected = assertThrows(RuntimeException.class, () -> client.complete(body()).block());
+        assertInstanceOf(RejectedExecutionException.class, rejected);
+        assertTrue(System.nanoTime() - started < Duration.ofMillis(500).toNanos());
+        assertEquals(0, client.stats().hedges());
+        assertEquals(1, api.callCount());
+    }
+
+    @Test
+    void slowUpstreamTimesOutAndCountsAsFailure() {
+        api.latency(n -> 1000);
+        client = new DeepSeekClient(api.url(), "test-key",
+                new DeepSeekClient.Settings(Duration.ofMillis(200), Duration.ofSeconds(1), 4, Duration.ofSeconds(1), 4,
+                        Duration.ZERO),
+                new CircuitBreaker(10, 1, 0.5, Duration.ofSeconds(30)));
+
+        assertThrows(RuntimeException.class, () -> client.complete(body()).block());
+        assertEquals(1, client.stats().failures());
+        assertEquals(CircuitBreaker.State.OPEN, client.stats().circuitState());
+    }
+
+    @Test
+    void circuitBreakerUsesSlidingFailureRate() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.5, Duration.ofSeconds(10), now::get);
+
+        // 成功、失败交替，窗口内失败率 50% 时打开
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onSuccess();
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+
+        // 半开状态只放行一次试探调用
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void recordsLatencyTokensAndErrorClass() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        client = new DeepSeekClient(api.url(), "test-key",
+                new DeepSeekClient.Settings(Duration.ofSeconds(5), Duration.ofSeconds(1), 4, Duration.ofSeconds(1), 4,
+                        Duration.ZERO),
+                new CircuitBreaker(10, 10, 0.5, Duration.ofSeconds(30)), registry);
+
+        client.complete(body()).block();
+        client.complete(body()).block();
+        api.status(n -> 500);
+        assertThrows(RuntimeException.class, () -> client.complete(body()).block());
+
+        assertEquals(2, registry.get(AnalysisMetrics.LLM_REQUEST).tags("outcome", "success").timer().count());
+        assertEquals(1, registry.get(AnalysisMetrics.LLM_REQUEST)
+                .tags("outcome", "error", "exception", "InternalServerError").timer().count());
+        assertEquals(24, registry.get(AnalysisMetrics.LLM_TOKENS).tags("type", "prompt").summary().totalAmount());
+        assertEquals(6, registry.get(AnalysisMetrics.LLM_TOKENS).tags("type", "completion").summary().totalAmount());
+    }
+
+    @Test
+    void llmServiceFallsBackToMockWhileCircuitIsOpen() {
+        api.status(n -> 503);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LLMService llmService = api.llmService(
+                Map.of("circuitMinimumCalls", 2, "batchEnabled", false, "meterRegistry", registry));
+        try {
+            for (String gene : List.of("BRCA1", "TP53", "EGFR", "KRAS")) {
+                assertTrue(llmService.interpretGeneAnalysis(gene, "Homo sapiens", "功能", "疾病")
+                        .startsWith("## " + gene + " 基因分析解读"));
+            }
+            assertEquals(2, api.callCount());
+            assertEquals(CircuitBreaker.State.OPEN, llmService.getClientStats().circuitState());
+            assertEquals(2, registry.get(AnalysisMetrics.LLM_FALLBACK)
+                    .tags("exception", "RejectedExecutionException").counter().count());
+            assertEquals(4, registry.find(AnalysisMetrics.LLM_FALLBACK).counters().stream()
+                    .mapToDouble(counter -> counter.count()).sum());
+        } finally {
+            llmService.shutdown();
+        }
+    }
+
+    private DeepSeekClient client(int maxConcurrentCalls, Duration hedgeDelay, CircuitBreaker breaker) {
+        return new DeepSeekClient(api.url(), "test-key",
+                new DeepSeekClient.Settings(Duration.ofSeconds(5), Duration.ofSeconds(1), 8, Duration.ofSeconds(1),
+                        maxConcurrentCalls, hedgeDelay),
+                breaker);
+    }
+
+    private static Map<String, Object> body() {
+        return Map.of("model", "deepseek-chat", "messages", List.of(Map.of("role", "user", "content", "hi")));
+    }
+}
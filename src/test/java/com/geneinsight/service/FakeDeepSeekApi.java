@@ -0,0 +1,182 @@
+package com.geneinsight.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 测试用的 DeepSeek /chat/completions 接口
+ * 每次调用的延迟、状态码和回复内容均可配置；stream=true 的请求按回复片段以 SSE 逐段输出。
+ * 记录调用次数、提示词和最大并发数。
+ */
+public class FakeDeepSeekApi implements AutoCloseable {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * 一次调用: number 从 1 开始
+     */
+    public record Call(int number, String prompt, boolean stream) {
+    }
+
+    private final HttpServer server;
+    private final List<Call> calls = new CopyOnWriteArrayList<>();
+    private final AtomicInteger callCount = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    /** 第 n 次调用输出响应前的延迟毫秒数 */
+    private volatile IntUnaryOperator latency = n -> 0;
+    /** 第 n 次调用返回的 HTTP 状态码 */
+    private volatile IntUnaryOperator status = n -> 200;
+    /** 回复内容的各个片段，非流式请求时拼接为完整回复 */
+    private volatile Function<Call, List<String>> reply = call -> List.of("reply " + call.number());
+
+    private FakeDeepSeekApi() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/chat/completions", this::handle);
+        server.start();
+    }
+
+    public static FakeDeepSeekApi start() {
+        try {
+            return new FakeDeepSeekApi();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public FakeDeepSeekApi latency(IntUnaryOperator latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    public FakeDeepSeekApi status(IntUnaryOperator status) {
+        this.status = status;
+        return this;
+    }
+
+    public FakeDeepSeekApi reply(Function<Call, String> reply) {
+        this.reply = call -> List.of(reply.apply(call));
+        return this;
+    }
+
+    public FakeDeepSeekApi replyChunks(Function<Call, List<String>> reply) {
+        this.reply = reply;
+        return this;
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public int callCount() {
+        return callCount.get();
+    }
+
+    public List<Call> calls() {
+        return calls;
+    }
+
+    public List<String> prompts() {
+        return calls.stream().map(Call::prompt).toList();
+    }
+
+    public int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public void resetMaxInFlight() {
+        maxInFlight.set(0);
+    }
+
+    /**
+     * 指向本接口的 LLMService；settings 按字段名覆盖默认配置，然后初始化
+     */
+    public LLMService llmService(Map<String, Object> settings) {
+        LLMService llmService = new LLMService();
+        ReflectionTestUtils.setField(llmService, "deepseekApiKey", "test-key");
+        ReflectionTestUtils.setField(llmService, "deepseekApiUrl", url());
+        settings.forEach((name, value) -> ReflectionTestUtils.setField(llmService, name, value));
+        llmService.init();
+        return llmService;
+    }
+
+    public LLMService llmService() {
+        return llmService(Map.of());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) {
+        int n = callCount.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            JsonNode request = OBJECT_MAPPER.readTree(exchange.getRequestBody());
+            Call call = new Call(n, request.path("messages").path(0).path("content").asText(),
+                    request.path("stream").asBoolean());
+            calls.add(call);
+            Thread.sleep(latency.applyAsInt(n));
+            int code = status.applyAsInt(n);
+            if (code != 200) {
+                exchange.sendResponseHeaders(code, -1);
+            } else if (call.stream()) {
+                stream(exchange, reply.apply(call));
+            } else {
+                complete(exchange, String.join("", reply.apply(call)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // 客户端已取消（超时或对冲请求落败）
+        } finally {
+            exchange.close();
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static void complete(HttpExchange exchange, String content) throws IOException {
+        byte[] body = OBJECT_MAPPER.writeValueAsBytes(Map.of(
+                "choices", List.of(Map.of("message", Map.of("content", content))),
+                "usage", Map.of("prompt_tokens", 12, "completion_tokens", 3)));
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void stream(HttpExchange exchange, List<String> deltas) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (String delta : deltas) {
+                Map<String, Object> chunk = Map.of("choices", List.of(Map.of("delta", Map.of("content", delta))));
+                out.write(("data: " + OBJECT_MAPPER.writeValueAsString(chunk) + "\n\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+            out.write("data: {\"choices\":[{\"delta\":{},\"finish_reason\":\"stop\"}]}\n\ndata: [DONE]\n\n"
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.geneinsight.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeneDiseaseIndexTests {
+
+    @Test
+    void resolvesSymbolsAndAliasesExactly() {
+        GeneDiseaseIndex index = GeneDiseaseIndex.defaultIndex();
+
+        assertEquals("ERBB2", index.lookup("HER2").symbol());
+        assertEquals("HTT", index.lookup("huntingtin").symbol());
+        assertEquals("CFTR", index.lookup(" cf ").symbol());
+        assertEquals("BRCA1", index.lookup("brca1 (breast cancer 1)").symbol());
+        // 名称中仅包含 "cf" 或 "brca" 的基因不再被误判
+        assertNull(index.lookup("CFL1"));
+        assertNull(index.lookup("BRCA1P1"));
+        assertNull(index.lookup(""));
+    }
+
+    @Test
+    void coversPredefinedGenes() {
+        GeneDiseaseIndex index = GeneDiseaseIndex.defaultIndex();
+        for (String gene : List.of("BRCA1", "BRCA2", "TP53", "EGFR", "KRAS", "BRAF", "ALK", "MYC", "HER2",
+                "PTEN", "APC", "RB1", "NF1", "VHL", "WT1", "MEN1", "RET", "MET")) {
+            GeneDiseaseIndex.Gene entry = index.lookup(gene);
+            assertNotNull(entry, gene);
+            assertFalse(entry.associations().isEmpty(), gene);
+        }
+    }
+
+    @Test
+    void symbolsTakePrecedenceOverAliases() {
+        GeneDiseaseIndex index = GeneDiseaseIndex.parse(utf8("""
+                # 注释
+                AAA1\tBBB1,X\t甲病\tgermline
+                BBB1\t\t乙病\tsomatic
+                AAA1\tY\t丙病\trisk
+                """));
+
+        assertEquals(2, index.size());
+        assertEquals("BBB1", index.lookup("bbb1").symbol());
+        assertEquals("AAA1", index.lookup("y").symbol());
+        assertEquals(List.of("BBB1", "X", "Y"), index.lookup("X").aliases());
+        assertEquals(List.of(
+                new GeneDiseaseIndex.Association("甲病", GeneDiseaseIndex.Evidence.GERMLINE),
+                new GeneDiseaseIndex.Association("丙病", GeneDiseaseIndex.Evidence.RISK)),
+                index.lookup("AAA1").associations());
+    }
+
+    @Test
+    void loadsLocalFiles(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("diseases.tsv");
+        Files.writeString(file, "GENE1\tALIAS1\t测试病\tgermline\n");
+
+        GeneDiseaseIndex index = GeneDiseaseIndex.load(new FileSystemResource(file));
+
+        assertEquals("GENE1", index.lookup("alias1").symbol());
+    }
+
+    @Test
+    void rejectsMalformedRows() {
+        assertThrows(IllegalArgumentException.class, () -> GeneDiseaseIndex.parse(utf8("GENE1\t测试病\n")));
+        assertThrows(IllegalArgumentException.class, () -> GeneDiseaseIndex.parse(utf8("GENE1\t\t测试病\tunknown\n")));
+    }
+
+    @Test
+    void describesAssociationsInAnalysis() {
+        BioinformaticsService service = new BioinformaticsService();
+        try {
+            String her2 = service.analyzeDiseaseAssociations("HER2", List.of());
+            assertTrue(her2.startsWith("HER2 即 ERBB2。"), her2);
+            assertTrue(her2.contains("体细胞突变见于HER2 阳性乳腺癌"), her2);
+            assertFalse(service.analyzeDiseaseAssociations("CFL1", List.of()).contains("囊性纤维化"));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,77 @@
+package com.geneinsight.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InterpretationCacheTests {
+
+    private final FakeDeepSeekApi api = FakeDeepSeekApi.start()
+            .latency(n -> 200)
+            .reply(call -> "stub interpretation");
+
+    @AfterEach
+    void stopFakeApi() {
+        api.close();
+    }
+
+    @Test
+    void repeatedAndConcurrentPromptsShareOneUpstreamCall() {
+        LLMService llmService = api.llmService();
+
+        List<CompletableFuture<String>> concurrent = IntStream.range(0, 10)
+                .mapToObj(i -> llmService.interpretGeneAnalysisFuture("BRCA1", "Homo sapiens", "功能", "疾病"))
+                .toList();
+        concurrent.forEach(future -> assertEquals("stub interpretation", future.join()));
+        assertEquals("stub interpretation", llmService.interpretGeneAnalysis("BRCA1", "Homo sapiens", "功能", "疾病"));
+
+        assertEquals(1, api.callCount());
+        InterpretationCache.Stats stats = llmService.getCacheStats();
+        assertEquals(1, stats.misses());
+        assertEquals(10, stats.hits() + stats.coalesced());
+        assertEquals(1, stats.entries());
+
+        llmService.interpretGeneAnalysis("TP53", "Homo sapiens", "功能", "疾病");
+        assertEquals(2, api.callCount());
+    }
+
+    @Test
+    void evictsExpiredAndLeastRecentlyUsedEntries() {
+        AtomicLong now = new AtomicLong();
+        InterpretationCache cache = new InterpretationCache(2, 1 << 20, Duration.ofSeconds(10), now::get);
+
+        cache.get("a", () -> Mono.just("A")).block();
+        cache.get("b", () -> Mono.just("B")).block();
+        cache.get("a", () -> Mono.just("A2")).block();
+        cache.get("c", () -> Mono.just("C")).block();
+
+        // b 最久未使用，被淘汰
+        assertEquals("A", cache.get("a", () -> Mono.just("A3")).block());
+        assertEquals("B2", cache.get("b", () -> Mono.just("B2")).block());
+
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertEquals("A4", cache.get("a", () -> Mono.just("A4")).block());
+        assertTrue(cache.stats().evictions() >= 2);
+    }
+
+    @Test
+    void doesNotCacheFailedCalls() {
+        InterpretationCache cache = new InterpretationCache(10, 1 << 20, Duration.ofMinutes(1));
+
+        cache.get("k", () -> Mono.<String>error(new IllegalStateException("boom")))
+                .onErrorResume(e -> Mono.empty())
+                .block();
+
+        assertEquals("ok", cache.get("k", () -> Mono.just("ok")).block());
+        assertEquals(0, cache.stats().hits());
+    }
+}
@@ -0,0 +1,110 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.MotifHit;
+import com.geneinsight.model.PackedSequence;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MotifScannerTests {
+
+    @Test
+    void matchesBruteForceOnBothStrands() {
+        MotifScanner scanner = new MotifScanner(MotifScanner.defaultLibrary().getMotifs(), false);
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            StringBuilder sequence = new StringBuilder();
+            for (int i = 0; i < 5_000; i++) {
+                sequence.append(random.nextInt(50) == 0 ? 'N' : "ACGT".charAt(random.nextInt(4)));
+            }
+            Set<MotifHit> expected = bruteForce(scanner.getMotifs(), sequence.toString());
+
+            assertEquals(expected, new HashSet<>(scanner.scan(sequence)));
+            assertEquals(expected, new HashSet<>(scanner.scan(PackedSequence.of(sequence))));
+        }
+    }
+
+    @Test
+    void expandsDegenerateBasesAndReportsPalindromesOnce() {
+        MotifScanner scanner = new MotifScanner(List.of(
+                new MotifScanner.Motif("TATA box", "promoter", "TATAWAWR"),
+                new MotifScanner.Motif("EcoRI", "restriction", "GAATTC")), false);
+
+        // 正链 TATAAATG，负链上的 TATATAAA（反向互补 TTTATATA），回文的 EcoRI 只报告一次
+        List<MotifHit> hits = scanner.scan("CCTATAAATGCCTTTATATACCGAATTCCC");
+
+        assertEquals(List.of(
+                new MotifHit("TATA box", "promoter", 2, 10, "+"),
+                new MotifHit("TATA box", "promoter", 12, 20, "-"),
+                new MotifHit("EcoRI", "restriction", 22, 28, "+")), hits);
+    }
+
+    @Test
+    void findsCpgIslandInGcRichRegion() {
+        Random random = new Random(3);
+        StringBuilder sequence = new StringBuilder();
+        appendRandom(sequence, random, "AT", 400);
+        appendRandom(sequence, random, "CGCGGCGCAT", 500);
+        appendRandom(sequence, random, "AT", 400);
+
+        List<MotifHit> islands = new MotifScanner(List.of()).scan(sequence).stream()
+                .filter(hit -> hit.getCategory().equals(MotifScanner.CPG_ISLAND_CATEGORY))
+                .toList();
+
+        assertEquals(1, islands.size());
+        MotifHit island = islands.get(0);
+        assertTrue(island.getStart() >= 300 && island.getStart() <= 420, island.toString());
+        assertTrue(island.getEnd() >= 880 && island.getEnd() <= 1000, island.toString());
+    }
+
+    @Test
+    void rejectsMalformedLibraries() {
+        assertThrows(IllegalArgumentException.class, () -> MotifScanner.load(
+                new ByteArrayInputStream("EcoRI\tGAATTC\n".getBytes(StandardCharsets.UTF_8))));
+        assertThrows(IllegalArgumentException.class, () -> MotifScanner.expand("GAXTTC"));
+        assertThrows(IllegalArgumentException.class, () -> MotifScanner.expand("NNNNNNNNNNNNNNNN"));
+    }
+
+    private static Set<MotifHit> bruteForce(List<MotifScanner.Motif> motifs, String sequence) {
+        Set<MotifHit> hits = new HashSet<>();
+        for (MotifScanner.Motif motif : motifs) {
+            Set<String> forward = MotifScanner.expand(motif.pattern());
+            List<String> reverse = new ArrayList<>();
+            for (String variant : forward) {
+                String complement = PackedSequence.of(variant).reverseComplement().toString();
+                if (!forward.contains(complement)) {
+                    reverse.add(complement);
+                }
+            }
+            for (int i = 0; i < sequence.length(); i++) {
+                for (String variant : forward) {
+                    if (sequence.startsWith(variant, i)) {
+                        hits.add(new MotifHit(motif.name(), motif.category(), i, i + variant.length(), "+"));
+                    }
+                }
+                for (String variant : reverse) {
+                    if (sequence.startsWith(variant, i)) {
+                        hits.add(new MotifHit(motif.name(), motif.category(), i, i + variant.length(), "-"));
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+
+    private static void appendRandom(StringBuilder sequence, Random random, String alphabet, int length) {
+        for (int i = 0; i < length; i++) {
+            sequence.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+    }
+}
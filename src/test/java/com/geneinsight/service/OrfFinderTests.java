@@ -0,0 +1,113 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.OpenReadingFrame;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrfFinderTests {
+
+    @Test
+    void findsForwardAndReverseOrfs() {
+        // 正链: ATG AAA AAA TAA；负链同一片段的反向互补
+        String forward = "ATGAAAAAATAA";
+        String reverse = "TTATTTTTTCAT";
+        OrfFinder finder = new OrfFinder(12, OrfFinder.STANDARD_START_CODONS, OrfFinder.NestedPolicy.ALL, true);
+
+        List<OpenReadingFrame> orfs = finder.find("CC" + forward + "GG" + reverse);
+
+        assertEquals(List.of(
+                new OpenReadingFrame(2, 14, '+', 2),
+                new OpenReadingFrame(16, 28, '-', 0)), orfs);
+        assertEquals(forward, orfs.get(1).extractFrom("CC" + forward + "GG" + reverse));
+    }
+
+    @Test
+    void outermostPolicyKeepsLongestOrfPerStop() {
+        String sequence = "ATGATGAAATAA";
+        OrfFinder all = new OrfFinder(6, OrfFinder.STANDARD_START_CODONS, OrfFinder.NestedPolicy.ALL, false);
+        OrfFinder outermost = new OrfFinder(6, OrfFinder.STANDARD_START_CODONS, OrfFinder.NestedPolicy.OUTERMOST, false);
+
+        assertEquals(2, all.find(sequence).size());
+        assertEquals(List.of(new OpenReadingFrame(0, 12, '+', 0)), outermost.find(sequence));
+    }
+
+    @Test
+    void matchesNaiveScanOnRandomSequences() {
+        Random random = new Random(42);
+        for (OrfFinder.NestedPolicy policy : OrfFinder.NestedPolicy.values()) {
+            OrfFinder finder = new OrfFinder(9, OrfFinder.ALTERNATIVE_START_CODONS, policy, true);
+            for (int round = 0; round < 50; round++) {
+                String sequence = randomSequence(random, 300 + random.nextInt(300));
+                Set<OpenReadingFrame> expected = naiveScan(sequence, 9, policy);
+                List<OpenReadingFrame> actual = finder.find(sequence);
+                assertEquals(expected, new HashSet<>(actual));
+                assertEquals(expected.size(), actual.size());
+            }
+        }
+    }
+
+    private static String randomSequence(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append("ACGTN".charAt(random.nextInt(41) / 10));
+        }
+        return sb.toString();
+    }
+
+    private static Set<OpenReadingFrame> naiveScan(String sequence, int minLength, OrfFinder.NestedPolicy policy) {
+        Set<OpenReadingFrame> orfs = new HashSet<>();
+        String reverse = reverseComplement(sequence);
+        int n = sequence.length();
+        for (OpenReadingFrame orf : naiveForward(sequence, minLength, policy)) {
+            orfs.add(orf);
+        }
+        for (OpenReadingFrame orf : naiveForward(reverse, minLength, policy)) {
+            orfs.add(new OpenReadingFrame(n - orf.getEnd(), n - orf.getStart(), '-', orf.getFrame()));
+        }
+        return orfs;
+    }
+
+    private static List<OpenReadingFrame> naiveForward(String sequence, int minLength, OrfFinder.NestedPolicy policy) {
+        List<OpenReadingFrame> orfs = new ArrayList<>();
+        Set<Integer> usedStops = new HashSet<>();
+        for (int start = 0; start + 3 <= sequence.length(); start++) {
+            if (!OrfFinder.ALTERNATIVE_START_CODONS.contains(sequence.substring(start, start + 3))) {
+                continue;
+            }
+            for (int i = start + 3; i + 3 <= sequence.length(); i += 3) {
+                String codon = sequence.substring(i, i + 3);
+                if (OrfFinder.STOP_CODONS.contains(codon)) {
+                    boolean nested = !usedStops.add(i) && policy == OrfFinder.NestedPolicy.OUTERMOST;
+                    if (!nested && i + 3 - start >= minLength) {
+                        orfs.add(new OpenReadingFrame(start, i + 3, '+', start % 3));
+                    }
+                    break;
+                }
+            }
+        }
+        return orfs;
+    }
+
+    private static String reverseComplement(String sequence) {
+        StringBuilder sb = new StringBuilder(sequence.length());
+        for (int i = sequence.length() - 1; i >= 0; i--) {
+            char ch = sequence.charAt(i);
+            sb.append(switch (ch) {
+                case 'A' -> 'T';
+                case 'C' -> 'G';
+                case 'G' -> 'C';
+                case 'T' -> 'A';
+                default -> 'N';
+            });
+        }
+        return sb.toString();
+    }
+}
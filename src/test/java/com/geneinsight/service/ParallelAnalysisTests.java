@@ -0,0 +1,78 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.GeneAnalysisResult;
+import com.geneinsight.model.PackedSequence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelAnalysisTests {
+
+    private final BioinformaticsService sequential = new BioinformaticsService();
+    private final BioinformaticsService parallel = new BioinformaticsService();
+
+    ParallelAnalysisTests() {
+        sequential.setParallelThreshold(Integer.MAX_VALUE);
+        parallel.setParallelThreshold(0);
+        parallel.setChunkSize(1024);
+    }
+
+    @AfterEach
+    void shutdown() {
+        sequential.shutdown();
+        parallel.shutdown();
+    }
+
+    @Test
+    void parallelScanMatchesSequentialScan() {
+        Random random = new Random(2024);
+        for (int round = 0; round < 20; round++) {
+            String sequence = randomSequence(random, 20_000 + random.nextInt(20_000));
+            assertSameResult(sequence);
+        }
+    }
+
+    @Test
+    void stitchesOrfsAndRepeatsAcrossChunkBoundaries() {
+        // 8192 bp 按 1024 对半切分，ORF 与 CAG 重复都跨越分块边界
+        StringBuilder sb = new StringBuilder("C".repeat(1000));
+        sb.append("ATG").append("GCC".repeat(700)).append("TAA");
+        sb.append("T".repeat(4096 - 60 - sb.length()));
+        sb.append("CAG".repeat(45));
+        sb.append("T".repeat(8192 - sb.length()));
+        String sequence = sb.toString();
+
+        GeneAnalysisResult result = assertSameResult(sequence);
+        assertTrue(result.getOpenReadingFrames().stream().anyMatch(orf -> orf.getStart() == 1000 && orf.getLength() == 2106));
+        assertTrue(result.getDiseaseAssociations().contains("CAG"));
+    }
+
+    private GeneAnalysisResult assertSameResult(String sequence) {
+        PackedSequence packed = PackedSequence.of(sequence);
+        GeneAnalysisResult expected = sequential.analyzeGeneSequence(packed, "TEST", "Homo sapiens");
+        GeneAnalysisResult actual = parallel.analyzeGeneSequence(packed, "TEST", "Homo sapiens");
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.getSequenceStats().toString(), actual.getSequenceStats().toString());
+        assertEquals(expected.getOpenReadingFrames(), actual.getOpenReadingFrames());
+        return actual;
+    }
+
+    private static String randomSequence(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            int roll = random.nextInt(100);
+            if (roll == 0) {
+                sb.append("CAG".repeat(35 + random.nextInt(10)));
+            } else if (roll == 1) {
+                sb.append("N".repeat(1 + random.nextInt(20)));
+            } else {
+                sb.append("ACGT".charAt(random.nextInt(4)));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,137 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.AnalysisField;
+import com.geneinsight.model.GeneAnalysisResult;
+import com.geneinsight.model.GeneticCode;
+import com.geneinsight.model.OpenReadingFrame;
+import com.geneinsight.model.PackedSequence;
+import com.geneinsight.model.TranslatedProtein;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProteinTranslatorTests {
+
+    private static final String NCBI_STANDARD = "FFLLSSSSYY**CC*WLLLLPPPPHHQQRRRRIIIMTTTTNNKKSSRRVVVVAAAADDEEGGGG";
+
+    @Test
+    void matchesCodonMapTranslationOnBothStrands() {
+        Map<String, Character> codonMap = new HashMap<>();
+        String bases = "TCAG";
+        for (int i = 0; i < 64; i++) {
+            codonMap.put("" + bases.charAt(i >> 4) + bases.charAt((i >> 2) & 3) + bases.charAt(i & 3),
+                    NCBI_STANDARD.charAt(i));
+        }
+        Random random = new Random(11);
+        StringBuilder sequence = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) {
+            sequence.append("ACGT".charAt(random.nextInt(4)));
+        }
+        List<OpenReadingFrame> orfs = new OrfFinder().find(sequence);
+        List<TranslatedProtein> proteins = new ProteinTranslator().translate(PackedSequence.of(sequence), orfs);
+
+        assertTrue(orfs.size() > 100);
+        for (int i = 0; i < orfs.size(); i++) {
+            String dna = orfs.get(i).extractFrom(sequence);
+            StringBuilder expected = new StringBuilder("M");
+            for (int c = 3; c < dna.length() - 3; c += 3) {
+                expected.append(codonMap.get(dna.substring(c, c + 3)));
+            }
+            assertEquals(expected.toString(), proteins.get(i).getSequence(), orfs.get(i).toString());
+        }
+    }
+
+    @Test
+    void computesPhysicochemicalProperties() {
+        // ATG GCT AAA NNN TAA → M A K X
+        TranslatedProtein protein = new ProteinTranslator()
+                .translate("ATGGCTAAANNNTAA", new OpenReadingFrame(0, 15, '+', 0));
+
+        assertEquals("MAKX", protein.getSequence());
+        assertEquals(131.1926 + 71.0788 + 128.1741 + 110.0 + 18.01524, protein.getMolecularWeight(), 1e-6);
+        assertEquals((1.9 + 1.8 - 3.9) / 4, protein.getGravy(), 1e-9);
+        // 一个 Lys 与游离氨基，偏碱性
+        assertTrue(protein.getIsoelectricPoint() > 9 && protein.getIsoelectricPoint() < 10.5,
+                "pI: " + protein.getIsoelectricPoint());
+        assertNull(protein.getEffectiveNumberOfCodons());
+    }
+
+    @Test
+    void measuresCodonUsageBias() {
+        // 每种氨基酸只使用一个密码子: ENC 取最小值 20
+        String biased = "ATG" + "GCT".repeat(8) + "AAA".repeat(8) + "ATT".repeat(8) + "CTG".repeat(8) + "TAA";
+        assertEquals(20.0, translate(biased).getEffectiveNumberOfCodons(), 1e-9);
+
+        // 同义密码子均匀使用: 没有偏好，ENC 取上限 61
+        String uniform = "ATG" + "GCTGCCGCAGCG".repeat(3) + "AAAAAG".repeat(6)
+                + "ATTATCATA".repeat(4) + "CTGCTCCTACTTTTATTG".repeat(2) + "TAA";
+        assertEquals(61.0, translate(uniform).getEffectiveNumberOfCodons(), 1e-9);
+    }
+
+    @Test
+    void followsSelectedGeneticCode() {
+        // 脊椎动物线粒体: TGA 编码 Trp，AGA 为终止密码子
+        String sequence = "ATGTGAAAAAGACC";
+        OrfFinder finder = new OrfFinder(12, OrfFinder.STANDARD_START_CODONS, OrfFinder.NestedPolicy.OUTERMOST,
+                false, GeneticCode.VERTEBRATE_MITOCHONDRIAL);
+
+        List<OpenReadingFrame> orfs = finder.find(sequence);
+
+        assertEquals(List.of(new OpenReadingFrame(0, 12, '+', 0)), orfs);
+        assertEquals("MWK", new ProteinTranslator(GeneticCode.VERTEBRATE_MITOCHONDRIAL)
+                .translate(sequence, orfs.get(0)).getSequence());
+        assertEquals(List.of("AGA", "AGG", "TAA", "TAG"), GeneticCode.VERTEBRATE_MITOCHONDRIAL.stopCodons());
+    }
+
+    @Test
+    void translatesOrfsLongestFirstInAnalysis() {
+        BioinformaticsService service = new BioinformaticsService();
+        try {
+            String sequence = "CCATGAAACCCGGGTTTAAACCCGGGTTTAAACCCGGGTTTAAACCCTAAGGATGCCCAAATAGCC";
+            GeneAnalysisResult result = service.analyzeGeneSequence(PackedSequence.of(sequence), "TEST1",
+                    "Homo sapiens", EnumSet.of(AnalysisField.ORFS, AnalysisField.TRANSLATIONS));
+
+            List<TranslatedProtein> proteins = result.getTranslatedProteins();
+            assertEquals(result.getOpenReadingFrames().size(), proteins.size());
+            assertEquals("MKPGFKPGFKPGFKP", proteins.get(0).getSequence());
+            for (int i = 1; i < proteins.size(); i++) {
+                assertTrue(proteins.get(i - 1).getLength() >= proteins.get(i).getLength());
+            }
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void translatesOnlyWhenRequested() {
+        BioinformaticsService service = new BioinformaticsService();
+        try {
+            PackedSequence sequence = PackedSequence.of(
+                    "CCATGAAACCCGGGTTTAAACCCGGGTTTAAACCCGGGTTTAAACCCTAAGGATGCCCAAATAGCC");
+            GeneAnalysisResult full = service.analyzeGeneSequence(sequence, "TEST1", "Homo sapiens");
+            assertNull(full.getTranslatedProteins());
+
+            GeneAnalysisResult all = service.analyzeGeneSequence(sequence, "TEST1", "Homo sapiens",
+                    EnumSet.allOf(AnalysisField.class));
+            assertEquals(service.translateLongestOrfs(sequence, all.getOpenReadingFrames(), 0, Integer.MAX_VALUE)
+                    .stream().map(TranslatedProtein::getSequence).toList(),
+                    all.getTranslatedProteins().stream().map(TranslatedProtein::getSequence).toList());
+            assertEquals("MKPGFKPGFKPGFKP",
+                    service.translateLongestOrfs(sequence, all.getOpenReadingFrames(), 0, 1).get(0).getSequence());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static TranslatedProtein translate(String orf) {
+        return new ProteinTranslator().translate(orf, new OpenReadingFrame(0, orf.length(), '+', 0));
+    }
+}
@@ -0,0 +1,61 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.GeneAnalysisResult;
+import com.geneinsight.model.OpenReadingFrame;
+import com.geneinsight.model.PackedSequence;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecentResultsTests {
+
+    private static final PackedSequence SEQUENCE = PackedSequence.of("ATGAAACCCGGGTTTTAA");
+
+    @Test
+    void evictsLeastRecentlyUsedResultsOverMaxSize() {
+        RecentResults recent = new RecentResults();
+        long entrySize = RecentResults.estimateSize(result(1_000), SEQUENCE);
+        ReflectionTestUtils.setField(recent, "maxSize", DataSize.ofBytes(3 * entrySize));
+
+        String first = recent.put(ResultStore.digest("first"), result(1_000), SEQUENCE);
+        String second = recent.put(ResultStore.digest("second"), result(1_000), SEQUENCE);
+        String third = recent.put(ResultStore.digest("third"), result(1_000), SEQUENCE);
+        assertTrue(recent.find(first).isPresent());
+        recent.put(ResultStore.digest("fourth"), result(1_000), SEQUENCE);
+
+        // 最近访问过的第一条保留，最久未访问的第二条被淘汰
+        assertTrue(recent.find(first).isPresent());
+        assertTrue(recent.find(second).isEmpty());
+        assertTrue(recent.findSequence(third).isPresent());
+        assertEquals(3 * entrySize, recent.sizeInBytes());
+    }
+
+    @Test
+    void skipsResultsLargerThanMaxSize() {
+        RecentResults recent = new RecentResults();
+        ReflectionTestUtils.setField(recent, "maxSize", DataSize.ofKilobytes(16));
+
+        String small = recent.put(ResultStore.digest("small"), result(10), SEQUENCE);
+        String large = recent.put(ResultStore.digest("large"), result(10_000), SEQUENCE);
+
+        assertTrue(recent.find(small).isPresent());
+        assertTrue(recent.find(large).isEmpty());
+        assertEquals(RecentResults.estimateSize(result(10), SEQUENCE), recent.sizeInBytes());
+    }
+
+    private static GeneAnalysisResult result(int orfs) {
+        List<OpenReadingFrame> frames = new ArrayList<>();
+        for (int i = 0; i < orfs; i++) {
+            frames.add(new OpenReadingFrame(i, i + 18, '+', i % 3));
+        }
+        GeneAnalysisResult result = new GeneAnalysisResult();
+        result.setOpenReadingFrames(frames);
+        return result;
+    }
+}
@@ -0,0 +1,120 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.GeneAnalysisRequest;
+import com.geneinsight.model.GeneAnalysisResult;
+import com.geneinsight.model.PackedSequence;
+import com.geneinsight.model.ReferenceMatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReferenceIndexTests {
+
+    @Test
+    void canonicalKmersMatchBruteForce() {
+        Random random = new Random(5);
+        StringBuilder sequence = new StringBuilder();
+        for (int i = 0; i < 2_000; i++) {
+            sequence.append(random.nextInt(100) == 0 ? 'N' : "ACGT".charAt(random.nextInt(4)));
+        }
+        int k = 7;
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i + k <= sequence.length(); i++) {
+            String kmer = sequence.substring(i, i + k);
+            if (kmer.indexOf('N') < 0) {
+                String reverse = PackedSequence.of(kmer).reverseComplement().toString();
+                expected.add(Math.min(encode(kmer), encode(reverse)));
+            }
+        }
+        List<Long> actual = new ArrayList<>();
+        Kmers.forEachCanonical(PackedSequence.of(sequence), k, actual::add);
+
+        assertEquals(expected, actual);
+        int[] frequencies = Kmers.frequencies(sequence, k);
+        assertEquals(expected.size(), Arrays.stream(frequencies).sum());
+        assertEquals(expected.stream().filter(expected.get(0)::equals).count(),
+                frequencies[expected.get(0).intValue()]);
+    }
+
+    @Test
+    void findsReferenceFromDivergedFragmentOnEitherStrand() {
+        ReferenceIndex index = ReferenceIndex.defaultIndex();
+        String brca1 = GeneAnalysisRequest.EXAMPLE_SEQUENCES.get("BRCA1");
+        // 取一段片段，每 100 bp 引入一个替换
+        char[] fragment = brca1.substring(20, 260).toCharArray();
+        for (int i = 50; i < fragment.length; i += 100) {
+            fragment[i] = fragment[i] == 'A' ? 'C' : 'A';
+        }
+        String query = new String(fragment);
+
+        for (CharSequence strand : List.of(query, PackedSequence.of(query).reverseComplement())) {
+            List<ReferenceMatch> matches = index.search(strand, 5);
+            assertEquals("BRCA1", matches.get(0).getName(), matches.toString());
+            assertTrue(matches.get(0).getIdentity() > 0.97 && matches.get(0).getIdentity() < 1, matches.toString());
+        }
+        assertEquals(1.0, index.search(brca1, 5).get(0).getIdentity(), 1e-9);
+    }
+
+    @Test
+    void reportsNothingForUnrelatedSequences() {
+        Random random = new Random(9);
+        StringBuilder sequence = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            sequence.append("ACGT".charAt(random.nextInt(4)));
+        }
+        ReferenceIndex index = new ReferenceIndex(21, 1, Map.of("SELF", sequence.substring(0, 1_000)));
+
+        assertEquals(List.of(), index.search(sequence.substring(2_000), 5));
+        assertEquals(1.0, index.search(sequence, 5).get(0).getContainment(), 1e-9);
+    }
+
+    @Test
+    void ignoresShortLowComplexityQueries() {
+        // EGFR 示例序列含 GGGGGC 重复区，微卫星查询的草图只有几个哈希且全部落在其中
+        for (String repeat : List.of("GGGGGC".repeat(10), "GGGGGC".repeat(40))) {
+            assertEquals(List.of(), ReferenceIndex.defaultIndex().search(repeat, 5));
+        }
+
+        BioinformaticsService service = new BioinformaticsService();
+        try {
+            GeneAnalysisResult result = service.analyzeGeneSequence("GGGGGC".repeat(40), "TP53", "Homo sapiens");
+            assertEquals(List.of(), result.getReferenceMatches());
+            assertFalse(result.getDiseaseAssociations().contains("与输入的基因名称不符"), result.getDiseaseAssociations());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void checksGeneNameAgainstClosestReference() {
+        BioinformaticsService service = new BioinformaticsService();
+        try {
+            String tp53 = GeneAnalysisRequest.EXAMPLE_SEQUENCES.get("TP53");
+            GeneAnalysisResult matching = service.analyzeGeneSequence(tp53, "TP53", "Homo sapiens");
+            GeneAnalysisResult mismatching = service.analyzeGeneSequence(tp53, "BRCA1", "Homo sapiens");
+
+            assertEquals("TP53", matching.getReferenceMatches().get(0).getName());
+            assertTrue(matching.getDiseaseAssociations().contains("基因名称与序列相符"), matching.getDiseaseAssociations());
+            assertTrue(mismatching.getDiseaseAssociations().contains("与输入的基因名称不符"),
+                    mismatching.getDiseaseAssociations());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static long encode(String kmer) {
+        long code = 0;
+        for (int i = 0; i < kmer.length(); i++) {
+            code = (code << 2) | "ACGT".indexOf(kmer.charAt(i));
+        }
+        return code;
+    }
+}
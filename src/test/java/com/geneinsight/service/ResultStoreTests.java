@@ -0,0 +1,213 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.GeneAnalysisResult;
+import com.geneinsight.model.PackedSequence;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultStoreTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void rebuildsIndexAfterRestart() {
+        ResultStore store = open();
+        byte[] key = ResultStore.digest("ACGT", "BRCA1", "Homo sapiens");
+        store.store(ResultStore.Namespace.INTERPRETATION, key, "第一版");
+        store.store(ResultStore.Namespace.INTERPRETATION, key, "第二版");
+        store.close();
+
+        ResultStore reopened = open();
+        assertEquals("第二版", reopened.find(ResultStore.Namespace.INTERPRETATION, key, String.class).orElseThrow());
+        assertTrue(reopened.find(ResultStore.Namespace.ANALYSIS, key, String.class).isEmpty());
+        assertEquals(1, reopened.stats().records());
+        reopened.close();
+    }
+
+    @Test
+    void roundTripsAnalysisResults() {
+        ResultStore store = open(DataSize.ofMegabytes(1));
+        GeneAnalysisResult result = new BioinformaticsService()
+                .analyzeGeneSequence("ATGGCCGCCGCCGCCGCCGCCGCCGCCGCCTAACAGCAGTTATTTCAT", "BRCA1", "Homo sapiens");
+        byte[] key = ResultStore.digest("BRCA1");
+
+        store.store(ResultStore.Namespace.ANALYSIS, key, result);
+        GeneAnalysisResult stored = store.find(ResultStore.Namespace.ANALYSIS, key, GeneAnalysisResult.class).orElseThrow();
+
+        assertEquals(result.toString(), stored.toString());
+        assertEquals(result.getOpenReadingFrames(), stored.getOpenReadingFrames());
+        assertEquals(result.getSequenceStats().toString(), stored.getSequenceStats().toString());
+        store.close();
+    }
+
+    @Test
+    void compactionKeepsOnlyLatestRecords() throws IOException {
+        ResultStore store = open();
+        for (int i = 0; i < 200; i++) {
+            byte[] key = ResultStore.digest("seq" + (i % 20));
+            store.store(ResultStore.Namespace.ANALYSIS, key, "value-" + i);
+        }
+        assertTrue(store.stats().segments() > 1);
+
+        store.compact();
+
+        assertEquals(20, store.stats().records());
+        assertEquals(0, store.stats().deadBytes());
+        assertEquals("value-199", store.find(ResultStore.Namespace.ANALYSIS, ResultStore.digest("seq19"), String.class).orElseThrow());
+        store.close();
+
+        ResultStore reopened = open();
+        assertEquals("value-180", reopened.find(ResultStore.Namespace.ANALYSIS, ResultStore.digest("seq0"), String.class).orElseThrow());
+        reopened.close();
+    }
+
+    @Test
+    void evictsOldestSegmentsOverMaxSize() {
+        ResultStore store = open();
+        ReflectionTestUtils.setField(store, "maxSize", DataSize.ofBytes(4096));
+        for (int i = 0; i < 200; i++) {
+            store.store(ResultStore.Namespace.ANALYSIS, ResultStore.digest("seq" + i), "value-" + i);
+        }
+
+        // 以段为单位淘汰，最多超出上限一个段
+        ResultStore.Stats stats = store.stats();
+        assertTrue(stats.liveBytes() + stats.deadBytes() <= 4096 + 1024);
+        assertTrue(store.find(ResultStore.Namespace.ANALYSIS, ResultStore.digest("seq0"), String.class).isEmpty());
+        assertEquals("value-199", store.find(ResultStore.Namespace.ANALYSIS, ResultStore.digest("seq199"), String.class).orElseThrow());
+        store.close();
+    }
+
+    @Test
+    void dropsSegmentsOlderThanMaxAge() throws IOException {
+        ResultStore store = open();
+        Instant start = Instant.now();
+        ReflectionTestUtils.setField(store, "clock", Clock.fixed(start, ZoneOffset.UTC));
+        store.store(ResultStore.Namespace.ANALYSIS, ResultStore.digest("old"), "old");
+
+        ReflectionTestUtils.setField(store, "clock", Clock.fixed(start.plus(Duration.ofDays(8)), ZoneOffset.UTC));
+        store.maintain();
+        store.store(ResultStore.Namespace.ANALYSIS, ResultStore.digest("new"), "new");
+
+        assertTrue(store.find(ResultStore.Namespace.ANALYSIS, ResultStore.digest("old"), String.class).isEmpty());
+        assertEquals("new", store.find(ResultStore.Namespace.ANALYSIS, ResultStore.digest("new"), String.class).orElseThrow());
+        assertEquals(1, store.stats().records());
+        store.close();
+    }
+
+    @Test
+    void compactionKeepsOriginalWriteTime() throws IOException {
+        ResultStore store = open();
+        Instant start = Instant.now();
+        ReflectionTestUtils.setField(store, "clock", Clock.fixed(start, ZoneOffset.UTC));
+        store.store(ResultStore.Namespace.ANALYSIS, ResultStore.digest("old"), "old");
+        store.compact();
+        store.close();
+
+        // 重启后保留期仍从原始写入时间算起
+        ResultStore reopened = open();
+        ReflectionTestUtils.setField(reopened, "clock",
+                Clock.fixed(start.plus(Duration.ofDays(8)), ZoneOffset.UTC));
+        reopened.maintain();
+        assertTrue(reopened.find(ResultStore.Namespace.ANALYSIS, ResultStore.digest("old"), String.class).isEmpty());
+        reopened.close();
+    }
+
+    @Test
+    void skipsRecordsLargerThanSegment() {
+        ResultStore store = open();
+        store.store(ResultStore.Namespace.ANALYSIS, ResultStore.digest("large"), "x".repeat(2048));
+        assertTrue(store.find(ResultStore.Namespace.ANALYSIS, ResultStore.digest("large"), String.class).isEmpty());
+        assertEquals(0, store.stats().records());
+        store.close();
+    }
+
+    @Test
+    void truncatesPartiallyWrittenTail() throws IOException {
+        ResultStore store = open();
+        byte[] key = ResultStore.digest("TP53");
+        store.store(ResultStore.Namespace.ANALYSIS, key, "ok");
+        store.close();
+
+        List<Path> segments;
+        try (var files = Files.list(directory)) {
+            segments = files.sorted().toList();
+        }
+        Files.write(segments.get(segments.size() - 1), new byte[]{0x47, 0x49, 0x52}, StandardOpenOption.APPEND);
+
+        ResultStore reopened = open();
+        assertEquals("ok", reopened.find(ResultStore.Namespace.ANALYSIS, key, String.class).orElseThrow());
+        reopened.store(ResultStore.Namespace.ANALYSIS, ResultStore.digest("EGFR"), "next");
+        assertEquals("next", reopened.find(ResultStore.Namespace.ANALYSIS, ResultStore.digest("EGFR"), String.class).orElseThrow());
+        reopened.close();
+    }
+
+    @Test
+    void analysisKeyCoversConfiguration() throws IOException {
+        ResultStore store = open(DataSize.ofMegabytes(1));
+        PackedSequence sequence = PackedSequence.of("ATGGCCGCCGCCGCCGCCGCCGCCGCCGCCTAACAGCAGTTATTTCAT");
+        BioinformaticsService original = service(store, "CAG=40", new ClassPathResource("motifs.tsv"));
+        original.analyzeGeneSequence(sequence, "BRCA1", "Homo sapiens");
+
+        // 相同配置命中存储中的结果
+        BioinformaticsService restarted = service(store, "CAG=40", new ClassPathResource("motifs.tsv"));
+        assertArrayEquals(original.resultKey(sequence, "BRCA1", "Homo sapiens"),
+                restarted.resultKey(sequence, "BRCA1", "Homo sapiens"));
+
+        // 阈值或模体库内容变化后不再复用旧结果
+        BioinformaticsService thresholds = service(store, "CAG=30", new ClassPathResource("motifs.tsv"));
+        BioinformaticsService motifs = service(store, "CAG=40",
+                new ByteArrayResource("EcoRI\trestriction\tGAATTC\n".getBytes(StandardCharsets.UTF_8)));
+        for (BioinformaticsService changed : List.of(thresholds, motifs)) {
+            byte[] key = changed.resultKey(sequence, "BRCA1", "Homo sapiens");
+            assertTrue(store.find(ResultStore.Namespace.ANALYSIS, key, GeneAnalysisResult.class).isEmpty());
+            changed.analyzeGeneSequence(sequence, "BRCA1", "Homo sapiens");
+            assertTrue(store.find(ResultStore.Namespace.ANALYSIS, key, GeneAnalysisResult.class).isPresent());
+        }
+        assertEquals(3, store.stats().records());
+        store.close();
+    }
+
+    private static BioinformaticsService service(ResultStore store, String repeatThresholds, Resource motifLibrary)
+            throws IOException {
+        BioinformaticsService service = new BioinformaticsService();
+        ReflectionTestUtils.setField(service, "resultStore", store);
+        service.setRepeatThresholds(repeatThresholds);
+        service.setMotifLibrary(motifLibrary);
+        return service;
+    }
+
+    private ResultStore open() {
+        return open(DataSize.ofBytes(1024));
+    }
+
+    private ResultStore open(DataSize segmentSize) {
+        ResultStore store = new ResultStore();
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "directory", directory);
+        ReflectionTestUtils.setField(store, "maintenanceInterval", Duration.ZERO);
+        ReflectionTestUtils.setField(store, "segmentSize", segmentSize);
+        store.open();
+        return store;
+    }
+}
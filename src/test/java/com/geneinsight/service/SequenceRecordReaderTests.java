@@ -0,0 +1,83 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.SequenceRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SequenceRecordReaderTests {
+
+    @Test
+    void readsMultiLineFastaRecords() throws IOException {
+        String fasta = ">BRCA1 breast cancer 1\nATGGATTTAT\nctgctcttcg\n\n>TP53\nATGGAGGAGC\n";
+        try (SequenceRecordReader reader = reader(fasta.getBytes(StandardCharsets.US_ASCII))) {
+            SequenceRecord first = reader.next();
+            assertEquals("BRCA1", first.getId());
+            assertEquals("breast cancer 1", first.getDescription());
+            assertEquals("ATGGATTTATCTGCTCTTCG", first.getSequence().toString());
+
+            SequenceRecord second = reader.next();
+            assertEquals("TP53", second.getId());
+            assertEquals("ATGGAGGAGC", second.getSequence().toString());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void readsGzippedFastq() throws IOException {
+        String fastq = "@read1\nACGTN\n+\n@@@@@\n@read2\nGGCC\n+read2\nIIII\n";
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(fastq.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        try (SequenceRecordReader reader = reader(compressed.toByteArray())) {
+            assertEquals("ACGTN", reader.next().getSequence().toString());
+            assertEquals("read2", reader.next().getId());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void skipsPastInvalidRecord() throws IOException {
+        String fasta = ">bad\nACGX\n>good\nACGT\n";
+        try (SequenceRecordReader reader = reader(fasta.getBytes(StandardCharsets.US_ASCII))) {
+            assertThrows(IllegalArgumentException.class, reader::next);
+            assertEquals("good", reader.next().getId());
+        }
+    }
+
+    @Test
+    void skipsPastOversizedRecords() throws IOException {
+        String oversized = "ACGT".repeat(300);
+        String fasta = ">long\n" + oversized + "\n" + oversized + "\n>good\nACGT\n";
+        try (SequenceRecordReader reader = reader(fasta.getBytes(StandardCharsets.US_ASCII))) {
+            SequenceRecordReader.InvalidRecordException error =
+                    assertThrows(SequenceRecordReader.InvalidRecordException.class, reader::next);
+            assertEquals("long", error.getRecordId());
+            assertEquals("good", reader.next().getId());
+            assertNull(reader.next());
+        }
+
+        // FASTQ 同样跳过超长记录的质量值
+        String fastq = "@longread\n" + oversized + "\n+\n" + "I".repeat(oversized.length()) + "\n@read\nGGCC\n+\nIIII\n";
+        try (SequenceRecordReader reader = reader(fastq.getBytes(StandardCharsets.US_ASCII))) {
+            assertEquals("longread",
+                    assertThrows(SequenceRecordReader.InvalidRecordException.class, reader::next).getRecordId());
+            assertEquals("GGCC", reader.next().getSequence().toString());
+            assertNull(reader.next());
+        }
+    }
+
+    private static SequenceRecordReader reader(byte[] content) throws IOException {
+        return new SequenceRecordReader(new ByteArrayInputStream(content), 1_000);
+    }
+}
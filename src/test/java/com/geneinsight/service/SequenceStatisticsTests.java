@@ -0,0 +1,97 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.PackedSequence;
+import com.geneinsight.model.SequenceStats;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SequenceStatisticsTests {
+
+    private static final String BASES = "ACGTacgt";
+    private static final String AMBIGUOUS = "RYSWKMBDHVryswkmbdhv";
+    private static final String INVALID = "XZ-*.1";
+
+    @Test
+    void matchesPerCharacterCountsOnRandomInput() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            String sequence = randomSequence(random, 1 + random.nextInt(2000), true);
+            SequenceStats stats = SequenceStatistics.compute(sequence);
+
+            assertEquals(naiveGcContent(sequence), stats.getGcContent(), 1e-9, sequence);
+            Map<String, Integer> composition = stats.toCompositionMap();
+            for (char base : "ATGC".toCharArray()) {
+                assertEquals(count(sequence, base), composition.get(String.valueOf(base)), sequence);
+            }
+            assertEquals(count(sequence, 'N'), stats.getCountN());
+            assertEquals(countAny(sequence, AMBIGUOUS), stats.getAmbiguousCount());
+            assertEquals(countAny(sequence, INVALID), stats.getInvalidCount());
+            assertEquals(naiveCpg(sequence), stats.getCpgCount());
+
+            // 字节版本与分段合并的结果一致
+            assertEquals(stats.toString(),
+                    SequenceStatistics.compute(sequence.getBytes(StandardCharsets.ISO_8859_1)).toString());
+            int split = random.nextInt(sequence.length() + 1);
+            assertEquals(stats.toString(), SequenceStatistics.compute(sequence, 0, split)
+                    .merge(SequenceStatistics.compute(sequence, split, sequence.length())).toString());
+        }
+    }
+
+    @Test
+    void packedSequenceMatchesCharacterKernel() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            String sequence = randomSequence(random, 1 + random.nextInt(5000), false);
+            assertEquals(SequenceStatistics.compute(sequence).toString(),
+                    SequenceStatistics.compute(PackedSequence.of(sequence)).toString());
+        }
+    }
+
+    private static String randomSequence(Random random, int length, boolean withInvalid) {
+        StringBuilder sequence = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            int kind = random.nextInt(20);
+            if (kind == 0) {
+                sequence.append(random.nextBoolean() ? 'N' : 'n');
+            } else if (kind == 1) {
+                sequence.append(AMBIGUOUS.charAt(random.nextInt(AMBIGUOUS.length())));
+            } else if (kind == 2 && withInvalid) {
+                sequence.append(INVALID.charAt(random.nextInt(INVALID.length())));
+            } else {
+                sequence.append(BASES.charAt(random.nextInt(BASES.length())));
+            }
+        }
+        return sequence.toString();
+    }
+
+    /**
+     * 原先的逐字符实现: 转大写后统计 G、C，以总长度为分母
+     */
+    private static double naiveGcContent(String sequence) {
+        String upper = sequence.toUpperCase();
+        long gc = upper.chars().filter(ch -> ch == 'G' || ch == 'C').count();
+        return (double) gc / sequence.length() * 100;
+    }
+
+    private static int count(String sequence, char base) {
+        return (int) sequence.toUpperCase().chars().filter(ch -> ch == base).count();
+    }
+
+    private static int countAny(String sequence, String characters) {
+        return (int) sequence.chars().filter(ch -> characters.indexOf(ch) >= 0).count();
+    }
+
+    private static int naiveCpg(String sequence) {
+        String upper = sequence.toUpperCase();
+        int cpg = 0;
+        for (int i = upper.indexOf("CG"); i >= 0; i = upper.indexOf("CG", i + 1)) {
+            cpg++;
+        }
+        return cpg;
+    }
+}
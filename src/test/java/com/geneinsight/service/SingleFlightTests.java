@@ -0,0 +1,130 @@
+package com.geneinsight.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTests {
+
+    @Test
+    void concurrentCallersShareOneComputation() throws Exception {
+        SingleFlight<String, Object> flight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        Object value = new Object();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        List<Thread> followerThreads = new CopyOnWriteArrayList<>();
+        ExecutorService followerExecutor = Executors.newFixedThreadPool(7, runnable -> {
+            Thread thread = new Thread(runnable);
+            followerThreads.add(thread);
+            return thread;
+        });
+        try {
+            Future<SingleFlight.Outcome<Object>> leader = executor.submit(() -> flight.execute("BRCA1", () -> {
+                computations.incrementAndGet();
+                started.countDown();
+                await(release);
+                return value;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            List<Future<SingleFlight.Outcome<Object>>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(followerExecutor.submit(() -> flight.execute("BRCA1", () -> {
+                    computations.incrementAndGet();
+                    return new Object();
+                })));
+            }
+            // 不同的键不受影响
+            assertEquals("TP53", flight.execute("TP53", () -> "TP53").value());
+            awaitWaiting(followerThreads, 7);
+            release.countDown();
+
+            assertFalse(leader.get(5, TimeUnit.SECONDS).shared());
+            assertSame(value, leader.get().value());
+            for (Future<SingleFlight.Outcome<Object>> follower : followers) {
+                SingleFlight.Outcome<Object> outcome = follower.get(5, TimeUnit.SECONDS);
+                assertTrue(outcome.shared());
+                assertSame(value, outcome.value());
+            }
+        } finally {
+            executor.shutdownNow();
+            followerExecutor.shutdownNow();
+        }
+        assertEquals(1, computations.get());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void failuresReachWaitersAndAreNotRemembered() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        List<Thread> followerThreads = new CopyOnWriteArrayList<>();
+        ExecutorService followerExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable);
+            followerThreads.add(thread);
+            return thread;
+        });
+        try {
+            Future<?> leader = executor.submit(() -> flight.execute("KEY", () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("boom");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<?> follower = followerExecutor.submit(() -> flight.execute("KEY", () -> "unused"));
+            awaitWaiting(followerThreads, 1);
+            release.countDown();
+
+            for (Future<?> call : List.of(leader, follower)) {
+                Exception e = assertThrows(Exception.class, () -> call.get(5, TimeUnit.SECONDS));
+                assertTrue(e.getCause() instanceof IllegalStateException, e.toString());
+            }
+        } finally {
+            executor.shutdownNow();
+            followerExecutor.shutdownNow();
+        }
+
+        SingleFlight.Outcome<String> retry = flight.execute("KEY", () -> "ok");
+        assertEquals("ok", retry.value());
+        assertFalse(retry.shared());
+    }
+
+    /**
+     * 等待跟随者全部挂到进行中的计算上
+     */
+    private static void awaitWaiting(List<Thread> threads, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline
+                && (threads.size() < count || !threads.stream().allMatch(t -> t.getState() == Thread.State.WAITING))) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
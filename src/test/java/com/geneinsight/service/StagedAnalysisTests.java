@@ -0,0 +1,131 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.AnalysisField;
+import com.geneinsight.model.GeneAnalysisResult;
+import com.geneinsight.model.PackedSequence;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StagedAnalysisTests {
+
+    /** 只请求单个字段时应当执行的计时阶段；碱基统计总会计算，因此扫描阶段总会执行 */
+    private static final Map<AnalysisField, Set<String>> STAGES = new EnumMap<>(Map.of(
+            AnalysisField.STATS, Set.of("scan"),
+            AnalysisField.ORFS, Set.of("scan"),
+            AnalysisField.PROTEINS, Set.of("scan", "proteins"),
+            AnalysisField.TRANSLATIONS, Set.of("scan", "translations"),
+            AnalysisField.REPEATS, Set.of("scan"),
+            AnalysisField.MOTIFS, Set.of("scan", "motifs"),
+            AnalysisField.SIMILARITY, Set.of("scan", "similarity"),
+            AnalysisField.FUNCTION, Set.of("scan", "motifs", "function"),
+            AnalysisField.DISEASE, Set.of("scan", "similarity", "disease")));
+
+    private final BioinformaticsService service = new BioinformaticsService();
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void resolvesPrerequisites() {
+        assertEquals(EnumSet.of(AnalysisField.STATS, AnalysisField.MOTIFS, AnalysisField.FUNCTION),
+                AnalysisField.withPrerequisites(EnumSet.of(AnalysisField.FUNCTION)));
+        assertEquals(EnumSet.of(AnalysisField.STATS, AnalysisField.REPEATS, AnalysisField.MOTIFS,
+                        AnalysisField.SIMILARITY, AnalysisField.FUNCTION, AnalysisField.DISEASE,
+                        AnalysisField.INTERPRETATION),
+                AnalysisField.withPrerequisites(EnumSet.of(AnalysisField.INTERPRETATION)));
+    }
+
+    @Test
+    void partialAnalysisMatchesFullAnalysis() {
+        PackedSequence sequence = randomSequence();
+
+        // 同时覆盖串行与分块并行两条路径
+        for (int threshold : new int[]{Integer.MAX_VALUE, 0}) {
+            service.setParallelThreshold(threshold);
+            service.setChunkSize(1024);
+            GeneAnalysisResult full = service.analyzeGeneSequence(sequence, "TEST", "Homo sapiens");
+
+            for (AnalysisField field : AnalysisField.ANALYSIS) {
+                GeneAnalysisResult partial = service.analyzeGeneSequence(sequence, "TEST", "Homo sapiens", Set.of(field));
+                GeneAnalysisResult expected = full.copy().retainFields(Set.of(field));
+                assertEquals(expected.getGcContent(), partial.getGcContent());
+                assertEquals(String.valueOf(expected.getSequenceStats()), String.valueOf(partial.getSequenceStats()));
+                assertEquals(expected.getOpenReadingFrames(), partial.getOpenReadingFrames());
+                assertEquals(expected.getPotentialProteins(), partial.getPotentialProteins());
+                assertEquals(expected.getTandemRepeats(), partial.getTandemRepeats());
+                assertEquals(expected.getFunctionalAnalysis(), partial.getFunctionalAnalysis());
+                assertEquals(expected.getDiseaseAssociations(), partial.getDiseaseAssociations());
+            }
+        }
+    }
+
+    @Test
+    void evaluatesEachRequiredStageOnce() {
+        PackedSequence sequence = randomSequence();
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service.setMeterRegistry(registry);
+        service.analyzeGeneSequence(sequence, "TEST", "Homo sapiens");
+        assertEquals(Map.of("scan", 1L, "proteins", 1L, "motifs", 1L, "similarity", 1L,
+                "function", 1L, "disease", 1L), stageCounts(registry));
+
+        // 未请求的阶段不执行，共享的前置阶段（如功能分析依赖的扫描与模体）也只执行一次
+        for (AnalysisField field : STAGES.keySet()) {
+            registry = new SimpleMeterRegistry();
+            service.setMeterRegistry(registry);
+            service.analyzeGeneSequence(sequence, "TEST", "Homo sapiens", Set.of(field));
+
+            Map<String, Long> expected = new TreeMap<>();
+            STAGES.get(field).forEach(stage -> expected.put(stage, 1L));
+            assertEquals(expected, stageCounts(registry), field.getKey());
+        }
+    }
+
+    @Test
+    void omitsFieldsThatWereNotRequested() {
+        GeneAnalysisResult result = service.analyzeGeneSequence(
+                PackedSequence.of("ATGAAACCCGGGTTTAAACCCGGGTTTAAACCCGGGTTTAAACCCTAA"), "TEST", "Homo sapiens",
+                Set.of(AnalysisField.FUNCTION));
+
+        assertEquals(48, result.getSequenceLength());
+        assertNull(result.getSequenceStats());
+        assertNull(result.getOpenReadingFrames());
+        assertNull(result.getTandemRepeats());
+        assertNull(result.getDiseaseAssociations());
+    }
+
+    private static PackedSequence randomSequence() {
+        Random random = new Random(7);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 6_000; i++) {
+            sb.append("ACGT".charAt(random.nextInt(4)));
+        }
+        sb.append("CAG".repeat(50));
+        return PackedSequence.of(sb);
+    }
+
+    /**
+     * 各阶段计时器的记录次数，未执行的阶段不会注册计时器
+     */
+    private static Map<String, Long> stageCounts(SimpleMeterRegistry registry) {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Timer timer : registry.find(AnalysisMetrics.STAGE).timers()) {
+            counts.merge(timer.getId().getTag("stage"), timer.count(), Long::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,71 @@
+package com.geneinsight.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingInterpretationTests {
+
+    private final FakeDeepSeekApi api = FakeDeepSeekApi.start()
+            .replyChunks(call -> List.of("第一段", "\n第二段", "。"));
+
+    @AfterEach
+    void stopFakeApi() {
+        api.close();
+    }
+
+    @Test
+    void relaysDeltasAndCachesCompleteInterpretation() {
+        LLMService llmService = api.llmService();
+
+        List<String> chunks = llmService.streamGeneAnalysis("BRCA1", "Homo sapiens", "功能", "疾病").collectList().block();
+        assertEquals(List.of("第一段", "\n第二段", "。"), chunks);
+
+        // 第二次直接从缓存返回完整结果，阻塞接口同样命中
+        assertEquals(List.of("第一段\n第二段。"),
+                llmService.streamGeneAnalysis("BRCA1", "Homo sapiens", "功能", "疾病").collectList().block());
+        assertEquals("第一段\n第二段。", llmService.interpretGeneAnalysis("BRCA1", "Homo sapiens", "功能", "疾病"));
+        assertEquals(1, api.callCount());
+        assertTrue(api.calls().get(0).stream());
+    }
+
+    @Test
+    void concurrentIdenticalStreamsShareOneUpstreamCall() {
+        api.latency(n -> 300);
+        LLMService llmService = api.llmService();
+
+        List<Mono<List<String>>> streams = IntStream.range(0, 5)
+                .mapToObj(i -> llmService.streamGeneAnalysis("BRCA1", "Homo sapiens", "功能", "疾病")
+                        .collectList()
+                        .subscribeOn(Schedulers.parallel()))
+                .toList();
+        List<Object> results = Mono.zip(streams, List::of).block();
+
+        // 后加入的订阅者同样收到完整的逐段输出
+        results.forEach(chunks -> assertEquals(List.of("第一段", "\n第二段", "。"), chunks));
+        assertEquals(1, api.callCount());
+        InterpretationCache.Stats stats = llmService.getCacheStats();
+        assertEquals(1, stats.misses());
+        assertEquals(4, stats.coalesced());
+        assertEquals(1, stats.entries());
+    }
+
+    @Test
+    void fallsBackToMockWhenStreamFails() {
+        api.status(n -> 500);
+        LLMService llmService = api.llmService();
+
+        List<String> chunks = llmService.streamGeneAnalysis("TP53", "Homo sapiens", "功能", "疾病").collectList().block();
+
+        assertEquals(1, chunks.size());
+        assertTrue(chunks.get(0).startsWith("## TP53 基因分析解读"));
+        assertEquals(0, llmService.getCacheStats().entries());
+    }
+}
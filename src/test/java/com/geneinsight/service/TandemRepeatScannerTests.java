@@ -0,0 +1,117 @@
+package com.geneinsight.service;
+
+import com.geneinsight.model.TandemRepeat;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TandemRepeatScannerTests {
+
+    private final TandemRepeatScanner scanner = new TandemRepeatScanner();
+
+    @Test
+    void reportsRepeatWithPrimitivePeriodOnly() {
+        String sequence = "TTTACGCGCGCGCGCGCGATT" + "CAG".repeat(6) + "AT";
+
+        List<TandemRepeat> repeats = scanner.scan(sequence);
+
+        assertEquals(List.of(
+                new TandemRepeat(4, 18, 2, "CG"),
+                new TandemRepeat(21, 39, 3, "CAG")), repeats);
+        assertEquals(6, repeats.get(1).getCopies());
+    }
+
+    @Test
+    void detectsExpansionDisordersInAnyPhase() {
+        String sequence = "ATAT" + "GCAGCA".repeat(25) + "TTTT" + "GGC".repeat(210) + "A";
+
+        Map<TandemRepeatScanner.Disorder, TandemRepeat> expansions = scanner.findExpansions(scanner.scan(sequence));
+
+        assertEquals(Set.of("CAG", "CGG"), expansions.keySet().stream()
+                .map(TandemRepeatScanner.Disorder::motif).collect(java.util.stream.Collectors.toSet()));
+        assertTrue(TandemRepeatScanner.withThresholds(12, "CAG=60")
+                .findExpansions(scanner.scan(sequence)).keySet().stream()
+                .noneMatch(disorder -> disorder.motif().equals("CAG")));
+    }
+
+    @Test
+    void matchesNaiveScanAndChunkedScan() {
+        Random random = new Random(11);
+        TandemRepeatScanner sensitive = new TandemRepeatScanner(6, TandemRepeatScanner.DEFAULT_DISORDERS);
+        for (int round = 0; round < 30; round++) {
+            String sequence = randomSequence(random, 2_000);
+
+            List<TandemRepeat> expected = naiveScan(sequence, 6);
+            assertEquals(new HashSet<>(expected), new HashSet<>(sensitive.scan(sequence)));
+
+            List<TandemRepeat> chunked = new ArrayList<>();
+            for (int from = 0; from < sequence.length(); from += 97) {
+                chunked.addAll(sensitive.scan(sequence, from, Math.min(sequence.length(), from + 97)));
+            }
+            chunked.sort(TandemRepeatScanner.POSITION_ORDER);
+            assertEquals(sensitive.scan(sequence), chunked);
+        }
+    }
+
+    private static String randomSequence(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            if (random.nextInt(50) == 0) {
+                int period = 1 + random.nextInt(6);
+                String unit = sb.length() >= period ? sb.substring(sb.length() - period) : "A";
+                sb.append(unit.repeat(1 + random.nextInt(6)));
+            } else {
+                sb.append("ACGTN".charAt(random.nextInt(41) / 10));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 逐周期扫描最大周期区域的参考实现
+     */
+    private static List<TandemRepeat> naiveScan(String sequence, int minLength) {
+        List<TandemRepeat> repeats = new ArrayList<>();
+        for (int period = 1; period <= TandemRepeatScanner.MAX_PERIOD; period++) {
+            int i = period;
+            while (i < sequence.length()) {
+                if (!isPeriodic(sequence, i, period)) {
+                    i++;
+                    continue;
+                }
+                int runStart = i;
+                while (i < sequence.length() && isPeriodic(sequence, i, period)) {
+                    i++;
+                }
+                int start = runStart - period;
+                String motif = sequence.substring(start, runStart);
+                if (i - start >= minLength && i - start >= 2 * period && isPrimitive(motif)) {
+                    repeats.add(new TandemRepeat(start, i, period, motif));
+                }
+            }
+        }
+        return repeats;
+    }
+
+    private static boolean isPeriodic(String sequence, int i, int period) {
+        char ch = sequence.charAt(i);
+        return ch != 'N' && ch == sequence.charAt(i - period);
+    }
+
+    private static boolean isPrimitive(String motif) {
+        for (int d = 1; d < motif.length(); d++) {
+            if (motif.length() % d == 0 && motif.substring(d).equals(motif.substring(0, motif.length() - d))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}